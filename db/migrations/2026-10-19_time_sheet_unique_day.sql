@@ -0,0 +1,31 @@
+-- One-off migration: enforce one time_sheet row per (MASTER_ID, DATE).
+--
+-- The batched /timeSheets/createTimeSheet upsert relies on UK_TIME_SHEET_MASTER_DATE. ddl-auto cannot
+-- add it while duplicate days exist, and the service only logs a warning at startup when it is missing.
+-- Run this once, by hand, during a maintenance window with writes stopped, after reviewing step 1.
+
+-- 1. Review the duplicates. For each (MASTER_ID, DATE) the highest SHEET_ID is the last write and is kept.
+SELECT t.MASTER_ID, t.DATE, t.SHEET_ID, t.REGULAR_HOURS, t.OVERTIME_HOURS, t.STATUS, t.NOTES
+FROM time_sheet t
+JOIN (SELECT MASTER_ID, DATE FROM time_sheet GROUP BY MASTER_ID, DATE HAVING COUNT(*) > 1) d
+  ON d.MASTER_ID = t.MASTER_ID AND d.DATE = t.DATE
+ORDER BY t.MASTER_ID, t.DATE, t.SHEET_ID;
+
+-- 2. Keep a copy of the rows that are about to be removed.
+CREATE TABLE time_sheet_duplicate_backup AS
+SELECT t.*
+FROM time_sheet t
+JOIN time_sheet newer
+  ON newer.MASTER_ID = t.MASTER_ID AND newer.DATE = t.DATE AND newer.SHEET_ID > t.SHEET_ID;
+
+-- 3. Remove the older copies and add the key.
+START TRANSACTION;
+DELETE t FROM time_sheet t
+JOIN time_sheet newer
+  ON newer.MASTER_ID = t.MASTER_ID AND newer.DATE = t.DATE AND newer.SHEET_ID > t.SHEET_ID;
+COMMIT;
+
+ALTER TABLE time_sheet ADD CONSTRAINT UK_TIME_SHEET_MASTER_DATE UNIQUE (MASTER_ID, DATE);
+
+-- 4. Recompute the monthly rollups of the affected masters: POST /timeSheets/rollups/rebuild
+--    Drop time_sheet_duplicate_backup once the result has been checked.
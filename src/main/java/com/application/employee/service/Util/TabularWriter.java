@@ -0,0 +1,15 @@
+package com.application.employee.service.Util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Row-at-a-time writer for exports. Implementations never hold more than the current row,
+ * so exports can be streamed straight to the response. Null cells are written empty;
+ * {@link Number} cells are written as numbers where the format supports it.
+ */
+public interface TabularWriter extends Closeable {
+
+    void writeRow(List<?> cells) throws IOException;
+}
@@ -1,11 +1,14 @@
 package com.application.employee.service.auth;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -14,6 +17,8 @@ import java.util.Map;
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 public class AuthenticationController {
     private final AuthenticationService service;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginThrottle loginThrottle;
     @PostMapping("/register")
     public ResponseEntity<AuthenticationResponse> register(
             @RequestBody RegisterRequest request
@@ -23,15 +28,34 @@ public class AuthenticationController {
 
     @PostMapping("/authenticate")
     public ResponseEntity<AuthenticationResponse> authenticate(
-        @RequestBody AuthenticationRequest request
+        @RequestBody AuthenticationRequest request,
+        HttpServletRequest httpRequest
     ) {
-    AuthenticationResponse response = service.authenticate(request);
+    AuthenticationResponse response = service.authenticate(request, httpRequest.getRemoteAddr());
     if (response == null) {
         return ResponseEntity.notFound().build();
     }
     return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        try {
+            return ResponseEntity.ok(service.refresh(request.getRefreshToken()));
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('SADMIN')")
+    public ResponseEntity<Map<String, Object>> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>(passwordVerifier.getMetrics());
+        metrics.put("throttledAttempts", loginThrottle.getThrottledCount());
+        metrics.put("throttleTrackedKeys", loginThrottle.getTrackedKeys());
+        return ResponseEntity.ok(metrics);
+    }
+
     @PostMapping("/resetPassword")
     public ResponseEntity<String> resetPassword(@RequestBody UserRequest request) {
         return service.reset(request.getEmail(), request.getCategory());
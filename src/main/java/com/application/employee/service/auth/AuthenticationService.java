@@ -1,10 +1,11 @@
 package com.application.employee.service.auth;
 
 import com.application.employee.service.config.JwtService;
-import com.application.employee.service.config.SendGridEmail;
-import com.application.employee.service.entities.Message;
+import com.application.employee.service.mail.EmailTemplateCache;
+import com.application.employee.service.mail.MailMessage;
 import com.application.employee.service.repositories.EmployeeRespository;
-import com.application.employee.service.repositories.MessageRepository;
+import com.application.employee.service.repositories.UserCompanyRoleRepository;
+import com.application.employee.service.services.MailOutboxService;
 import com.application.employee.service.user.User;
 import com.application.employee.service.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -30,14 +31,19 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationProvider authenticationProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginThrottle loginThrottle;
     @Autowired
     private JavaMailSender mailSender;
     @Autowired
-    private MessageRepository messageRepository;
+    private EmailTemplateCache emailTemplateCache;
     @Autowired
-    private SendGridEmail sendGridEmail;
+    private MailOutboxService mailOutboxService;
     @Autowired
     private EmployeeRespository employeeRepository;
+    @Autowired
+    private UserCompanyRoleRepository userCompanyRoleRepository;
 
     public AuthenticationResponse register(RegisterRequest request) {
         var user = User.builder()
@@ -116,16 +122,16 @@ public class AuthenticationService {
     }
 
     public void sendEmailUsingTemplate(String toEmail, String category, Map<String, String> placeholders) throws Exception {
-        // 1️⃣ Try fetching template for this category
-        Optional<Message> templateOpt = messageRepository.findByCategoryAndIsActive(category, true);
+        // 1️⃣ Try the compiled template for this category
+        Optional<EmailTemplateCache.EmailTemplate> templateOpt = emailTemplateCache.get(category);
 
         String subject;
         String body;
 
         if (templateOpt.isPresent()) {
-            Message template = templateOpt.get();
-            subject = replacePlaceholders(template.getSubject(), placeholders);
-            body = replacePlaceholders(template.getBody(), placeholders);
+            EmailTemplateCache.EmailTemplate template = templateOpt.get();
+            subject = template.subject().render(placeholders);
+            body = template.body().render(placeholders);
         } else {
             // Fallback generic template
             subject = switch (category.toUpperCase()) {
@@ -167,33 +173,8 @@ public class AuthenticationService {
             }
         }
 
-        // 3️⃣ Send Email using SendGrid
-        sendGridEmail.sendEmails(
-                fromEmail,
-                List.of(toEmail),
-                null,
-                null,
-                subject,
-                body,
-                List.of()
-        );
-
-        int statusCode = sendGridEmail.getLastStatusCode();
-        if (statusCode != 202) {
-            throw new Exception("SendGrid Error: " + sendGridEmail.getLastErrorMessage());
-        }
-
-        System.out.println("[Email Sent] Category: " + category + ", From: " + fromEmail + ", To: " + toEmail);
-    }
-
-
-    private String replacePlaceholders(String text, Map<String, String> placeholders) {
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            // Replace both {{placeholder}} and {placeholder} formats
-            text = text.replace("{{" + entry.getKey() + "}}", entry.getValue());
-            text = text.replace("{" + entry.getKey() + "}", entry.getValue());
-        }
-        return text;
+        // 3️⃣ Queue the email; the outbox worker delivers and retries it
+        mailOutboxService.enqueue(MailMessage.of(fromEmail, toEmail, subject, body), categoryUpper, null);
     }
 
 
@@ -202,11 +183,19 @@ public class AuthenticationService {
         user.setPassword(passwordEncoder.encode(password));
         user.setTempPassword(null);
         repository.save(user);
+        refreshTokenService.revokeAll(userId);
         return  ResponseEntity.status(HttpStatus.CREATED).body("Password updated");
     }
 
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
+        return authenticate(request, null);
+    }
+
+    public AuthenticationResponse authenticate(AuthenticationRequest request, String clientIp) {
+        // Throttle before any lookup or hashing so floods are rejected cheaply
+        loginThrottle.acquire(clientIp, request.getEmail());
+
         var user = repository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -216,7 +205,7 @@ public class AuthenticationService {
         // Check if user is using temporary password
         if (hasTempPassword) {
             // Verify the provided password against the encoded temp password
-            if (passwordEncoder.matches(request.getPassword(), user.getTempPassword())) {
+            if (passwordVerifier.matches(request.getPassword(), user.getTempPassword())) {
                 passwordMatches = true;
                 // Set the temp password as the main password so user can continue using it
                 user.setPassword(user.getTempPassword());
@@ -227,6 +216,13 @@ public class AuthenticationService {
 
         // If not using temp password, check regular password
         if (!passwordMatches) {
+            if (user.getPassword() == null) {
+                throw new BadCredentialsException("Invalid password");
+            }
+            if (hasTempPassword && user.getPassword().startsWith("$2a$")) {
+                // The provider only accepts the temp password while one is set, and it just failed
+                throw new BadCredentialsException("Incorrect password");
+            }
             if (user.getPassword().startsWith("$2a$")) {
                 // Password is bcrypt encoded, use authentication provider
                 authenticationProvider.authenticate(
@@ -243,10 +239,11 @@ public class AuthenticationService {
             }
         }
 
-        var jwtToken = jwtService.generateToken(user);
+        var jwtToken = jwtService.generateToken(user, userCompanyRoleRepository.findCompanyIdsByUserEmail(user.getEmail()));
 
         return AuthenticationResponse.builder()
                 .accessToken(jwtToken)
+                .refreshToken(refreshTokenService.issue(user.getId()))
                 .id(user.getId())
                 .firstName(user.getFirstname())
                 .lastName(user.getLastname())
@@ -255,6 +252,28 @@ public class AuthenticationService {
                 .build();
     }
 
+    /**
+     * Exchanges a refresh token for a new access/refresh token pair. No password hashing is
+     * involved; the user row is read once to pick up the current role and companies.
+     */
+    public AuthenticationResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = repository.findById(rotation.userId());
+        if (user == null) {
+            throw new BadCredentialsException("User not found");
+        }
+        var jwtToken = jwtService.generateToken(user, userCompanyRoleRepository.findCompanyIdsByUserEmail(user.getEmail()));
+
+        return AuthenticationResponse.builder()
+                .accessToken(jwtToken)
+                .refreshToken(rotation.refreshToken())
+                .id(user.getId())
+                .firstName(user.getFirstname())
+                .lastName(user.getLastname())
+                .role(user.getRole())
+                .build();
+    }
+
     public void sendTemporaryPasswordEmail(String toEmail, String tempPassword) {
         // Use the same template system as other emails for consistency
         // This is for user registration - will use company email (LOGIN_DETAILS category)
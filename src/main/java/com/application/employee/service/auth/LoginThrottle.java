@@ -0,0 +1,114 @@
+package com.application.employee.service.auth;
+
+import com.application.employee.service.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token-bucket throttling for login attempts, keyed per client IP and per account.
+ * Buckets live in a ConcurrentHashMap and are updated with compare-and-set, so the check
+ * never blocks a request thread. Refilled buckets are swept in the background; once
+ * {@link #MAX_TRACKED_KEYS} keys are tracked, new keys share one overflow bucket until the next sweep.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int MAX_TRACKED_KEYS = 50_000;
+    private static final String OVERFLOW_KEY = "*";
+
+    private final Map<String, Bucket> ipBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> accountBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong throttled = new AtomicLong();
+
+    @Value("${application.security.login.ip.capacity:20}")
+    private int ipCapacity;
+    @Value("${application.security.login.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute;
+    @Value("${application.security.login.account.capacity:5}")
+    private int accountCapacity;
+    @Value("${application.security.login.account.refill-per-minute:5}")
+    private int accountRefillPerMinute;
+
+    /**
+     * Consumes one attempt from both buckets or throws {@link TooManyRequestsException}.
+     */
+    public void acquire(String clientIp, String email) {
+        if (clientIp != null) {
+            consume(ipBuckets, clientIp, ipCapacity, ipRefillPerMinute, "Too many login attempts from this address");
+        }
+        if (email != null) {
+            consume(accountBuckets, email.toLowerCase(Locale.ROOT), accountCapacity, accountRefillPerMinute,
+                    "Too many login attempts for this account");
+        }
+    }
+
+    public long getThrottledCount() {
+        return throttled.get();
+    }
+
+    public int getTrackedKeys() {
+        return ipBuckets.size() + accountBuckets.size();
+    }
+
+    /** A full bucket behaves exactly like a new one, so dropping it loses nothing. */
+    @Scheduled(fixedDelayString = "${application.security.login.sweep-millis:60000}")
+    void sweep() {
+        long now = System.nanoTime();
+        ipBuckets.values().removeIf(bucket -> bucket.isFull(now, ipCapacity, ipRefillPerMinute));
+        accountBuckets.values().removeIf(bucket -> bucket.isFull(now, accountCapacity, accountRefillPerMinute));
+    }
+
+    private void consume(Map<String, Bucket> buckets, String key, int capacity, int refillPerMinute, String message) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            // A flood of distinct keys cannot grow the map past the cap
+            String tracked = buckets.size() < MAX_TRACKED_KEYS ? key : OVERFLOW_KEY;
+            bucket = buckets.computeIfAbsent(tracked, k -> new Bucket(capacity));
+        }
+        long waitNanos = bucket.tryConsume(System.nanoTime(), capacity, refillPerMinute);
+        if (waitNanos > 0) {
+            throttled.incrementAndGet();
+            throw new TooManyRequestsException(message, Math.max(1, waitNanos / 1_000_000_000L));
+        }
+    }
+
+    private static final class Bucket {
+        private final AtomicReference<State> state;
+
+        Bucket(int capacity) {
+            this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+        }
+
+        /** Returns 0 when a token was taken, otherwise the nanoseconds until one is available. */
+        long tryConsume(long now, int capacity, int refillPerMinute) {
+            double tokensPerNano = refillPerMinute / 60_000_000_000d;
+            while (true) {
+                State current = state.get();
+                double tokens = current.available(now, capacity, tokensPerNano);
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) / tokensPerNano);
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long now, int capacity, int refillPerMinute) {
+            return state.get().available(now, capacity, refillPerMinute / 60_000_000_000d) >= capacity;
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {
+        double available(long now, int capacity, double tokensPerNano) {
+            return Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+        }
+    }
+}
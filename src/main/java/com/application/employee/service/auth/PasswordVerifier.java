@@ -0,0 +1,103 @@
+package com.application.employee.service.auth;
+
+import com.application.employee.service.exceptions.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt verification for logins on a small dedicated pool instead of Tomcat request threads.
+ * The queue is bounded and full queues are rejected immediately, so a login spike degrades into
+ * fast 429 responses rather than tying up the threads that serve payroll and timesheet traffic.
+ */
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Value("${application.security.login.hash-threads:0}") int threads,
+                            @Value("${application.security.login.queue-capacity:64}") int queueCapacity,
+                            @Value("${application.security.login.timeout-millis:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        int poolSize = threads > 0 ? threads : Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-bcrypt-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> timedMatch(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Login service is busy, please retry shortly", 1);
+        }
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new TooManyRequestsException("Login service is busy, please retry shortly", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Password verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new AuthenticationServiceException("Password verification failed", e.getCause());
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        long count = verifications.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("poolSize", executor.getPoolSize());
+        metrics.put("activeThreads", executor.getActiveCount());
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        metrics.put("verifications", count);
+        metrics.put("rejected", rejected.get());
+        metrics.put("avgHashMillis", count == 0 ? 0 : totalHashNanos.sum() / count / 1_000_000d);
+        metrics.put("maxHashMillis", maxHashNanos.get() / 1_000_000d);
+        return metrics;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean timedMatch(String rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return passwordEncoder.matches(rawPassword, encodedPassword);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            verifications.increment();
+            totalHashNanos.add(elapsed);
+            maxHashNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+}
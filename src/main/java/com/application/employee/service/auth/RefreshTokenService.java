@@ -0,0 +1,97 @@
+package com.application.employee.service.auth;
+
+import com.application.employee.service.entities.RefreshToken;
+import com.application.employee.service.repositories.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Each exchange consumes the presented token and
+ * returns a new one from the same family; presenting an already used or revoked token
+ * revokes the whole family, which logs out both the legitimate client and whoever replayed it.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${application.security.jwt.refresh-token.expiration}")
+    private long refreshExpirationMillis;
+
+    /** Starts a new token family for a fresh login. */
+    @Transactional
+    public String issue(String userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes the presented token and returns the user id and the next token of the family.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new BadCredentialsException("Refresh token is missing");
+        }
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (token.isRevoked() || token.getUsedAt() != null
+                || refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            throw new BadCredentialsException("Refresh token reuse detected");
+        }
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        return new Rotation(token.getUserId(), create(token.getUserId(), token.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeAll(String userId) {
+        refreshTokenRepository.revokeByUserId(userId);
+    }
+
+    private String create(String userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUserId(userId);
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMillis)));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    // Tokens carry 256 bits of randomness, so a fast unsalted hash is sufficient here
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Rotation(String userId, String refreshToken) {
+    }
+}
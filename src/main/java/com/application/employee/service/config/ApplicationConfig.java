@@ -1,11 +1,14 @@
 package com.application.employee.service.config;
 
+import com.application.employee.service.auth.PasswordVerifier;
+import com.application.employee.service.repositories.UserCompanyRoleRepository;
 import com.application.employee.service.repositories.UserRepository;
 import com.application.employee.service.user.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -15,31 +18,40 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepository repository;
+    private final AuthenticationCache authenticationCache;
+    private final UserCompanyRoleRepository userCompanyRoleRepository;
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> {
-            User user = repository.findByEmail(username)
+        return username -> authenticationCache.getUser(username, email -> {
+            User user = repository.findByEmail(email)
                     .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            authenticationCache.rememberUserId(user.getId(), user.getEmail());
             String passwordToUse = (user.getTempPassword() == null || user.getTempPassword().isEmpty())
                     ? user.getPassword()
                     : user.getTempPassword();
 
-            return new org.springframework.security.core.userdetails.User(
+            return new JwtUserPrincipal(
                     user.getEmail(),
                     passwordToUse,
-                    user.getAuthorities()
+                    user.getAuthorities(),
+                    user.getId(),
+                    user.getRole(),
+                    userCompanyRoleRepository.findCompanyIdsByUserEmail(user.getEmail()),
+                    user.currentTokenVersion()
             );
-        };
+        });
     }
     @Bean
     @Primary
-    public AuthenticationProvider myCustomAuthenticationProvider() {
-        return new CustomAuthenticationProvider(this.repository, this.passwordEncoder());
+    public AuthenticationProvider myCustomAuthenticationProvider(PasswordVerifier passwordVerifier) {
+        return new CustomAuthenticationProvider(this.repository, passwordVerifier);
     }
 
     @Bean
@@ -50,4 +62,49 @@ public class ApplicationConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    /**
+     * Bounded pool for BCrypt work so bulk operations cannot starve request threads.
+     * When the queue is full the submitting thread hashes inline, which throttles the caller.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "payrollExecutor")
+    public ThreadPoolTaskExecutor payrollExecutor() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("payroll-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "importExecutor")
+    public ThreadPoolTaskExecutor importExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("contact-import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
 }
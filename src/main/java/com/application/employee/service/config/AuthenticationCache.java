@@ -0,0 +1,116 @@
+package com.application.employee.service.config;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory caches for the JWT request path.
+ * <ul>
+ *     <li>verified tokens -> authenticated principal, bounded and expiring no later than the token itself</li>
+ *     <li>email -> user principal, used by the UserDetailsService</li>
+ * </ul>
+ * Entries are evicted by {@link AuthenticationCacheInvalidator} whenever a user or company assignment changes;
+ * the TTL bounds staleness for changes made outside JPA (e.g. bulk JDBC writes).
+ */
+@Component
+public class AuthenticationCache {
+
+    static final long TTL_MILLIS = 5 * 60 * 1000L;
+    static final int MAX_TOKENS = 10_000;
+    static final int MAX_USERS = 10_000;
+
+    private final Map<String, CachedEntry> tokens = new ConcurrentHashMap<>();
+    private final Map<String, CachedEntry> users = new ConcurrentHashMap<>();
+    private final Map<String, String> emailsByUserId = new ConcurrentHashMap<>();
+
+    public UserDetails getTokenPrincipal(String token) {
+        return read(tokens, token);
+    }
+
+    public void putTokenPrincipal(String token, UserDetails principal, long tokenExpiresAt) {
+        long expiresAt = Math.min(tokenExpiresAt, System.currentTimeMillis() + TTL_MILLIS);
+        write(tokens, token, new CachedEntry(principal, expiresAt), MAX_TOKENS);
+    }
+
+    public UserDetails getUser(String email, Function<String, UserDetails> loader) {
+        UserDetails cached = read(users, email);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails loaded = loader.apply(email);
+        write(users, email, new CachedEntry(loaded, System.currentTimeMillis() + TTL_MILLIS), MAX_USERS);
+        return loaded;
+    }
+
+    public void rememberUserId(String userId, String email) {
+        if (userId != null && email != null) {
+            emailsByUserId.put(userId, email);
+        }
+    }
+
+    /**
+     * Drops the cached principal and every cached token of the user. When called inside a transaction
+     * the eviction is repeated after commit so a concurrent request cannot re-cache the old row.
+     */
+    public void evictUser(String email) {
+        if (email == null) {
+            return;
+        }
+        doEvict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(email);
+                }
+            });
+        }
+    }
+
+    public void evictUserById(String userId) {
+        if (userId != null) {
+            evictUser(emailsByUserId.get(userId));
+        }
+    }
+
+    private void doEvict(String email) {
+        users.remove(email);
+        tokens.values().removeIf(entry -> email.equalsIgnoreCase(entry.principal().getUsername()));
+    }
+
+    private static UserDetails read(Map<String, CachedEntry> map, String key) {
+        CachedEntry entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            map.remove(key, entry);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    private static void write(Map<String, CachedEntry> map, String key, CachedEntry entry, int maxSize) {
+        if (map.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            map.values().removeIf(existing -> existing.expiresAt() <= now);
+            // Still full of live entries: drop arbitrary ones rather than grow without bound.
+            Iterator<String> keys = map.keySet().iterator();
+            while (map.size() >= maxSize && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        map.put(key, entry);
+    }
+
+    private record CachedEntry(UserDetails principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.application.employee.service.config;
+
+import com.application.employee.service.entities.UserCompanyRole;
+import com.application.employee.service.user.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that evicts cached principals when a user's role or password,
+ * or the user's company assignments, change. Company changes also bump the user's token
+ * version because the company ids are signed into issued tokens.
+ */
+@Component
+public class AuthenticationCacheInvalidator {
+
+    @Autowired
+    @Lazy
+    private AuthenticationCache authenticationCache;
+    @Autowired
+    @Lazy
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            authenticationCache.rememberUserId(user.getId(), user.getEmail());
+            authenticationCache.evictUser(user.getEmail());
+            tokenVersionRegistry.record(user.getEmail(), user.currentTokenVersion());
+        } else if (entity instanceof UserCompanyRole userCompanyRole) {
+            onCompanyChange(userCompanyRole);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof User user) {
+            authenticationCache.evictUser(user.getEmail());
+            tokenVersionRegistry.revoke(user.getEmail());
+        } else if (entity instanceof UserCompanyRole userCompanyRole) {
+            onCompanyChange(userCompanyRole);
+        }
+    }
+
+    private void onCompanyChange(UserCompanyRole userCompanyRole) {
+        authenticationCache.evictUserById(userCompanyRole.getUserId());
+        tokenVersionRegistry.bumpByUserId(userCompanyRole.getUserId());
+    }
+}
@@ -0,0 +1,98 @@
+package com.application.employee.service.config;
+
+import com.application.employee.service.entities.Employee;
+import com.application.employee.service.repositories.UserCompanyRoleRepository;
+import com.application.employee.service.user.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.List;
+
+/**
+ * Enables the Hibernate company filter on the request-bound session so every entity query
+ * for Employee and employee-owned data carries a COMPANY_ID IN (...) predicate.
+ *
+ * Runs after the open-entity-manager-in-view interceptor, so the session it configures is
+ * the one used by repositories and transactional services for the rest of the request.
+ * SADMIN and users without company assignments are left unfiltered; a GROUP_ADMIN without
+ * assignments sees nothing, matching the controller-level rules.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompanyScopeInterceptor implements HandlerInterceptor {
+
+    private static final Integer NO_COMPANY = -1;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final UserCompanyRoleRepository userCompanyRoleRepository;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            return true;
+        }
+
+        List<Integer> companyIds = resolveCompanyIds(SecurityContextHolder.getContext().getAuthentication());
+        if (companyIds != null) {
+            entityManager.unwrap(Session.class)
+                    .enableFilter(Employee.COMPANY_FILTER)
+                    .setParameterList(Employee.COMPANY_FILTER_PARAM, companyIds);
+        }
+        return true;
+    }
+
+    /**
+     * Company scope of the current caller for work that runs outside the request-bound session
+     * (e.g. streamed responses), where the Hibernate filter is not active. Null means unrestricted.
+     */
+    public List<Integer> resolveCurrentCompanyIds() {
+        return resolveCompanyIds(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Returns the companies the caller may see, or null when no filter should be applied.
+     */
+    private List<Integer> resolveCompanyIds(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        if (hasRole(authentication, Role.SADMIN)) {
+            return null;
+        }
+
+        // Company ids are signed into the token; only principals without them need a lookup
+        List<Integer> companyIds = authentication.getPrincipal() instanceof JwtUserPrincipal principal
+                ? principal.getCompanyIds()
+                : userCompanyRoleRepository.findCompanyIdsByUserEmail(authentication.getName());
+        if (companyIds.isEmpty()) {
+            return hasRole(authentication, Role.GROUP_ADMIN) ? List.of(NO_COMPANY) : null;
+        }
+        return companyIds;
+    }
+
+    private boolean hasRole(Authentication authentication, Role role) {
+        String authority = "ROLE_" + role.name();
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            if (authority.equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.application.employee.service.config;
 
+import com.application.employee.service.auth.PasswordVerifier;
 import com.application.employee.service.repositories.UserRepository;
 import com.application.employee.service.user.User;
 import lombok.RequiredArgsConstructor;
@@ -9,14 +10,13 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class CustomAuthenticationProvider implements AuthenticationProvider {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
@@ -26,12 +26,12 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         if(user.getTempPassword() != null && user.getTempPassword() != "")
         {
-            if(passwordEncoder.matches(password, user.getTempPassword()))
+            if(passwordVerifier.matches(password, user.getTempPassword()))
                 return new UsernamePasswordAuthenticationToken(username,password);
             throw new BadCredentialsException("Incorrect password");
         }
         else{
-            if(passwordEncoder.matches(password, user.getPassword()))
+            if(passwordVerifier.matches(password, user.getPassword()))
                 return new UsernamePasswordAuthenticationToken(username,password);
             throw new BadCredentialsException("Incorrect password");
         }
@@ -0,0 +1,42 @@
+package com.application.employee.service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs one-off data migrations once per database instead of on every start. The marker row in
+ * applied_migrations is inserted in the migration's own transaction, so a node starting at the same
+ * time blocks on it and then skips, and a migration that fails leaves no marker and runs again.
+ */
+@Slf4j
+@Component
+public class DataMigrations {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DataMigrations(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Returns true when the migration ran here, false when it had already been applied. */
+    public boolean runOnce(String migrationId, Runnable migration) {
+        Boolean applied = transactionTemplate.execute(status -> {
+            int claimed = jdbcTemplate.update("INSERT IGNORE INTO applied_migrations (MIGRATION_ID, APPLIED_AT) " +
+                    "VALUES (?, CURRENT_TIMESTAMP)", migrationId);
+            if (claimed == 0) {
+                return false;
+            }
+            migration.run();
+            return true;
+        });
+        if (Boolean.TRUE.equals(applied)) {
+            log.info("Applied data migration {}", migrationId);
+        }
+        return Boolean.TRUE.equals(applied);
+    }
+}
@@ -63,6 +63,7 @@
 //}
 package com.application.employee.service.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -85,6 +86,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AuthenticationCache authenticationCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -110,27 +113,53 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String userEmail;
-        try {
-            userEmail = jwtService.extractUsername(jwt);
-        } catch (Exception e) {
-            System.out.println("Skipping JWT authentication: failed to parse token - " + e.getMessage());
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // ✅ Authenticate only if token is valid and no authentication is set
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        // ✅ Fast path: token already verified and mapped to a principal
+        UserDetails userDetails = authenticationCache.getTokenPrincipal(jwt);
+        if (userDetails == null) {
+            Claims claims;
+            try {
+                claims = jwtService.parseToken(jwt);
+            } catch (Exception e) {
+                System.out.println("Skipping JWT authentication: failed to parse token - " + e.getMessage());
+                filterChain.doFilter(request, response);
+                return;
             }
+            String userEmail = claims.getSubject();
+            if (userEmail == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            // ✅ Tokens carrying role/company claims need no user lookup
+            UserDetails loaded = jwtService.toPrincipal(claims);
+            if (loaded == null) {
+                loaded = this.userDetailsService.loadUserByUsername(userEmail);
+            }
+            if (jwtService.isTokenValid(claims, loaded)) {
+                authenticationCache.putTokenPrincipal(jwt, loaded, claims.getExpiration().getTime());
+                userDetails = loaded;
+            }
+        }
+
+        // ✅ Reject tokens issued before a role or company change
+        if (userDetails instanceof JwtUserPrincipal principal
+                && !tokenVersionRegistry.isCurrent(principal.getUsername(), principal.getTokenVersion())) {
+            userDetails = null;
+        }
+
+        // ✅ Authenticate only if token is valid
+        if (userDetails != null) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
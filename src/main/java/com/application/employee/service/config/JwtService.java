@@ -1,13 +1,18 @@
 package com.application.employee.service.config;
 
+import com.application.employee.service.user.Role;
+import com.application.employee.service.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -19,8 +24,26 @@ import java.util.stream.Collectors;
 
 @Service
 public class JwtService {
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_PERMISSIONS = "permissions";
+    private static final String CLAIM_COMPANY_IDS = "companyIds";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
+    @Value("${application.security.jwt.expiration:86400000}")
+    private long jwtExpiration;
+
+    // The key and parser are immutable and thread-safe, so they are built once instead of per call.
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void initSigningKey() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -33,6 +56,46 @@ public class JwtService {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    /**
+     * Issues an access token that carries everything needed to authorize a request:
+     * user id, role, permissions, allowed company ids and the user's token version.
+     */
+    public String generateToken(User user, List<Integer> companyIds) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_PERMISSIONS, user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
+        claims.put(CLAIM_COMPANY_IDS, companyIds);
+        claims.put(CLAIM_TOKEN_VERSION, user.currentTokenVersion());
+        return generateToken(claims, user);
+    }
+
+    /**
+     * Builds the principal straight from signed claims, or returns null for tokens issued
+     * without them so the caller can fall back to loading the user.
+     */
+    public JwtUserPrincipal toPrincipal(Claims claims) {
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        if (role == null || tokenVersion == null) {
+            return null;
+        }
+        List<?> permissions = claims.get(CLAIM_PERMISSIONS, List.class);
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (permissions != null) {
+            permissions.forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission.toString())));
+        }
+        List<?> companies = claims.get(CLAIM_COMPANY_IDS, List.class);
+        List<Integer> companyIds = new ArrayList<>();
+        if (companies != null) {
+            companies.forEach(companyId -> companyIds.add(((Number) companyId).intValue()));
+        }
+        return new JwtUserPrincipal(claims.getSubject(), null, authorities,
+                claims.get(CLAIM_USER_ID, String.class), Role.valueOf(role), companyIds, tokenVersion);
+    }
+
     private String generateToken(
             Map<String, Object> extraClaims,
             UserDetails userDetails
@@ -42,13 +105,29 @@ public class JwtService {
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
                 .signWith(getSignInKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    /**
+     * Validates already parsed claims so callers that hold the result of {@link #parseToken}
+     * do not verify the signature again.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject() != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date());
+    }
+
+    /**
+     * Verifies the signature and returns all claims; parses the token exactly once.
+     */
+    public Claims parseToken(String token) {
+        return extractAllClaims(token);
     }
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
@@ -78,10 +157,7 @@ public class JwtService {
             throw new IllegalArgumentException("JWT token is missing or empty");
         }
         try {
-            return Jwts
-                    .parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
+            return jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (MalformedJwtException e) {
@@ -95,7 +171,6 @@ public class JwtService {
 
 
     private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 }
@@ -0,0 +1,46 @@
+package com.application.employee.service.config;
+
+import com.application.employee.service.user.Role;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Authenticated principal carrying the identity and scope that are signed into the JWT,
+ * so controllers can authorize without reloading the user row.
+ */
+@Getter
+public class JwtUserPrincipal extends User {
+
+    private final String id;
+    private final Role role;
+    private final List<Integer> companyIds;
+    private final int tokenVersion;
+
+    public JwtUserPrincipal(String email, String password, Collection<? extends GrantedAuthority> authorities,
+                            String id, Role role, List<Integer> companyIds, int tokenVersion) {
+        super(email, password == null ? "" : password, authorities);
+        this.id = id;
+        this.role = role;
+        this.companyIds = companyIds == null ? List.of() : List.copyOf(companyIds);
+        this.tokenVersion = tokenVersion;
+    }
+
+    public String getEmail() {
+        return getUsername();
+    }
+
+    public static Optional<JwtUserPrincipal> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtUserPrincipal principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+}
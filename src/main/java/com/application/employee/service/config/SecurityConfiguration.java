@@ -61,7 +61,7 @@ public class SecurityConfiguration {
         http.csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests()
-                .requestMatchers("/auth/authenticate","/auth/register","/auth/resetPassword","/auth/updatePassword","/admin/create-user","/admin/create-user/check")
+                .requestMatchers("/auth/authenticate","/auth/refresh","/auth/register","/auth/resetPassword","/auth/updatePassword","/admin/create-user","/admin/create-user/check","/email/events")
                 .permitAll()
                 .requestMatchers("/user-company/**").hasAnyRole(SADMIN.name(),ADMIN.name(),EMPLOYEE.name(),PROSPECT.name(),RECRUITER.name(),SALES.name(),HR_MANAGER.name(),"GROUP_ADMIN")
                .requestMatchers("/employees/**","/orders/**").hasAnyRole(SADMIN.name(),ADMIN.name(),EMPLOYEE.name(), PROSPECT.name(),RECRUITER.name(),SALES.name(),HR_MANAGER.name(),"GROUP_ADMIN")
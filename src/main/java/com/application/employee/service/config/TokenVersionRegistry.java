@@ -0,0 +1,123 @@
+package com.application.employee.service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of user.TOKEN_VERSION used to revoke JWTs without a query per request.
+ * Local changes are applied once their transaction commits; the whole map is reloaded from the database
+ * in the background every {@code token-version-refresh-millis} so changes made on other nodes are picked
+ * up without a request thread paying for the reload. Users that no longer exist are recorded as revoked.
+ */
+@Slf4j
+@Component
+public class TokenVersionRegistry {
+
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // afterCommit callbacks still hold the finished transaction's connection, so the bump needs its own
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isCurrent(String email, int tokenVersion) {
+        Integer version = versions.get(email);
+        if (version == null) {
+            version = load(email);
+        }
+        return tokenVersion >= version;
+    }
+
+    public void record(String email, Integer version) {
+        if (email != null) {
+            afterCommit(() -> versions.put(email, version == null ? 0 : version));
+        }
+    }
+
+    public void revoke(String email) {
+        if (email != null) {
+            afterCommit(() -> versions.put(email, REVOKED));
+        }
+    }
+
+    /**
+     * Bumps the stored version of a user whose company assignments changed. Runs after commit
+     * when a transaction is active so the new version is only visible once the change is, and
+     * commits in a transaction of its own so other nodes and restarts see it too.
+     */
+    public void bumpByUserId(String userId) {
+        if (userId != null) {
+            afterCommit(() -> doBump(userId));
+        }
+    }
+
+    /**
+     * Versions only grow, so a reload merges with max() and never undoes a bump recorded while it ran.
+     * A user that exists again after being revoked takes the loaded version.
+     */
+    @Scheduled(fixedDelayString = "${application.security.token-version-refresh-millis:30000}")
+    void refresh() {
+        try {
+            Map<String, Integer> loaded = new HashMap<>();
+            jdbcTemplate.query("SELECT EMAIL, COALESCE(TOKEN_VERSION, 0) FROM `user` WHERE EMAIL IS NOT NULL",
+                    rs -> { loaded.put(rs.getString(1), rs.getInt(2)); });
+            versions.replaceAll((email, version) -> loaded.containsKey(email) ? version : REVOKED);
+            loaded.forEach((email, version) -> versions.merge(email, version,
+                    (current, fresh) -> current == REVOKED ? fresh : Math.max(current, fresh)));
+        } catch (RuntimeException e) {
+            log.warn("Token version refresh failed", e);
+        }
+    }
+
+    private void doBump(String userId) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE `user` SET TOKEN_VERSION = COALESCE(TOKEN_VERSION, 0) + 1 WHERE ID = ?", userId);
+                jdbcTemplate.query("SELECT EMAIL, TOKEN_VERSION FROM `user` WHERE ID = ?",
+                        rs -> { versions.merge(rs.getString(1), rs.getInt(2), Math::max); }, userId);
+            });
+        } catch (RuntimeException e) {
+            log.error("Could not bump the token version of user {}; tokens issued before the company change stay valid", userId, e);
+        }
+    }
+
+    private int load(String email) {
+        List<Integer> found = jdbcTemplate.query("SELECT COALESCE(TOKEN_VERSION, 0) FROM `user` WHERE EMAIL = ?",
+                (rs, rowNum) -> rs.getInt(1), email);
+        // A change recorded while this ran is newer than what was read
+        return versions.merge(email, found.isEmpty() ? REVOKED : found.get(0),
+                (current, fresh) -> found.isEmpty() ? current : Math.max(current, fresh));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.application.employee.service.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    // Open-entity-manager-in-view is registered with order 0; the company filter must run after it
+    private static final int COMPANY_SCOPE_ORDER = 100;
+
+    private final CompanyScopeInterceptor companyScopeInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(companyScopeInterceptor).order(COMPANY_SCOPE_ORDER);
+    }
+}
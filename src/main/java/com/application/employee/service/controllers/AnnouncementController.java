@@ -2,10 +2,13 @@ package com.application.employee.service.controllers;
 
 import com.application.employee.service.entities.Announcement;
 import com.application.employee.service.services.AnnouncementService;
+import com.application.employee.service.user.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -17,19 +20,41 @@ public class AnnouncementController {
     private final AnnouncementService announcementService;
 
     @PostMapping
-    public ResponseEntity<Announcement> createAnnouncement(@RequestBody Map<String, Object> request) {
+    @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
+    public ResponseEntity<?> createAnnouncement(@RequestBody Map<String, Object> request) {
         Announcement announcement = new Announcement();
         announcement.setTitle((String) request.get("title"));
         announcement.setMessage((String) request.get("message"));
         announcement.setType((String) request.get("type"));
         announcement.setCreatedBy(request.get("createdBy").toString()); // Accepts UUID or Numeric as String
 
+        // Audience: ALL, COMPANY, ROLE (role), REPORTING_MANAGER (managerId) or EXPLICIT (employeeIds);
+        // companyId limits every rule but EXPLICIT and defaults to the author's only company
         List<String> employeeIds = (List<String>) request.get("employeeIds");
-
-        return ResponseEntity.ok(announcementService.createAnnouncement(announcement, employeeIds));
+        try {
+            if (request.get("audienceType") != null) {
+                announcement.setAudienceType(request.get("audienceType").toString().toUpperCase());
+            }
+            if (request.get("companyId") != null) {
+                announcement.setAudienceCompanyId(Integer.valueOf(request.get("companyId").toString()));
+            }
+            if (request.get("role") != null) {
+                announcement.setAudienceRole(Role.valueOf(request.get("role").toString().toUpperCase()));
+            }
+            if (request.get("managerId") != null) {
+                announcement.setAudienceManagerId(request.get("managerId").toString());
+            }
+            return ResponseEntity.ok(announcementService.createAnnouncement(announcement, employeeIds));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
     }
 
     @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
     public ResponseEntity<List<Announcement>> getAllAnnouncements() {
         return ResponseEntity.ok(announcementService.getAllAnnouncements());
     }
@@ -39,12 +64,35 @@ public class AnnouncementController {
         return ResponseEntity.ok(announcementService.getAnnouncementsForEmployee(employeeId));
     }
 
+    @GetMapping("/employee/{employeeId}/feed")
+    public ResponseEntity<?> getAnnouncementFeed(@PathVariable String employeeId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(announcementService.getAnnouncementFeed(employeeId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    @GetMapping("/employee/{employeeId}/unread-count")
+    public ResponseEntity<Map<String, Object>> getUnreadCount(@PathVariable String employeeId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("employeeId", employeeId);
+        response.put("unreadCount", announcementService.getUnreadCount(employeeId));
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{announcementId}/mark-read/{employeeId}")
     public ResponseEntity<String> markAsRead(@PathVariable Long announcementId, @PathVariable String employeeId) {
         announcementService.markAsRead(announcementId, employeeId);
         return ResponseEntity.ok("Marked as read");
     }
     @DeleteMapping("/{announcementId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
     public ResponseEntity<String> deleteAnnouncement(@PathVariable Long announcementId) {
         announcementService.deleteAnnouncement(announcementId);
         return ResponseEntity.ok("Announcement deleted successfully");
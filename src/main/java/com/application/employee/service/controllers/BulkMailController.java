@@ -1,13 +1,18 @@
 package com.application.employee.service.controllers;
 
+import com.application.employee.service.dto.ContactImportJob;
 import com.application.employee.service.entities.BulkMail;
+import com.application.employee.service.enums.ContactListType;
 import com.application.employee.service.services.BulkMailService;
+import com.application.employee.service.services.ContactImportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -16,6 +21,8 @@ public class BulkMailController {
 
     @Autowired
     private BulkMailService bulkMailService;
+    @Autowired
+    private ContactImportService contactImportService;
 
 //    @PostMapping("/save")
 //    @PreAuthorize("hasAnyRole('ADMIN', 'RECRUITER','SADMIN')")
@@ -42,4 +49,22 @@ public class BulkMailController {
         BulkMail savedMail = bulkMailService.saveBulkEmail(recruiterId, bulkMail);
         return new ResponseEntity<>(savedMail, HttpStatus.CREATED);
     }
+
+    @PostMapping(value = "/import", consumes = "multipart/form-data")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECRUITER','SADMIN')")
+    public ResponseEntity<?> importCsv(@RequestParam("file") MultipartFile file,
+                                       @RequestParam(value = "recruiterId", required = false) String recruiterId,
+                                       @RequestParam(value = "updateExisting", defaultValue = "false") boolean updateExisting) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("File is empty");
+        }
+        ContactImportJob job = contactImportService.startImport(ContactListType.BULK_MAIL, file, recruiterId, updateExisting);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECRUITER','SADMIN')")
+    public ResponseEntity<ContactImportJob> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(contactImportService.getJob(jobId));
+    }
 }
@@ -1,12 +1,21 @@
 package com.application.employee.service.controllers;
 
+import com.application.employee.service.dto.CampaignProgress;
 import com.application.employee.service.entities.Campaign;
+import com.application.employee.service.entities.CampaignRecipient;
 import com.application.employee.service.services.CampaignService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/campaigns")
@@ -33,8 +42,12 @@ public class CampaignController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Campaign> updateCampaign(@PathVariable Long id, @RequestBody Campaign campaign) {
-        return ResponseEntity.ok(campaignService.updateCampaign(id, campaign));
+    public ResponseEntity<?> updateCampaign(@PathVariable Long id, @RequestBody Campaign campaign) {
+        try {
+            return ResponseEntity.ok(campaignService.updateCampaign(id, campaign));
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -42,4 +55,91 @@ public class CampaignController {
         campaignService.deleteCampaign(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @PostMapping("/{id}/recipients")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<Map<String, Object>> addRecipients(@PathVariable Long id, @RequestBody List<String> emails) {
+        try {
+            long total = campaignService.addRecipients(id, emails);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("totalRecipients", total);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/recipients")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<Page<CampaignRecipient>> getRecipients(@PathVariable Long id,
+                                                                 @RequestParam(required = false) String status,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(campaignService.getRecipients(id, status, page, size));
+    }
+
+    /**
+     * Queues the campaign for background delivery, now or at {@code scheduledAt}; poll /progress for counters.
+     */
+    @PostMapping("/{id}/send")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<Map<String, Object>> sendCampaign(@PathVariable Long id,
+                                                            @RequestParam(required = false)
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scheduledAt) {
+        try {
+            campaignService.scheduleCampaign(id, scheduledAt);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", campaignService.getProgress(id));
+            response.put("progressUrl", "/campaigns/" + id + "/progress");
+            return ResponseEntity.accepted().body(response);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/pause")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<Map<String, Object>> pauseCampaign(@PathVariable Long id) {
+        try {
+            campaignService.pauseCampaign(id);
+            return progressResponse(id);
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<Map<String, Object>> cancelCampaign(@PathVariable Long id) {
+        try {
+            campaignService.cancelCampaign(id);
+            return progressResponse(id);
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/progress")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<CampaignProgress> getProgress(@PathVariable Long id) {
+        return ResponseEntity.ok(campaignService.getProgress(id));
+    }
+
+    private ResponseEntity<Map<String, Object>> progressResponse(Long id) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", campaignService.getProgress(id));
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("error", message);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
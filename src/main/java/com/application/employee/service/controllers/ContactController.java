@@ -1,13 +1,18 @@
 package com.application.employee.service.controllers;
 
+import com.application.employee.service.dto.ContactImportJob;
 import com.application.employee.service.entities.Contacts;
+import com.application.employee.service.enums.ContactListType;
+import com.application.employee.service.services.ContactImportService;
 import com.application.employee.service.services.ContactService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -16,6 +21,8 @@ import java.util.List;
 public class ContactController {
     @Autowired
     private ContactService contactService;
+    @Autowired
+    private ContactImportService contactImportService;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
@@ -74,4 +81,22 @@ public class ContactController {
         contactService.deleteContacts(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    @PostMapping(value = "/import", consumes = "multipart/form-data")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<?> importCsv(@RequestParam("file") MultipartFile file,
+                                       @RequestParam(value = "recruiterId", required = false) String recruiterId,
+                                       @RequestParam(value = "updateExisting", defaultValue = "false") boolean updateExisting) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("File is empty");
+        }
+        ContactImportJob job = contactImportService.startImport(ContactListType.CONTACTS, file, recruiterId, updateExisting);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<ContactImportJob> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(contactImportService.getJob(jobId));
+    }
 }
@@ -1,7 +1,11 @@
 package com.application.employee.service.controllers;
 
-import com.application.employee.service.config.SendGridEmail;
+import com.application.employee.service.dto.MailJobStatus;
 import com.application.employee.service.entities.EmailRequest;
+import com.application.employee.service.mail.MailMessage;
+import com.application.employee.service.mail.RecipientFilterResult;
+import com.application.employee.service.mail.SuppressionList;
+import com.application.employee.service.services.MailOutboxService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,7 +15,9 @@ import org.springframework.web.multipart.MultipartFile;
 
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 
 @RestController
@@ -19,7 +25,10 @@ import java.util.List;
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 public class EmailController {
     @Autowired
-    private SendGridEmail emailsendgrid;
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private SuppressionList suppressionList;
 
 //    @PostMapping("/send")
 //    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
@@ -59,36 +68,55 @@ public class EmailController {
 
     @PostMapping(value = "/send", consumes = "application/json")
     @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
-    public ResponseEntity<String> sendEmails(@RequestBody EmailRequest emailRequest) {
+    public ResponseEntity<?> sendEmails(@RequestBody EmailRequest emailRequest,
+                                        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (emailRequest.getToList() == null || emailRequest.getToList().isEmpty()) {
+            return ResponseEntity.badRequest().body("Recipient list (toList) cannot be empty");
+        }
+        // Duplicates and bounced or unsubscribed addresses are dropped before anything is queued
+        RecipientFilterResult recipients = suppressionList.filter(emailRequest.getToList());
+        if (recipients.deliverable().isEmpty()) {
+            return ResponseEntity.badRequest().body("No deliverable recipients: " + recipients.suppressed()
+                    + " suppressed, " + recipients.invalid() + " invalid");
+        }
         try {
-            if (emailRequest.getToList() == null || emailRequest.getToList().isEmpty()) {
-                return ResponseEntity.badRequest().body("Recipient list (toList) cannot be empty");
-            }
-
-            emailsendgrid.sendEmails(
+            MailMessage message = new MailMessage(
                     emailRequest.getFromEmail(),
-                    emailRequest.getToList(),
+                    recipients.deliverable(),
                     emailRequest.getCcList(),
                     emailRequest.getBccList(),
                     emailRequest.getSubject(),
                     emailRequest.getBody(),
-                    List.of()
+                    List.of(),
+                    null
             );
+            String jobId = mailOutboxService.enqueue(message, "EMAIL", idempotencyKey);
 
-            int statusCode = emailsendgrid.getLastStatusCode();
-            if (statusCode == 202) {
-                return ResponseEntity.ok("Emails sent successfully");
-            } else if (statusCode == 403) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(emailsendgrid.getLastErrorMessage());
-            } else {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Unexpected error occurred");
-            }
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("jobId", jobId);
+            response.put("statusUrl", "/email/jobs/" + jobId);
+            response.put("recipients", recipients.deliverable().size());
+            response.put("duplicatesRemoved", recipients.duplicates());
+            response.put("suppressed", recipients.suppressed());
+            response.put("invalid", recipients.invalid());
+            return ResponseEntity.accepted().body(response);
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error sending emails: " + e.getMessage());
+                    .body("Error queueing emails: " + e.getMessage());
         }
     }
 
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<MailJobStatus> getJobStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(mailOutboxService.getJobStatus(jobId));
+    }
 
+    @PostMapping("/jobs/{jobId}/retry")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('SADMIN')")
+    public ResponseEntity<Map<String, Object>> retryDeadLetters(@PathVariable String jobId) {
+        int requeued = mailOutboxService.retryDead(jobId);
+        return ResponseEntity.accepted().body(Map.of("jobId", jobId, "requeued", requeued));
+    }
 }
@@ -0,0 +1,151 @@
+package com.application.employee.service.controllers;
+
+import com.application.employee.service.config.JwtUserPrincipal;
+import com.application.employee.service.entities.EmailSuppression;
+import com.application.employee.service.mail.SuppressionList;
+import com.application.employee.service.repositories.EmailSuppressionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/email")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class EmailSuppressionController {
+
+    @Autowired
+    private SuppressionList suppressionList;
+
+    @Autowired
+    private EmailSuppressionRepository emailSuppressionRepository;
+
+    @Value("${application.mail.webhook-token:}")
+    private String webhookToken;
+
+    @GetMapping("/suppressions")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<Page<EmailSuppression>> getSuppressions(@RequestParam(required = false) String reason,
+                                                                  @RequestParam(defaultValue = "0") int page,
+                                                                  @RequestParam(defaultValue = "100") int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500),
+                Sort.by(Sort.Direction.DESC, "id"));
+        return ResponseEntity.ok(reason == null || reason.isBlank()
+                ? emailSuppressionRepository.findAll(pageRequest)
+                : emailSuppressionRepository.findAllByReason(reason.toUpperCase(Locale.ROOT), pageRequest));
+    }
+
+    @GetMapping("/suppressions/check")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<Map<String, Object>> checkSuppression(@RequestParam String email) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("email", SuppressionList.normalize(email));
+        response.put("suppressed", suppressionList.isSuppressed(email));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/suppressions")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('RECRUITER') || hasRole('SADMIN')")
+    public ResponseEntity<Map<String, Object>> addSuppression(@RequestBody EmailSuppression suppression) {
+        if (SuppressionList.normalize(suppression.getEmail()) == null) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", "A valid email is required");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        String reason = suppression.getReason() == null ? EmailSuppression.MANUAL : suppression.getReason().toUpperCase(Locale.ROOT);
+        String createdBy = JwtUserPrincipal.current().map(JwtUserPrincipal::getEmail).orElse(null);
+        boolean added = suppressionList.suppress(suppression.getEmail(), reason, suppression.getDetail(), createdBy);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("added", added);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/suppressions")
+    @PreAuthorize("hasRole('ADMIN') || hasRole('SADMIN')")
+    public ResponseEntity<Map<String, Object>> removeSuppression(@RequestParam String email) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("removed", suppressionList.unsuppress(email));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * SendGrid event webhook. Bounces, drops, spam reports and unsubscribes add the address to the
+     * suppression list. Authenticated by the shared {@code application.mail.webhook-token}, passed as
+     * the {@code token} query parameter of the webhook URL; disabled while no token is configured.
+     */
+    @PostMapping("/events")
+    public ResponseEntity<Map<String, Object>> receiveEvents(@RequestParam(required = false) String token,
+                                                             @RequestBody List<Map<String, Object>> events) {
+        if (webhookToken == null || webhookToken.isBlank() || token == null
+                || !MessageDigest.isEqual(webhookToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        int suppressed = 0, released = 0;
+        for (Map<String, Object> event : events) {
+            String email = asString(event.get("email"));
+            String type = asString(event.get("event"));
+            if (email == null || type == null) {
+                continue;
+            }
+            String detail = asString(event.get("reason"));
+            switch (type) {
+                case "bounce" -> {
+                    // "blocked" bounces are temporary refusals by the receiving server, not a bad address
+                    if (!"blocked".equals(asString(event.get("type")))
+                            && suppressionList.suppress(email, EmailSuppression.BOUNCE, detail, "sendgrid")) {
+                        suppressed++;
+                    }
+                }
+                case "dropped" -> {
+                    if (suppressionList.suppress(email, EmailSuppression.BOUNCE, detail, "sendgrid")) {
+                        suppressed++;
+                    }
+                }
+                case "spamreport" -> {
+                    if (suppressionList.suppress(email, EmailSuppression.SPAM_REPORT, detail, "sendgrid")) {
+                        suppressed++;
+                    }
+                }
+                case "unsubscribe", "group_unsubscribe" -> {
+                    if (suppressionList.suppress(email, EmailSuppression.UNSUBSCRIBE, detail, "sendgrid")) {
+                        suppressed++;
+                    }
+                }
+                case "group_resubscribe" -> {
+                    if (emailSuppressionRepository.findByEmail(SuppressionList.normalize(email))
+                            .filter(s -> EmailSuppression.UNSUBSCRIBE.equals(s.getReason())).isPresent()
+                            && suppressionList.unsuppress(email)) {
+                        released++;
+                    }
+                }
+                default -> {
+                    // Delivery, open and click events are not tracked here
+                }
+            }
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("received", events.size());
+        response.put("suppressed", suppressed);
+        response.put("released", released);
+        return ResponseEntity.ok(response);
+    }
+
+    private static String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -1,6 +1,8 @@
 package com.application.employee.service.controllers;
 
+import com.application.employee.service.config.JwtUserPrincipal;
 import com.application.employee.service.dto.EmployeeDTO;
+import com.application.employee.service.dto.EmployeeImportReport;
 import com.application.employee.service.dto.ProspectFileDTO;
 import com.application.employee.service.entities.*;
 import com.application.employee.service.repositories.UserCompanyRoleRepository;
@@ -29,6 +31,8 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
     @Autowired
+    private EmployeeImportService employeeImportService;
+    @Autowired
     private PurchaseOrderService purchaseOrderService;
     @Autowired
     private WithHoldTrackingService withHoldTrackingService;
@@ -51,11 +55,10 @@ public class EmployeeController {
     public ResponseEntity<String> createEmployee(@RequestBody EmployeeDTO employeeDTO) {
         // ✅ If Admin creates employee without company, auto-assign to Admin's company
         // Get current user from SecurityContext
-        String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail).orElse(null);
+        JwtUserPrincipal currentUser = JwtUserPrincipal.current().orElse(null);
         
         if (currentUser != null) {
-            if (currentUser.getRole() == Role.ADMIN) {
+            if (currentUser.getRole() == Role.ADMIN && employeeDTO.getCompanyId() == null) {
                 // Admin user - get their default company
                 List<UserCompanyRole> adminRoles = userCompanyRoleRepository.findByUserId(currentUser.getId());
                 UserCompanyRole defaultRole = adminRoles.stream()
@@ -69,14 +72,13 @@ public class EmployeeController {
                 }
             } else if (currentUser.getRole() == Role.GROUP_ADMIN) {
                 // GROUP_ADMIN - validate that companyId is one of their assigned companies
-                List<UserCompanyRole> groupAdminRoles = userCompanyRoleRepository.findByUserId(currentUser.getId());
-                List<Integer> assignedCompanyIds = groupAdminRoles.stream()
-                        .map(UserCompanyRole::getCompanyId)
-                        .toList();
+                // (signed into the token, so no lookup is needed for the common case)
+                List<Integer> assignedCompanyIds = currentUser.getCompanyIds();
                 
                 // If no companyId provided, use selected company from session
                 if (employeeDTO.getCompanyId() == null) {
                     // Try to get selected company (frontend should send it, but if not, use first assigned)
+                    List<UserCompanyRole> groupAdminRoles = userCompanyRoleRepository.findByUserId(currentUser.getId());
                     UserCompanyRole defaultRole = groupAdminRoles.stream()
                             .filter(role -> "true".equalsIgnoreCase(role.getDefaultCompany()))
                             .findFirst()
@@ -101,6 +103,56 @@ public class EmployeeController {
         }
         return ResponseEntity.status(HttpStatus.CREATED).body("Employee created successfully");
     }
+
+    @PostMapping(value = "/import", consumes = "multipart/form-data")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SADMIN') or hasRole('GROUP_ADMIN')")
+    public ResponseEntity<?> importEmployeesCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("File is empty");
+        }
+        ImportScope scope = resolveImportScope();
+        try {
+            EmployeeImportReport report = employeeImportService.importEmployeesCsv(
+                    file.getInputStream(), scope.defaultCompanyId(), scope.allowedCompanyIds());
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = "application/json")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SADMIN') or hasRole('GROUP_ADMIN')")
+    public ResponseEntity<EmployeeImportReport> importEmployees(@RequestBody List<EmployeeDTO> employees) {
+        ImportScope scope = resolveImportScope();
+        EmployeeImportReport report = employeeImportService.importEmployees(
+                employees, scope.defaultCompanyId(), scope.allowedCompanyIds());
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Same company rules as createEmployee: ADMIN rows default to the admin's company,
+     * GROUP_ADMIN rows default to their default company and may only target assigned companies.
+     */
+    private ImportScope resolveImportScope() {
+        JwtUserPrincipal currentUser = JwtUserPrincipal.current().orElse(null);
+        if (currentUser == null || (currentUser.getRole() != Role.ADMIN && currentUser.getRole() != Role.GROUP_ADMIN)) {
+            return new ImportScope(null, null);
+        }
+        List<UserCompanyRole> roles = userCompanyRoleRepository.findByUserId(currentUser.getId());
+        UserCompanyRole defaultRole = roles.stream()
+                .filter(role -> "true".equalsIgnoreCase(role.getDefaultCompany()))
+                .findFirst()
+                .orElse(roles.isEmpty() ? null : roles.get(0));
+        Integer companyId = defaultRole != null ? defaultRole.getCompanyId() : null;
+        if (currentUser.getRole() == Role.GROUP_ADMIN) {
+            return new ImportScope(companyId, currentUser.getCompanyIds());
+        }
+        return new ImportScope(companyId, null);
+    }
+
+    private record ImportScope(Integer defaultCompanyId, List<Integer> allowedCompanyIds) {
+    }
+
     @GetMapping("/{employeeID}")
     @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'EMPLOYEE', 'HR_MANAGER', 'REPORTING_MANAGER')")
     public ResponseEntity<Employee> getEmployeeByID(@PathVariable String employeeID) {
@@ -1,14 +1,19 @@
 package com.application.employee.service.controllers;
 
+import com.application.employee.service.config.CompanyScopeInterceptor;
+import com.application.employee.service.config.JwtUserPrincipal;
 import com.application.employee.service.dto.PayrollCalculationRequest;
 import com.application.employee.service.dto.PayrollGenerateRequest;
+import com.application.employee.service.dto.PayrollRunRequest;
 import com.application.employee.service.entities.Employee;
 import com.application.employee.service.entities.PayrollRecord;
+import com.application.employee.service.entities.PayrollRun;
 import com.application.employee.service.entities.YTDData;
 import com.application.employee.service.repositories.EmployeeRespository;
 import com.application.employee.service.repositories.YTDDataRepository;
 import com.application.employee.service.services.EmployeeService;
 import com.application.employee.service.services.PDFGenerationService;
+import com.application.employee.service.services.PayrollRunService;
 import com.application.employee.service.services.PayrollService;
 import com.application.employee.service.services.TaxCalculatorService.TaxCalculations;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,6 +56,12 @@ public class PayrollController {
     @Autowired
     private com.application.employee.service.services.PayrollCalculationService payrollCalculationService;
 
+    @Autowired
+    private PayrollRunService payrollRunService;
+
+    @Autowired
+    private CompanyScopeInterceptor companyScopeInterceptor;
+
     /**
      * Advanced payroll calculation using payroll engine (Node.js) - called by frontend
      */
@@ -172,6 +183,71 @@ public class PayrollController {
         }
     }
 
+    /**
+     * Builds a draft payroll run for a company and pay period from approved timesheet hours.
+     */
+    @PostMapping("/runs")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
+    public ResponseEntity<Map<String, Object>> createPayrollRun(@RequestBody PayrollRunRequest request) {
+        List<Integer> companyIds = companyScopeInterceptor.resolveCurrentCompanyIds();
+        if (companyIds != null && !companyIds.contains(request.getCompanyId())) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", "Access denied to company " + request.getCompanyId());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+        }
+        try {
+            String createdBy = JwtUserPrincipal.current().map(JwtUserPrincipal::getEmail).orElse(null);
+            PayrollRun run = payrollRunService.createDraftRun(request, createdBy);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", run);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (IllegalStateException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/runs")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
+    public ResponseEntity<List<PayrollRun>> getPayrollRuns(@RequestParam Integer companyId) {
+        return ResponseEntity.ok(payrollRunService.getRunsByCompany(companyId));
+    }
+
+    @GetMapping("/runs/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
+    public ResponseEntity<PayrollRun> getPayrollRun(@PathVariable Long id) {
+        return ResponseEntity.ok(payrollRunService.getRun(id));
+    }
+
+    /**
+     * Generates payroll records for every ready item of a draft run.
+     */
+    @PostMapping("/runs/{id}/finalize")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
+    public ResponseEntity<Map<String, Object>> finalizePayrollRun(@PathVariable Long id) {
+        try {
+            PayrollRun run = payrollRunService.finalizeRun(id);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", run);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+    }
+
     @GetMapping("/records")
     @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
     public ResponseEntity<List<PayrollRecord>> getAllPayrollRecords() {
@@ -1,10 +1,9 @@
 package com.application.employee.service.controllers;
 
+import com.application.employee.service.config.JwtUserPrincipal;
 import com.application.employee.service.entities.Paystub;
-import com.application.employee.service.repositories.UserRepository;
 import com.application.employee.service.services.PaystubService;
 import com.application.employee.service.user.Role;
-import com.application.employee.service.user.User;
 import org.apache.tomcat.util.http.fileupload.FileUploadException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -12,7 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -29,9 +27,6 @@ public class PaystubController {
     @Autowired
     private PaystubService paystubService;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @PostMapping("/upload")
     @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
     public ResponseEntity<String> uploadPaystub(
@@ -52,8 +47,7 @@ public class PaystubController {
             @RequestParam(value = "ytdMedicare", required = false) String ytdMedicareStr) {
         try {
             // Get current user
-            String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-            User currentUser = userRepository.findByEmail(currentUserEmail)
+            JwtUserPrincipal currentUser = JwtUserPrincipal.current()
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             // Parse dates
@@ -126,8 +120,7 @@ public class PaystubController {
     public ResponseEntity<List<Paystub>> getPaystubsByEmployee(@PathVariable String employeeId) {
         try {
             // Get current user
-            String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-            User currentUser = userRepository.findByEmail(currentUserEmail)
+            JwtUserPrincipal currentUser = JwtUserPrincipal.current()
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             // Employees can only see their own paystubs
@@ -165,8 +158,7 @@ public class PaystubController {
             Paystub paystub = paystubService.getPaystubById(id);
             
             // Get current user
-            String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-            User currentUser = userRepository.findByEmail(currentUserEmail)
+            JwtUserPrincipal currentUser = JwtUserPrincipal.current()
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             // Employees can only access their own paystubs
@@ -188,8 +180,7 @@ public class PaystubController {
             Paystub paystub = paystubService.getPaystubById(id);
             
             // Get current user
-            String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-            User currentUser = userRepository.findByEmail(currentUserEmail)
+            JwtUserPrincipal currentUser = JwtUserPrincipal.current()
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             // Employees can only download their own paystubs
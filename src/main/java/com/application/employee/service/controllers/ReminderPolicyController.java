@@ -0,0 +1,87 @@
+package com.application.employee.service.controllers;
+
+import com.application.employee.service.entities.ReminderPolicy;
+import com.application.employee.service.entities.ScheduledJobRun;
+import com.application.employee.service.services.ReminderPolicyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/scheduling/reminder-policies")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'HR_MANAGER')")
+public class ReminderPolicyController {
+
+    private final ReminderPolicyService reminderPolicyService;
+
+    @GetMapping
+    public ResponseEntity<List<ReminderPolicy>> getPolicies(@RequestParam(required = false) Integer companyId) {
+        return ResponseEntity.ok(reminderPolicyService.getPolicies(companyId));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReminderPolicy> getPolicy(@PathVariable Long id) {
+        return ResponseEntity.ok(reminderPolicyService.getPolicy(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createPolicy(@RequestBody ReminderPolicy policy) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(reminderPolicyService.createPolicy(policy));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updatePolicy(@PathVariable Long id, @RequestBody ReminderPolicy policy) {
+        try {
+            return ResponseEntity.ok(reminderPolicyService.updatePolicy(id, policy));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletePolicy(@PathVariable Long id) {
+        reminderPolicyService.deletePolicy(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Upcoming occurrences and the recipients a run would remind right now; nothing is sent
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<Map<String, Object>> preview(@PathVariable Long id,
+                                                       @RequestParam(defaultValue = "5") int occurrences) {
+        return ResponseEntity.ok(reminderPolicyService.preview(id, occurrences));
+    }
+
+    @PostMapping("/{id}/run")
+    public ResponseEntity<Map<String, Object>> runNow(@PathVariable Long id,
+                                                      @RequestParam(defaultValue = "false") boolean dryRun) {
+        Map<String, Object> result = reminderPolicyService.runNow(id, dryRun);
+        return dryRun ? ResponseEntity.ok(result) : ResponseEntity.accepted().body(result);
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<Page<ScheduledJobRun>> getRuns(@RequestParam(required = false) Long policyId,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(reminderPolicyService.getRuns(policyId, page, size));
+    }
+
+    private ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
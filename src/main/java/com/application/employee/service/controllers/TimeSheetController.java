@@ -1,20 +1,36 @@
 package com.application.employee.service.controllers;
 
+import com.application.employee.service.Util.CsvWriter;
+import com.application.employee.service.Util.TabularWriter;
+import com.application.employee.service.Util.XlsxStreamWriter;
+import com.application.employee.service.config.CompanyScopeInterceptor;
+import com.application.employee.service.config.JwtUserPrincipal;
 import com.application.employee.service.dto.TimeSheetDTO;
+import com.application.employee.service.dto.TimeSheetExportFilter;
+import com.application.employee.service.dto.TimeSheetExportRow;
 import com.application.employee.service.dto.TimeSheetRequestDTO;
+import com.application.employee.service.dto.TimeSheetStatusChangeRequest;
+import com.application.employee.service.dto.TimeSheetUpsertResult;
 import com.application.employee.service.dto.TimeSheetsDTO;
 import com.application.employee.service.dto.UploadedFileDTO;
 import com.application.employee.service.entities.TimeSheet;
 import com.application.employee.service.entities.TimeSheetMaster;
+import com.application.employee.service.entities.TimeSheetMonthlyRollup;
+import com.application.employee.service.entities.TimeSheetStatusAudit;
+import com.application.employee.service.enums.TimeSheetTransition;
 import com.application.employee.service.services.EmployeeService;
 import com.application.employee.service.services.ProjectHistoryService;
 import com.application.employee.service.services.TimeSheetMasterService;
+import com.application.employee.service.services.TimeSheetRollupService;
 import com.application.employee.service.services.TimeSheetService;
 
 import java.io.FileNotFoundException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.core.io.Resource;
 import lombok.AllArgsConstructor;
 import org.apache.tomcat.util.http.fileupload.FileUploadException;
@@ -25,11 +41,15 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +63,9 @@ public class TimeSheetController {
     private final TimeSheetMasterService timeSheetMasterService;
     private final ProjectHistoryService projectHistoryService;
     private final TimeSheetService timeSheetService;
+    private final TimeSheetRollupService timeSheetRollupService;
+    private final CompanyScopeInterceptor companyScopeInterceptor;
+    private final ObjectMapper objectMapper;
 
     private final String UploadPath = "D:\\My Drive\\New folder";
 
@@ -54,6 +77,150 @@ public class TimeSheetController {
         return ResponseEntity.ok(timeSheets);
     }
 
+    /**
+     * Monthly grid feed streamed from one joined query. format=ndjson writes one JSON object per line,
+     * otherwise a JSON array with the same fields as getAllTimeSheetsByMonthYear.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<StreamingResponseBody> streamMonthlyFeed(
+            @RequestParam Integer month,
+            @RequestParam Integer year,
+            @RequestParam(required = false, defaultValue = "json") String format
+    ) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        // Resolved on the request thread; the body runs later on an async thread without the security context
+        List<Integer> companyIds = companyScopeInterceptor.resolveCurrentCompanyIds();
+
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            if (ndjson) {
+                generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            } else {
+                generator.writeStartArray();
+            }
+            try {
+                timeSheetService.streamMonthlyFeed(month, year, companyIds, row -> {
+                    try {
+                        objectMapper.writeValue(generator, row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+            generator.close();
+        };
+
+        MediaType mediaType = ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.APPLICATION_JSON;
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    /**
+     * Streams timesheets pivoted to one line per employee/project/month with a column per day.
+     * format=xlsx returns a workbook, anything else CSV. Runs in constant memory for any period size.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportTimeSheets(TimeSheetExportFilter filter) {
+        String problem = filter.validate();
+        if (problem != null) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                    .body(outputStream -> outputStream.write(problem.getBytes(StandardCharsets.UTF_8)));
+        }
+        boolean xlsx = "xlsx".equalsIgnoreCase(filter.getFormat());
+        List<Integer> companyIds = companyScopeInterceptor.resolveCurrentCompanyIds();
+
+        StreamingResponseBody body = outputStream -> {
+            try (TabularWriter writer = xlsx ? new XlsxStreamWriter(outputStream, "Timesheets") : new CsvWriter(outputStream)) {
+                writer.writeRow(exportHeader());
+                timeSheetService.exportTimeSheets(filter, companyIds, row -> {
+                    try {
+                        writer.writeRow(exportCells(row));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        String fileName = String.format("timesheets-%d-%02d.%s", filter.getYear(), filter.getMonth(), xlsx ? "xlsx" : "csv");
+        MediaType mediaType = xlsx
+                ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                : MediaType.parseMediaType("text/csv");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(mediaType)
+                .body(body);
+    }
+
+    private static List<Object> exportHeader() {
+        List<Object> header = new ArrayList<>(List.of("Year", "Month", "Employee ID", "Employee Name", "Company",
+                "Project ID", "Project"));
+        for (int day = 1; day <= TimeSheetExportRow.MAX_DAYS; day++) {
+            header.add(String.valueOf(day));
+        }
+        header.addAll(List.of("Regular Hours", "Overtime Hours", "Total Hours", "Status"));
+        return header;
+    }
+
+    private static List<Object> exportCells(TimeSheetExportRow row) {
+        List<Object> cells = new ArrayList<>(TimeSheetExportRow.MAX_DAYS + 11);
+        cells.addAll(Arrays.asList(row.getYear(), row.getMonth(), row.getEmployeeId(), row.getEmployeeName(),
+                row.getCompanyName(), row.getProjectId(), row.getProjectName()));
+        cells.addAll(Arrays.asList(row.getDayHours()));
+        cells.addAll(List.of(row.getRegularTotal(), row.getOvertimeTotal(), row.getRegularTotal() + row.getOvertimeTotal()));
+        cells.add(row.getStatus());
+        return cells;
+    }
+
+    /**
+     * Bulk approve, reject or reopen timesheet days. Returns matched/changed master counts and updated days.
+     */
+    @PostMapping("/status/{action}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'GROUP_ADMIN', 'HR_MANAGER')")
+    public ResponseEntity<?> changeStatus(@PathVariable String action, @RequestBody TimeSheetStatusChangeRequest request) {
+        TimeSheetTransition transition;
+        try {
+            transition = TimeSheetTransition.valueOf(action.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Unknown action: " + action + ". Use approve, reject or reopen");
+        }
+        try {
+            String changedBy = JwtUserPrincipal.current().map(JwtUserPrincipal::getEmail).orElse(null);
+            return ResponseEntity.ok(timeSheetService.changeStatus(transition, request, changedBy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{masterId}/status-history")
+    public List<TimeSheetStatusAudit> getStatusHistory(@PathVariable Integer masterId) {
+        return timeSheetService.getStatusHistory(masterId);
+    }
+
+    @GetMapping("/rollups")
+    public List<TimeSheetMonthlyRollup> getMonthlyRollups(@RequestParam Integer month, @RequestParam Integer year) {
+        return timeSheetRollupService.getMonthlyRollups(month, year);
+    }
+
+    @GetMapping("/rollups/employee/{employeeId}")
+    public List<TimeSheetMonthlyRollup> getEmployeeRollups(@PathVariable String employeeId, @RequestParam Integer year) {
+        return timeSheetRollupService.getEmployeeRollups(employeeId, year);
+    }
+
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('SADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildRollups() {
+        int masters = timeSheetRollupService.rebuildAll();
+        return ResponseEntity.ok(Map.of("mastersProcessed", masters));
+    }
+
     @PostMapping("/create")
     public String createTimeSheetMasterForEmployeeAndProject(
             @RequestParam(value = "employeeId") String employeeId,
@@ -94,24 +261,10 @@ public class TimeSheetController {
     public ResponseEntity<String> createTimeSheet(@RequestBody ArrayList<TimeSheetDTO> timeSheetDTOs) {
         List<String> issues = new ArrayList<>();
 
-        for (TimeSheetDTO dto : timeSheetDTOs) {
-            System.out.printf("Incoming DTO -> EmployeeId: %s, ProjectHistoryId: %s%n",
-                    dto.getEmployeeId(), dto.getProjectId());
-
-            if (dto.getEmployeeId() == null || dto.getEmployeeId().isBlank()) {
-                issues.add("❌ Skipped: EmployeeId missing for ProjectHistoryId " + dto.getProjectId());
-                continue;
-            }
-
-            if (dto.getProjectId() == null || dto.getProjectId().isBlank()) {
-                issues.add("❌ Skipped: ProjectId missing for EmployeeId " + dto.getEmployeeId());
-                continue;
-            }
-
-            try {
-                timeSheetService.saveTimeSheet(dto);
-            } catch (Exception e) {
-                issues.add("❌ Failed for EmployeeId " + dto.getEmployeeId() + ": " + e.getMessage());
+        for (TimeSheetUpsertResult result : timeSheetService.saveTimeSheets(timeSheetDTOs)) {
+            if ("SKIPPED".equals(result.getOutcome()) || "FAILED".equals(result.getOutcome())) {
+                String label = "SKIPPED".equals(result.getOutcome()) ? "❌ Skipped: " : "❌ Failed for EmployeeId " + result.getEmployeeId() + ": ";
+                issues.add(label + result.getMessage() + " (row " + result.getRowNumber() + ")");
             }
         }
 
@@ -122,6 +275,11 @@ public class TimeSheetController {
         return ResponseEntity.badRequest().body(String.join("\n", issues));
     }
 
+    @PostMapping("/createTimeSheet/detailed")
+    public ResponseEntity<List<TimeSheetUpsertResult>> createTimeSheetDetailed(@RequestBody ArrayList<TimeSheetDTO> timeSheetDTOs) {
+        return ResponseEntity.ok(timeSheetService.saveTimeSheets(timeSheetDTOs));
+    }
+
     @PostMapping("/createSheet")
     public ResponseEntity<String> createSheet(
             @RequestBody ArrayList<TimeSheetDTO> timeSheetDTOs
@@ -19,9 +19,13 @@ public class TimesheetReminderController {
 
     @PostMapping("/send")
     @PreAuthorize("hasAnyRole('ADMIN', 'SADMIN', 'HR_MANAGER')")
-    public ResponseEntity<Map<String, Object>> sendReminders(@RequestBody TimesheetReminderRequest request) {
+    public ResponseEntity<Map<String, Object>> sendReminders(@RequestBody TimesheetReminderRequest request,
+                                                             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            request.setIdempotencyKey(idempotencyKey);
+        }
         Map<String, Object> result = timesheetReminderService.sendReminders(request);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.accepted().body(result);
     }
 
     @GetMapping("/pending")
@@ -0,0 +1,22 @@
+package com.application.employee.service.dto;
+
+import com.application.employee.service.entities.Announcement;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of an employee's announcement feed, newest first. Pass nextCursor back to get the page
+ * after this one; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnnouncementFeedPage {
+    private List<Announcement> announcements;
+    private String nextCursor;
+    private boolean hasMore;
+    private long unreadCount;
+}
@@ -0,0 +1,27 @@
+package com.application.employee.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delivery counters of a campaign, counted from its recipient rows.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CampaignProgress {
+    private Long campaignId;
+    private String status;
+    private LocalDateTime scheduledAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private long total;
+    private long pending;
+    private long sent;
+    private long failed;
+    private long suppressed;
+    private double percentComplete;
+}
@@ -0,0 +1,54 @@
+package com.application.employee.service.dto;
+
+import com.application.employee.service.enums.ContactListType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Progress of a background contact import. Counters are written by the import thread and read by
+ * status requests, so they are volatile.
+ */
+@Getter
+@Setter
+public class ContactImportJob {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final int MAX_ERRORS = 100;
+
+    private final String jobId;
+    private final ContactListType listType;
+    private final String fileName;
+    private final boolean updateExisting;
+    private volatile String status = QUEUED;
+    private volatile int rowsRead;
+    private volatile int created;
+    private volatile int updated;
+    private volatile int skippedExisting;
+    private volatile int duplicatesInFile;
+    private volatile int invalid;
+    private volatile String error;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long durationMs;
+    private final List<String> rowErrors = new CopyOnWriteArrayList<>();
+
+    public ContactImportJob(String jobId, ContactListType listType, String fileName, boolean updateExisting) {
+        this.jobId = jobId;
+        this.listType = listType;
+        this.fileName = fileName;
+        this.updateExisting = updateExisting;
+    }
+
+    public void addRowError(int rowNumber, String message) {
+        if (rowErrors.size() < MAX_ERRORS) {
+            rowErrors.add("Row " + rowNumber + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.application.employee.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeImportReport {
+    private int totalRows;
+    private int createdCount;
+    private int skippedCount;
+    private int failedCount;
+    private long durationMs;
+    private List<EmployeeImportRowResult> rows;
+}
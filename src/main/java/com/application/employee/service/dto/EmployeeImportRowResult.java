@@ -0,0 +1,18 @@
+package com.application.employee.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeImportRowResult {
+    private int rowNumber;
+    private String emailID;
+    private String employeeID;
+    private String status; // CREATED, SKIPPED, FAILED
+    private String message;
+}
@@ -0,0 +1,28 @@
+package com.application.employee.service.dto;
+
+import com.application.employee.service.entities.MailOutbox;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Delivery progress of one outbox job; {@code complete} once no message is pending or sending.
+ * {@code recipients} and {@code delivered} count individual addresses across the job's messages.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MailJobStatus {
+    private String jobId;
+    private int total;
+    private int pending;
+    private int sending;
+    private int sent;
+    private int dead;
+    private int recipients;
+    private int delivered;
+    private boolean complete;
+    private List<MailOutbox> messages;
+}
@@ -0,0 +1,16 @@
+package com.application.employee.service.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class PayrollRunRequest {
+    private Integer companyId;
+    private LocalDate payPeriodStart;
+    private LocalDate payPeriodEnd;
+    private LocalDate payDate;
+    // Applied to approved overtime hours; defaults to 1.5
+    private BigDecimal overtimeMultiplier;
+}
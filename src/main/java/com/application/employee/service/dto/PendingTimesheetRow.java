@@ -0,0 +1,26 @@
+package com.application.employee.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A timesheet master with at least one day not yet submitted or approved (or no days at all),
+ * with the employee and project columns used by the reminder screens.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PendingTimesheetRow {
+    private Integer masterId;
+    private String employeeId;
+    private String firstName;
+    private String lastName;
+    private String employeeEmail;
+    private String projectId;
+    private String projectName;
+    private Integer month;
+    private Integer year;
+}
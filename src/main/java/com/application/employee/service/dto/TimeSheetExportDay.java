@@ -0,0 +1,31 @@
+package com.application.employee.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.sql.Date;
+
+/**
+ * One timesheet day with its master's employee, company and project columns, as read by the export cursor.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimeSheetExportDay {
+    private Integer masterId;
+    private Integer month;
+    private Integer year;
+    private String employeeId;
+    private String firstName;
+    private String lastName;
+    private String companyName;
+    private String projectId;
+    private String projectName;
+    private Date date;
+    private Double regularHours;
+    private Double overTimeHours;
+    private String status;
+}
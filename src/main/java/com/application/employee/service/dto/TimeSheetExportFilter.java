@@ -0,0 +1,39 @@
+package com.application.employee.service.dto;
+
+import lombok.Data;
+
+/**
+ * Query parameters of the timesheet export. The period runs from month/year to toMonth/toYear
+ * inclusive; without an end the single month is exported. Other filters are optional.
+ */
+@Data
+public class TimeSheetExportFilter {
+    private Integer month;
+    private Integer year;
+    private Integer toMonth;
+    private Integer toYear;
+    private Integer companyId;
+    private String projectId;
+    private String employeeId;
+    private String status;
+    private String format;
+
+    /** Returns a problem description, or null when the filter can be exported. */
+    public String validate() {
+        if (month == null || year == null) {
+            return "Month and Year are required";
+        }
+        if (toPeriod() < fromPeriod()) {
+            return "The end of the period is before its start";
+        }
+        return null;
+    }
+
+    public int fromPeriod() {
+        return year * 100 + month;
+    }
+
+    public int toPeriod() {
+        return toYear != null && toMonth != null ? toYear * 100 + toMonth : fromPeriod();
+    }
+}
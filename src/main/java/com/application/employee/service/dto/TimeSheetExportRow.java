@@ -0,0 +1,27 @@
+package com.application.employee.service.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One exported line: a timesheet master with its days pivoted into {@link #dayHours}
+ * (index 0 is day 1, regular plus overtime hours, null when no entry).
+ */
+@Getter
+@Setter
+public class TimeSheetExportRow {
+    public static final int MAX_DAYS = 31;
+
+    private Integer masterId;
+    private Integer month;
+    private Integer year;
+    private String employeeId;
+    private String employeeName;
+    private String companyName;
+    private String projectId;
+    private String projectName;
+    private final Double[] dayHours = new Double[MAX_DAYS];
+    private double regularTotal;
+    private double overtimeTotal;
+    private String status;
+}
@@ -0,0 +1,28 @@
+package com.application.employee.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.sql.Date;
+
+/**
+ * Flat timesheet row with the master's employee and project already joined in.
+ * Field names match the TimeSheet JSON so existing grid clients can consume either.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimeSheetFeedRow {
+    private Integer sheetId;
+    private Integer masterId;
+    private String empId;
+    private String projectId;
+    private Date date;
+    private Double regularHours;
+    private Double overTimeHours;
+    private String status;
+    private String notes;
+}
@@ -0,0 +1,19 @@
+package com.application.employee.service.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Selects the timesheet masters of a bulk status change: explicit masterIds, or month/year
+ * combined with a companyId and/or a list of employeeIds.
+ */
+@Data
+public class TimeSheetStatusChangeRequest {
+    private List<Integer> masterIds;
+    private Integer companyId;
+    private List<String> employeeIds;
+    private Integer month;
+    private Integer year;
+    private String comment;
+}
@@ -0,0 +1,21 @@
+package com.application.employee.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimeSheetStatusChangeResult {
+    private String action;
+    private String toStatus;
+    private int mastersMatched;
+    private int mastersChanged;
+    private int daysUpdated;
+    private List<Integer> changedMasterIds;
+}
@@ -0,0 +1,22 @@
+package com.application.employee.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.sql.Date;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimeSheetUpsertResult {
+    private int rowNumber;
+    private String employeeId;
+    private String projectId;
+    private Date date;
+    private Integer masterId;
+    private String outcome; // CREATED, UPDATED, UNCHANGED, SKIPPED, FAILED
+    private String message;
+}
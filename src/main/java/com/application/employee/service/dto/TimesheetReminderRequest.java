@@ -17,5 +17,8 @@ public class TimesheetReminderRequest {
     private String message;
     private Integer month; // Optional: filter by month
     private Integer year; // Optional: filter by year
+    private String idempotencyKey; // Optional: repeats with the same key return the first job
+    private Integer companyId; // Optional: only employees of this company when employeeIds is empty
+    private boolean dryRun; // Resolve and report recipients without queueing any mail
 }
 
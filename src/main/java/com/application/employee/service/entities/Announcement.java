@@ -1,5 +1,8 @@
 package com.application.employee.service.entities;
 
+import com.application.employee.service.user.Role;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -9,14 +12,29 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * An announcement and the rule that decides who sees it. Only EXPLICIT announcements store one
+ * announcement_recipients row per employee; the other audiences are matched when the feed is read,
+ * within the announcement's company. Only SADMIN announcements may leave the company unset and reach
+ * every company.
+ */
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "announcements")
+@Table(name = "announcements", indexes = {
+        @Index(name = "IDX_ANNOUNCEMENT_CREATED", columnList = "createdAt, id"),
+        @Index(name = "IDX_ANNOUNCEMENT_AUDIENCE", columnList = "AUDIENCE_TYPE, AUDIENCE_COMPANY_ID")
+})
 public class Announcement {
 
+    public static final String AUDIENCE_ALL = "ALL";
+    public static final String AUDIENCE_COMPANY = "COMPANY";
+    public static final String AUDIENCE_ROLE = "ROLE";
+    public static final String AUDIENCE_REPORTING_MANAGER = "REPORTING_MANAGER";
+    public static final String AUDIENCE_EXPLICIT = "EXPLICIT";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,6 +50,28 @@ public class Announcement {
 
     private String createdBy;
 
+    @Column(name = "AUDIENCE_TYPE", length = 32)
+    private String audienceType;
+
+    // Company the announcement belongs to; every rule but EXPLICIT is limited to its employees
+    @Column(name = "AUDIENCE_COMPANY_ID")
+    private Integer audienceCompanyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "AUDIENCE_ROLE")
+    private Role audienceRole;
+
+    // User id of the manager whose direct reports (employees.REPORTING_MANAGER_ID) see the announcement
+    @Column(name = "AUDIENCE_MANAGER_ID")
+    private String audienceManagerId;
+
+    // Membership of EXPLICIT announcements; read state lives in announcement_reads
+    @JsonIgnore
     @OneToMany(mappedBy = "announcement", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<AnnouncementRecipient> recipients;
+
+    // Set on feed reads for the employee the feed is for
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Boolean readStatus;
 }
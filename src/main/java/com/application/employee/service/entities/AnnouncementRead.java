@@ -0,0 +1,38 @@
+package com.application.employee.service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read receipt: a row exists only once an employee has read an announcement, so audiences of any
+ * size cost nothing until people actually read.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "announcement_reads",
+        uniqueConstraints = @UniqueConstraint(name = "UK_ANNOUNCEMENT_READ", columnNames = {"ANNOUNCEMENT_ID", "EMPLOYEE_ID"}),
+        indexes = @Index(name = "IDX_ANNOUNCEMENT_READ_EMPLOYEE", columnList = "EMPLOYEE_ID"))
+public class AnnouncementRead {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "ANNOUNCEMENT_ID", nullable = false)
+    private Long announcementId;
+
+    @Column(name = "EMPLOYEE_ID", nullable = false)
+    private String employeeId;
+
+    @Column(name = "READ_AT", nullable = false)
+    private LocalDateTime readAt;
+}
@@ -11,7 +11,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "announcement_recipients")
+@Table(name = "announcement_recipients", indexes = @Index(name = "IDX_ANNOUNCEMENT_RECIPIENT_EMPLOYEE", columnList = "employeeId, announcement_id"))
 public class AnnouncementRecipient {
 
     @Id
@@ -20,6 +20,7 @@ public class AnnouncementRecipient {
 
     private String employeeId;
 
+    // Superseded by announcement_reads; true values are copied there at startup
     private boolean readStatus = false;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,28 @@
+package com.application.employee.service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker for a one-off data migration that has been applied to this database. Written by DataMigrations.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "applied_migrations")
+public class AppliedMigration {
+
+    @Id
+    @Column(name = "MIGRATION_ID", length = 100)
+    private String migrationId;
+
+    @Column(name = "APPLIED_AT", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -1,17 +1,28 @@
 package com.application.employee.service.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "campaigns")
+@Table(name = "campaigns", indexes = @Index(name = "IDX_CAMPAIGN_STATUS", columnList = "status, scheduledAt"))
 public class Campaign {
 
+    public static final String DRAFT = "DRAFT";
+    public static final String SCHEDULED = "SCHEDULED";
+    public static final String SENDING = "SENDING";
+    public static final String PAUSED = "PAUSED";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String CANCELLED = "CANCELLED";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -20,12 +31,51 @@ public class Campaign {
 
     private String senderEmail;
 
-    @Column(length = 2000)
+    // Recipients live in campaign_recipients. This accepts (and on single reads returns) the comma-separated
+    // list the API has always used, without the old column's 2,000 character limit.
+    @Transient
     private String recipients;
 
+    // Pre-normalisation column, moved into campaign_recipients at startup and then cleared
+    @JsonIgnore
+    @Column(name = "recipients", length = 2000)
+    private String legacyRecipients;
+
     private String subject;
 
     @Column(length = 5000)
     private String body;
-}
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String status;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime scheduledAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime startedAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime completedAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer totalRecipients;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer sentCount;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer failedCount;
+
+    // Id of the last recipient row handled in the current pass; a restarted send continues after it
+    @JsonIgnore
+    private Long lastCheckpointId;
+
+    // Heartbeat of the node delivering the campaign; a stale value lets another node take over
+    @JsonIgnore
+    private LocalDateTime lockedAt;
+
+    // Set by each claim; the delivering node's writes require it, so a node that lost the campaign stops
+    @JsonIgnore
+    private String claimToken;
+}
@@ -0,0 +1,55 @@
+package com.application.employee.service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One normalised (trimmed, lower-cased) address of a campaign with its delivery state. Written and
+ * updated in JDBC batches by CampaignServiceImpl and CampaignDispatcher; mapped here for reading.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "campaign_recipients",
+        uniqueConstraints = @UniqueConstraint(name = "UK_CAMPAIGN_RECIPIENT", columnNames = {"CAMPAIGN_ID", "EMAIL"}),
+        indexes = @Index(name = "IDX_CAMPAIGN_RECIPIENT_STATUS", columnList = "CAMPAIGN_ID, STATUS, ID"))
+public class CampaignRecipient {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+    public static final String SUPPRESSED = "SUPPRESSED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "CAMPAIGN_ID", nullable = false)
+    private Long campaignId;
+
+    @Column(name = "EMAIL", nullable = false)
+    private String email;
+
+    @Column(name = "STATUS", nullable = false, length = 16)
+    private String status;
+
+    @Column(name = "ATTEMPTS", nullable = false)
+    private int attempts;
+
+    @Column(name = "LAST_STATUS_CODE")
+    private Integer lastStatusCode;
+
+    @Column(name = "LAST_ERROR", length = 1000)
+    private String lastError;
+
+    @Column(name = "SENT_AT")
+    private LocalDateTime sentAt;
+}
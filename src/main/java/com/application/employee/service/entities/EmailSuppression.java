@@ -0,0 +1,47 @@
+package com.application.employee.service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Address that bulk sends must skip, stored lower-cased. Written through SuppressionList, which keeps
+ * the in-memory copy used to filter recipients.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "email_suppressions", uniqueConstraints = @UniqueConstraint(name = "UK_EMAIL_SUPPRESSION", columnNames = "EMAIL"))
+public class EmailSuppression {
+
+    public static final String BOUNCE = "BOUNCE";
+    public static final String UNSUBSCRIBE = "UNSUBSCRIBE";
+    public static final String SPAM_REPORT = "SPAM_REPORT";
+    public static final String MANUAL = "MANUAL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "EMAIL", nullable = false)
+    private String email;
+
+    @Column(name = "REASON", nullable = false, length = 32)
+    private String reason;
+
+    @Column(name = "DETAIL", length = 1000)
+    private String detail;
+
+    @Column(name = "CREATED_BY")
+    private String createdBy;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -13,16 +13,35 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = @Index(name = "IDX_EMPLOYEES_COMPANY_ID", columnList = "COMPANY_ID"))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@FilterDef(name = Employee.COMPANY_FILTER, parameters = @ParamDef(name = Employee.COMPANY_FILTER_PARAM, type = Integer.class))
+@Filter(name = Employee.COMPANY_FILTER, condition = "{alias}.COMPANY_ID IN (:" + Employee.COMPANY_FILTER_PARAM + ")",
+        deduceAliasInjectionPoints = false)
 public class Employee {
 
+    /**
+     * Tenant filter restricting employees (and the entities owned by an employee) to the
+     * companies the current caller is scoped to. Enabled per request by CompanyScopeInterceptor.
+     */
+    public static final String COMPANY_FILTER = "companyFilter";
+    public static final String COMPANY_FILTER_PARAM = "companyIds";
+
+    /**
+     * Filter condition for entities that reference an employee through an employee_id column.
+     */
+    public static final String EMPLOYEE_COMPANY_CONDITION =
+            "{alias}.employee_id IN (SELECT scoped.ID FROM employees scoped WHERE scoped.COMPANY_ID IN (:" + COMPANY_FILTER_PARAM + "))";
+
     @Id
     @Column(name = "ID")
     private String employeeID;
@@ -0,0 +1,93 @@
+package com.application.employee.service.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outgoing email waiting for (or done with) delivery. Rows are written in the caller's transaction
+ * and drained by MailOutboxWorker; messages enqueued together share a JOB_ID that callers poll.
+ * PAYLOAD is blanked once a row is SENT, and on DEAD rows once they are past the retry window.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "IDX_MAIL_OUTBOX_DUE", columnList = "STATUS, NEXT_ATTEMPT_AT"),
+        @Index(name = "IDX_MAIL_OUTBOX_JOB", columnList = "JOB_ID")
+})
+public class MailOutbox {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENDING = "SENDING";
+    public static final String SENT = "SENT";
+    public static final String DEAD = "DEAD";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "JOB_ID", nullable = false, length = 36)
+    private String jobId;
+
+    @Column(name = "IDEMPOTENCY_KEY", unique = true)
+    private String idempotencyKey;
+
+    @Column(name = "CATEGORY")
+    private String category;
+
+    @Column(name = "FROM_EMAIL")
+    private String fromEmail;
+
+    @Column(name = "RECIPIENTS", length = 2000)
+    private String recipients;
+
+    @Column(name = "RECIPIENT_COUNT")
+    private Integer recipientCount;
+
+    @Column(name = "DELIVERED_COUNT")
+    private Integer deliveredCount;
+
+    @Column(name = "SUBJECT", length = 1000)
+    private String subject;
+
+    @JsonIgnore
+    @Lob
+    @Column(name = "PAYLOAD", nullable = false, columnDefinition = "LONGTEXT")
+    private String payload;
+
+    @Column(name = "STATUS", nullable = false, length = 16)
+    private String status;
+
+    @Column(name = "ATTEMPTS", nullable = false)
+    private int attempts;
+
+    @Column(name = "NEXT_ATTEMPT_AT")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "LOCKED_AT")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "LAST_STATUS_CODE")
+    private Integer lastStatusCode;
+
+    @Column(name = "LAST_ERROR", length = 2000)
+    private String lastError;
+
+    @Column(name = "CREATED_BY")
+    private String createdBy;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "SENT_AT")
+    private LocalDateTime sentAt;
+}
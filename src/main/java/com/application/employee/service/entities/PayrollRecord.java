@@ -2,6 +2,7 @@ package com.application.employee.service.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Filter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,6 +19,7 @@ import java.util.Map;
 @AllArgsConstructor
 @Entity
 @Table(name = "payroll_records")
+@Filter(name = Employee.COMPANY_FILTER, condition = Employee.EMPLOYEE_COMPANY_CONDITION, deduceAliasInjectionPoints = false)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class PayrollRecord {
 
@@ -0,0 +1,78 @@
+package com.application.employee.service.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Filter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A company's payroll for one pay period, computed from approved timesheet hours.
+ * Runs start as DRAFT for review and become FINALIZED once payroll records are generated from their items.
+ * A company has at most one run per pay period; recomputing a draft replaces it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "payroll_runs", uniqueConstraints = @UniqueConstraint(name = "UK_PAYROLL_RUNS_COMPANY_PERIOD",
+        columnNames = {"COMPANY_ID", "PAY_PERIOD_START", "PAY_PERIOD_END"}))
+@Filter(name = Employee.COMPANY_FILTER, condition = "{alias}.COMPANY_ID IN (:" + Employee.COMPANY_FILTER_PARAM + ")",
+        deduceAliasInjectionPoints = false)
+public class PayrollRun {
+
+    public static final String DRAFT = "DRAFT";
+    public static final String FINALIZED = "FINALIZED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "COMPANY_ID", nullable = false)
+    private Integer companyId;
+
+    @Column(name = "PAY_PERIOD_START", nullable = false)
+    private LocalDate payPeriodStart;
+
+    @Column(name = "PAY_PERIOD_END", nullable = false)
+    private LocalDate payPeriodEnd;
+
+    @Column(name = "PAY_DATE", nullable = false)
+    private LocalDate payDate;
+
+    @Column(name = "OVERTIME_MULTIPLIER", precision = 4, scale = 2)
+    private BigDecimal overtimeMultiplier;
+
+    @Column(name = "STATUS", nullable = false)
+    private String status;
+
+    @Column(name = "EMPLOYEE_COUNT")
+    private Integer employeeCount;
+
+    @Column(name = "TOTAL_GROSS_PAY", precision = 12, scale = 2)
+    private BigDecimal totalGrossPay;
+
+    @Column(name = "CREATED_BY")
+    private String createdBy;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "FINALIZED_AT")
+    private LocalDateTime finalizedAt;
+
+    @OneToMany(mappedBy = "run", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("employeeName")
+    private List<PayrollRunItem> items = new ArrayList<>();
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
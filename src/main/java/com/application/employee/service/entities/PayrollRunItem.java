@@ -0,0 +1,89 @@
+package com.application.employee.service.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * One employee's line in a {@link PayrollRun}: approved hours, the rate applied and where it came from,
+ * and the taxes from the regular payroll calculation.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "payroll_run_items", indexes = @Index(name = "IDX_PAYROLL_RUN_ITEMS_RUN", columnList = "RUN_ID"))
+public class PayrollRunItem {
+
+    public static final String READY = "READY";
+    public static final String SKIPPED = "SKIPPED";
+    public static final String ERROR = "ERROR";
+    public static final String FINALIZED = "FINALIZED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnore
+    @JoinColumn(name = "RUN_ID", nullable = false)
+    private PayrollRun run;
+
+    @Column(name = "EMPLOYEE_ID", nullable = false)
+    private String employeeId;
+
+    @Column(name = "EMPLOYEE_NAME")
+    private String employeeName;
+
+    @Column(name = "REGULAR_HOURS", precision = 10, scale = 2)
+    private BigDecimal regularHours;
+
+    @Column(name = "OVERTIME_HOURS", precision = 10, scale = 2)
+    private BigDecimal overtimeHours;
+
+    @Column(name = "RATE", precision = 10, scale = 2)
+    private BigDecimal rate;
+
+    @Column(name = "RATE_SOURCE")
+    private String rateSource;
+
+    @Column(name = "GROSS_PAY", precision = 10, scale = 2)
+    private BigDecimal grossPay;
+
+    @Column(name = "FEDERAL_TAX", precision = 10, scale = 2)
+    private BigDecimal federalTax;
+
+    @Column(name = "STATE_TAX", precision = 10, scale = 2)
+    private BigDecimal stateTax;
+
+    @Column(name = "LOCAL_TAX", precision = 10, scale = 2)
+    private BigDecimal localTax;
+
+    @Column(name = "SOCIAL_SECURITY", precision = 10, scale = 2)
+    private BigDecimal socialSecurity;
+
+    @Column(name = "MEDICARE", precision = 10, scale = 2)
+    private BigDecimal medicare;
+
+    @Column(name = "ADDITIONAL_MEDICARE", precision = 10, scale = 2)
+    private BigDecimal additionalMedicare;
+
+    @Column(name = "TOTAL_TAXES", precision = 10, scale = 2)
+    private BigDecimal totalTaxes;
+
+    @Column(name = "NET_PAY", precision = 10, scale = 2)
+    private BigDecimal netPay;
+
+    @Column(name = "STATUS", nullable = false)
+    private String status;
+
+    @Column(name = "MESSAGE", length = 1000)
+    private String message;
+
+    @Column(name = "PAYROLL_RECORD_ID")
+    private Long payrollRecordId;
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Filter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,6 +19,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Entity
 @Table(name = "project_history")
+@Filter(name = Employee.COMPANY_FILTER, condition = Employee.EMPLOYEE_COMPANY_CONDITION, deduceAliasInjectionPoints = false)
 public class ProjectHistory {
     @Id
     @Column(name = "ID")
@@ -0,0 +1,57 @@
+package com.application.employee.service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rotating refresh token. Only the SHA-256 hash of the token is stored; every token issued
+ * from the same login shares a family id so a replayed token can revoke the whole chain.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "IDX_REFRESH_TOKENS_HASH", columnList = "TOKEN_HASH", unique = true),
+        @Index(name = "IDX_REFRESH_TOKENS_FAMILY", columnList = "FAMILY_ID"),
+        @Index(name = "IDX_REFRESH_TOKENS_USER", columnList = "USER_ID")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "USER_ID", nullable = false)
+    private String userId;
+
+    @Column(name = "TOKEN_HASH", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "FAMILY_ID", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "EXPIRES_AT", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Set when the token is exchanged; a second exchange is treated as reuse
+    @Column(name = "USED_AT")
+    private LocalDateTime usedAt;
+
+    @Column(name = "REVOKED", nullable = false)
+    private boolean revoked;
+
+    @Column(name = "CREATED_AT", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,88 @@
+package com.application.employee.service.entities;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recurring job for a company (or every company when COMPANY_ID is null). CRON_EXPRESSION is a Spring
+ * six-field cron evaluated in ZONE_ID; when LAST_BUSINESS_DAYS is set, only occurrences that fall on the
+ * last N weekdays of their month fire. NEXT_RUN_AT is the next occurrence and is advanced by the node
+ * that claims it.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "reminder_policies", indexes = {
+        @Index(name = "IDX_REMINDER_POLICY_DUE", columnList = "ENABLED, NEXT_RUN_AT"),
+        @Index(name = "IDX_REMINDER_POLICY_COMPANY", columnList = "COMPANY_ID")
+})
+public class ReminderPolicy {
+
+    public static final String TIMESHEET_REMINDER = "TIMESHEET_REMINDER";
+    public static final String CURRENT_MONTH = "CURRENT_MONTH";
+    public static final String PREVIOUS_MONTH = "PREVIOUS_MONTH";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "NAME", nullable = false)
+    private String name;
+
+    @Column(name = "JOB_TYPE", nullable = false, length = 32)
+    private String jobType;
+
+    @Column(name = "COMPANY_ID")
+    private Integer companyId;
+
+    @Column(name = "CRON_EXPRESSION", nullable = false, length = 120)
+    private String cronExpression;
+
+    @Column(name = "ZONE_ID", length = 64)
+    private String zoneId;
+
+    @Column(name = "LAST_BUSINESS_DAYS")
+    private Integer lastBusinessDays;
+
+    // Which month's timesheets the reminder is about, relative to the day it fires
+    @Column(name = "PERIOD", length = 16)
+    private String period;
+
+    @Column(name = "SUBJECT", length = 1000)
+    private String subject;
+
+    @Column(name = "MESSAGE", length = 5000)
+    private String message;
+
+    @Column(name = "ENABLED", nullable = false)
+    private boolean enabled;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "NEXT_RUN_AT")
+    private LocalDateTime nextRunAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "LAST_RUN_AT")
+    private LocalDateTime lastRunAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "CREATED_BY")
+    private String createdBy;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "CREATED_AT")
+    private LocalDateTime createdAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "UPDATED_AT")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,78 @@
+package com.application.employee.service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * History of reminder policy runs, scheduled or started by hand. Dry runs are previews and are not recorded.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "scheduled_job_runs", indexes = @Index(name = "IDX_JOB_RUN_POLICY", columnList = "POLICY_ID, ID"))
+public class ScheduledJobRun {
+
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String SKIPPED = "SKIPPED";
+    public static final String SCHEDULE = "SCHEDULE";
+    public static final String MANUAL = "MANUAL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "POLICY_ID", nullable = false)
+    private Long policyId;
+
+    @Column(name = "JOB_TYPE", nullable = false, length = 32)
+    private String jobType;
+
+    @Column(name = "COMPANY_ID")
+    private Integer companyId;
+
+    @Column(name = "TRIGGER_TYPE", nullable = false, length = 16)
+    private String triggerType;
+
+    @Column(name = "TRIGGERED_BY")
+    private String triggeredBy;
+
+    // The occurrence this run was for; for manual runs the time it was started
+    @Column(name = "SCHEDULED_FOR")
+    private LocalDateTime scheduledFor;
+
+    @Column(name = "STARTED_AT", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "FINISHED_AT")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "STATUS", nullable = false, length = 16)
+    private String status;
+
+    @Column(name = "PERIOD_MONTH")
+    private Integer periodMonth;
+
+    @Column(name = "PERIOD_YEAR")
+    private Integer periodYear;
+
+    @Column(name = "RECIPIENT_COUNT")
+    private Integer recipientCount;
+
+    @Column(name = "SKIPPED_COUNT")
+    private Integer skippedCount;
+
+    @Column(name = "MAIL_JOB_ID", length = 36)
+    private String mailJobId;
+
+    @Column(name = "ERROR", length = 2000)
+    private String error;
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "TIME_SHEET")
+@Table(name = "TIME_SHEET", uniqueConstraints = @UniqueConstraint(
+        name = "UK_TIME_SHEET_MASTER_DATE", columnNames = {"MASTER_ID", "DATE"}))
 public class TimeSheet {
 
     @Id
@@ -2,6 +2,7 @@ package com.application.employee.service.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Filter;
 import lombok.*;
 
 @Data
@@ -9,6 +10,7 @@ import lombok.*;
 @NoArgsConstructor
 @Entity
 @Table(name = "timesheet_master")
+@Filter(name = Employee.COMPANY_FILTER, condition = Employee.EMPLOYEE_COMPANY_CONDITION, deduceAliasInjectionPoints = false)
 public class TimeSheetMaster {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
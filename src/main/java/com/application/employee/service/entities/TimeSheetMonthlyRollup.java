@@ -0,0 +1,62 @@
+package com.application.employee.service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Filter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated hours of one timesheet master (employee, project, month). Rows are written only by
+ * {@link com.application.employee.service.services.TimeSheetRollupService} in the same transaction
+ * as the timesheet changes they summarize.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "timesheet_monthly_rollup", indexes = {
+        @Index(name = "IDX_ROLLUP_YEAR_MONTH", columnList = "YEAR, MONTH"),
+        @Index(name = "IDX_ROLLUP_EMPLOYEE", columnList = "EMPLOYEE_ID, YEAR, MONTH")
+})
+@Filter(name = Employee.COMPANY_FILTER, condition = Employee.EMPLOYEE_COMPANY_CONDITION, deduceAliasInjectionPoints = false)
+public class TimeSheetMonthlyRollup {
+
+    @Id
+    @Column(name = "MASTER_ID")
+    private Integer masterId;
+
+    @Column(name = "EMPLOYEE_ID")
+    private String employeeId;
+
+    @Column(name = "PROJECT_ID")
+    private String projectId;
+
+    @Column(name = "MONTH")
+    private Integer month;
+
+    @Column(name = "YEAR")
+    private Integer year;
+
+    @Column(name = "REGULAR_HOURS")
+    private Double regularHours;
+
+    @Column(name = "OVERTIME_HOURS")
+    private Double overTimeHours;
+
+    @Column(name = "DAY_COUNT")
+    private Integer dayCount;
+
+    @Column(name = "SUBMITTED_DAYS")
+    private Integer submittedDays;
+
+    @Column(name = "APPROVED_DAYS")
+    private Integer approvedDays;
+
+    @Column(name = "LAST_UPDATED")
+    private LocalDateTime lastUpdated;
+}
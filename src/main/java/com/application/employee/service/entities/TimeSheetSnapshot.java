@@ -0,0 +1,13 @@
+package com.application.employee.service.entities;
+
+import java.sql.Date;
+
+public interface TimeSheetSnapshot {
+    Integer getSheetId();
+    Integer getMasterId();
+    Date getDate();
+    Double getRegularHours();
+    Double getOverTimeHours();
+    String getStatus();
+    String getNotes();
+}
@@ -0,0 +1,52 @@
+package com.application.employee.service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Filter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per timesheet master touched by a bulk status change. Written with JDBC batches by
+ * TimeSheetServiceImpl; mapped here for reading the history.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "timesheet_status_audit", indexes = @Index(name = "IDX_TS_STATUS_AUDIT_MASTER", columnList = "MASTER_ID"))
+@Filter(name = Employee.COMPANY_FILTER, condition = "{alias}.MASTER_ID IN (SELECT scoped_m.MASTER_ID FROM timesheet_master scoped_m " +
+        "JOIN employees scoped ON scoped.ID = scoped_m.employee_id WHERE scoped.COMPANY_ID IN (:" + Employee.COMPANY_FILTER_PARAM + "))",
+        deduceAliasInjectionPoints = false)
+public class TimeSheetStatusAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "MASTER_ID", nullable = false)
+    private Integer masterId;
+
+    @Column(name = "ACTION", nullable = false)
+    private String action;
+
+    @Column(name = "TO_STATUS", nullable = false)
+    private String toStatus;
+
+    @Column(name = "AFFECTED_DAYS")
+    private Integer affectedDays;
+
+    @Column(name = "CHANGED_BY")
+    private String changedBy;
+
+    @Column(name = "COMMENT", length = 1000)
+    private String comment;
+
+    @Column(name = "CHANGED_AT", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -1,5 +1,6 @@
 package com.application.employee.service.entities;
 
+import com.application.employee.service.config.AuthenticationCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -12,6 +13,7 @@ import java.sql.Date;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners(AuthenticationCacheInvalidator.class)
 @Table(name = "user_company")
 public class UserCompanyRole {
     @Id
@@ -0,0 +1,25 @@
+package com.application.employee.service.enums;
+
+/**
+ * Prospect lists that accept CSV imports, with the physical table and columns each one writes.
+ */
+public enum ContactListType {
+    CONTACTS("contacts", "LINKEDIN"),
+    BULK_MAIL("emails", "LINKEDIN_LINK");
+
+    private final String table;
+    private final String linkedinColumn;
+
+    ContactListType(String table, String linkedinColumn) {
+        this.table = table;
+        this.linkedinColumn = linkedinColumn;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getLinkedinColumn() {
+        return linkedinColumn;
+    }
+}
@@ -0,0 +1,33 @@
+package com.application.employee.service.enums;
+
+import java.util.List;
+
+/**
+ * Bulk status changes for timesheet days. Only days currently in one of the source statuses move;
+ * a missing status counts as PENDING.
+ */
+public enum TimeSheetTransition {
+    APPROVE(TimeSheetsStatus.APPROVED, List.of("PENDING", "SUBMITTED")),
+    REJECT(TimeSheetsStatus.REJECTED, List.of("PENDING", "SUBMITTED")),
+    REOPEN(TimeSheetsStatus.PENDING, List.of("APPROVED", "REJECTED"));
+
+    private final TimeSheetsStatus target;
+    private final List<String> sources;
+
+    TimeSheetTransition(TimeSheetsStatus target, List<String> sources) {
+        this.target = target;
+        this.sources = sources;
+    }
+
+    public TimeSheetsStatus getTarget() {
+        return target;
+    }
+
+    public List<String> getSources() {
+        return sources;
+    }
+
+    public boolean includesMissingStatus() {
+        return sources.contains("PENDING");
+    }
+}
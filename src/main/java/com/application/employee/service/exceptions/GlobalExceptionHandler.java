@@ -3,6 +3,7 @@ package com.application.employee.service.exceptions;
 import com.application.employee.service.payload.ApiResponse;
 import org.hibernate.id.IdentifierGenerationException;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -120,4 +121,16 @@ public class GlobalExceptionHandler {
                 .build();
         return new ResponseEntity<ApiResponse>(response, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse> handleTooManyRequestsException(TooManyRequestsException ex) {
+        ApiResponse response = ApiResponse.builder()
+                .message(ex.getMessage())
+                .success(false)
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
 }
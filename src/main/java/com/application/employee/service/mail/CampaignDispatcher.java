@@ -0,0 +1,353 @@
+package com.application.employee.service.mail;
+
+import com.application.employee.service.entities.Campaign;
+import com.application.employee.service.entities.CampaignRecipient;
+import com.application.employee.service.repositories.CampaignRecipientRepository;
+import com.application.employee.service.repositories.CampaignRepository;
+import com.application.employee.service.services.CampaignService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers scheduled campaigns in the background. Due campaigns are claimed with a conditional update
+ * and sent in rounds: each round takes the next pending recipients after the campaign's checkpoint,
+ * splits them into chunks sent concurrently through the {@link MailTransport}, then records every
+ * recipient's outcome together with the new checkpoint in one transaction. Rounds are spaced to stay
+ * under {@code recipients-per-minute}, and the campaign status is checked before each one so a pause or
+ * cancel takes effect at the next round. A restarted or taken-over send resumes after the checkpoint, so
+ * at most the round in flight is sent again. Every claim stores a fresh token that the sender's heartbeat,
+ * checkpoint, completion and release require, and the heartbeat is refreshed before each round and during
+ * long pauses; a node whose claim was taken over stops at its next write instead of sending on. Retryable
+ * failures stay pending for another pass until {@code max-attempts}.
+ */
+@Slf4j
+@Component
+public class CampaignDispatcher {
+
+    private static final String UPDATE_RECIPIENT_SQL =
+            "UPDATE campaign_recipients SET STATUS = ?, ATTEMPTS = ATTEMPTS + 1, LAST_STATUS_CODE = ?, LAST_ERROR = ?, " +
+            "SENT_AT = ? WHERE ID = ?";
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignRecipientRepository campaignRecipientRepository;
+    private final MailTransport mailTransport;
+    private final SuppressionList suppressionList;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService poller;
+    private final ExecutorService runners;
+    private final ExecutorService chunkSenders;
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean stopping = new AtomicBoolean();
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private volatile boolean legacyMigrated;
+
+    @Autowired
+    @Lazy
+    private CampaignService campaignService;
+
+    @Value("${application.campaign.poll-millis:15000}")
+    private long pollMillis;
+    @Value("${application.campaign.chunk-size:200}")
+    private int chunkSize;
+    @Value("${application.campaign.recipients-per-minute:600}")
+    private int recipientsPerMinute;
+    @Value("${application.campaign.max-attempts:3}")
+    private int maxAttempts;
+    @Value("${application.campaign.retry-delay-seconds:60}")
+    private long retryDelaySeconds;
+    @Value("${application.campaign.stale-lock-minutes:5}")
+    private long staleLockMinutes;
+
+    private final int maxActive;
+    private final int concurrency;
+
+    public CampaignDispatcher(CampaignRepository campaignRepository,
+                              CampaignRecipientRepository campaignRecipientRepository,
+                              MailTransport mailTransport,
+                              SuppressionList suppressionList,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${application.campaign.max-active:2}") int maxActive,
+                              @Value("${application.campaign.concurrency:2}") int concurrency) {
+        this.campaignRepository = campaignRepository;
+        this.campaignRecipientRepository = campaignRecipientRepository;
+        this.mailTransport = mailTransport;
+        this.suppressionList = suppressionList;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxActive = Math.max(1, maxActive);
+        this.concurrency = Math.max(1, concurrency);
+        this.poller = Executors.newSingleThreadScheduledExecutor(daemonThreads("campaign-poller"));
+        this.runners = Executors.newFixedThreadPool(this.maxActive, daemonThreads("campaign-runner"));
+        this.chunkSenders = Executors.newFixedThreadPool(this.maxActive * this.concurrency, daemonThreads("campaign-sender"));
+    }
+
+    @PostConstruct
+    void start() {
+        poller.scheduleWithFixedDelay(this::poll, 5_000, Math.max(1_000, pollMillis), TimeUnit.MILLISECONDS);
+    }
+
+    /** Polls right away, e.g. after a campaign was scheduled to start now. */
+    public void wakeUp() {
+        try {
+            poller.execute(this::poll);
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stopping.set(true);
+        poller.shutdownNow();
+        runners.shutdown();
+        try {
+            // Runners notice the flag after the round in flight and hand their campaign back to the queue
+            runners.awaitTermination(20, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        runners.shutdownNow();
+        chunkSenders.shutdownNow();
+    }
+
+    private void poll() {
+        if (stopping.get() || !polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (!legacyMigrated) {
+                campaignService.migrateLegacyRecipients();
+                legacyMigrated = true;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime staleBefore = now.minusMinutes(staleLockMinutes);
+            for (Long id : campaignRepository.findRunnableIds(now, staleBefore)) {
+                if (running.size() >= maxActive) {
+                    break;
+                }
+                if (running.contains(id)) {
+                    continue;
+                }
+                String token = UUID.randomUUID().toString();
+                Integer claimed = transactionTemplate.execute(status -> campaignRepository.claim(id, token, now, staleBefore));
+                if (claimed != null && claimed == 1) {
+                    running.add(id);
+                    runners.execute(() -> {
+                        try {
+                            run(id, token);
+                        } catch (Exception e) {
+                            log.error("Campaign {} stopped", id, e);
+                        } finally {
+                            running.remove(id);
+                        }
+                    });
+                }
+            }
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down; the claimed campaign is picked up again once its lock goes stale
+        } catch (Exception e) {
+            log.error("Campaign poll failed", e);
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    private void run(Long id, String token) {
+        Campaign campaign = campaignRepository.findById(id).orElse(null);
+        if (campaign == null) {
+            return;
+        }
+        log.info("Sending campaign {} from checkpoint {}", id, campaign.getLastCheckpointId());
+        MailMessage template = new MailMessage(campaign.getSenderEmail(), List.of(), null, null,
+                campaign.getSubject(), campaign.getBody(), null, null);
+        long checkpoint = campaign.getLastCheckpointId() == null ? 0L : campaign.getLastCheckpointId();
+        int roundSize = Math.max(1, chunkSize) * concurrency;
+
+        while (!stopping.get()) {
+            // Refreshes the lock before sending, so it cannot go stale while the round is in flight
+            if (!heartbeat(id, token)) {
+                log.info("Campaign {} is no longer sending here, stopped at checkpoint {}", id, checkpoint);
+                return;
+            }
+            List<CampaignRecipient> round = campaignRecipientRepository.findNextPending(id, checkpoint, PageRequest.of(0, roundSize));
+            if (round.isEmpty()) {
+                if (campaignRecipientRepository.countByCampaignIdAndStatus(id, CampaignRecipient.PENDING) == 0) {
+                    Integer completed = transactionTemplate.execute(status -> campaignRepository.complete(id, token, LocalDateTime.now()));
+                    if (completed != null && completed == 1) {
+                        log.info("Campaign {} completed", id);
+                    } else {
+                        log.warn("Campaign {} was taken over before it could be completed here", id);
+                    }
+                    return;
+                }
+                // Retryable failures are left behind the checkpoint; start another pass after a pause
+                checkpoint = 0L;
+                if (!recordRound(id, token, 0L, List.of(), 0, 0)) {
+                    log.warn("Campaign {} was taken over by another node", id);
+                    return;
+                }
+                if (!pause(id, token, TimeUnit.SECONDS.toMillis(retryDelaySeconds))) {
+                    break;
+                }
+                continue;
+            }
+
+            long startedNanos = System.nanoTime();
+            List<Object[]> updates = new ArrayList<>(round.size());
+            int sent = 0, failed = 0;
+            // Addresses that bounced or unsubscribed since they were added are never handed to the transport
+            List<CampaignRecipient> deliverable = new ArrayList<>(round.size());
+            for (CampaignRecipient recipient : round) {
+                if (suppressionList.isSuppressed(recipient.getEmail())) {
+                    updates.add(new Object[]{CampaignRecipient.SUPPRESSED, null, "Suppressed", null, recipient.getId()});
+                } else {
+                    deliverable.add(recipient);
+                }
+            }
+            Map<String, MailRecipientResult> results = deliverable.isEmpty() ? Map.of() : sendRound(template, deliverable);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (CampaignRecipient recipient : deliverable) {
+                MailRecipientResult result = results.getOrDefault(recipient.getEmail(),
+                        new MailRecipientResult(recipient.getEmail(), 0, "No result from transport"));
+                Integer statusCode = result.statusCode() == 0 ? null : result.statusCode();
+                if (result.isSuccess()) {
+                    updates.add(new Object[]{CampaignRecipient.SENT, statusCode, null, now, recipient.getId()});
+                    sent++;
+                } else if (result.isRetryable() && recipient.getAttempts() + 1 < maxAttempts) {
+                    updates.add(new Object[]{CampaignRecipient.PENDING, statusCode, truncate(result.message()), null, recipient.getId()});
+                } else {
+                    updates.add(new Object[]{CampaignRecipient.FAILED, statusCode, truncate(result.message()), null, recipient.getId()});
+                    failed++;
+                }
+            }
+            checkpoint = round.get(round.size() - 1).getId();
+            if (!recordRound(id, token, checkpoint, updates, sent, failed)) {
+                log.warn("Campaign {} was taken over by another node, stopped at checkpoint {}", id, checkpoint);
+                return;
+            }
+
+            // Space rounds so the campaign stays under its per-minute rate
+            long minMillis = recipientsPerMinute <= 0 ? 0 : round.size() * 60_000L / recipientsPerMinute;
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+            if (!pause(id, token, minMillis - elapsedMillis)) {
+                break;
+            }
+        }
+        Integer released = transactionTemplate.execute(status -> campaignRepository.release(id, token, LocalDateTime.now()));
+        if (released != null && released == 1) {
+            log.info("Campaign {} released at checkpoint {}", id, checkpoint);
+        }
+    }
+
+    private Map<String, MailRecipientResult> sendRound(MailMessage template, List<CampaignRecipient> round) {
+        List<Future<MailSendResult>> futures = new ArrayList<>();
+        List<List<String>> chunks = new ArrayList<>();
+        int size = Math.max(1, chunkSize);
+        for (int i = 0; i < round.size(); i += size) {
+            List<String> emails = round.subList(i, Math.min(i + size, round.size())).stream()
+                    .map(CampaignRecipient::getEmail).toList();
+            chunks.add(emails);
+            futures.add(chunkSenders.submit(() -> mailTransport.send(template.withRecipients(emails))));
+        }
+        Map<String, MailRecipientResult> results = new HashMap<>();
+        for (int i = 0; i < futures.size(); i++) {
+            MailSendResult result;
+            try {
+                result = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result = new MailSendResult(0, "Interrupted while sending");
+            } catch (ExecutionException e) {
+                result = new MailSendResult(0, String.valueOf(e.getCause()));
+            }
+            if (result.recipients().isEmpty()) {
+                for (String email : chunks.get(i)) {
+                    results.put(email, new MailRecipientResult(email, result.statusCode(), result.message()));
+                }
+            } else {
+                result.recipients().forEach(r -> results.put(r.email(), r));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Stores the outcome of every recipient in the round together with the new checkpoint. The outcomes are
+     * kept even when the claim was lost, since those mails did go out; returns false in that case.
+     */
+    private boolean recordRound(Long id, String token, Long checkpoint, List<Object[]> updates, int sent, int failed) {
+        Integer recorded = transactionTemplate.execute(status -> {
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_RECIPIENT_SQL, updates);
+            }
+            return campaignRepository.checkpoint(id, token, checkpoint, sent, failed, LocalDateTime.now());
+        });
+        return recorded != null && recorded == 1;
+    }
+
+    /** True while this node holds the claim and the campaign is still sending. */
+    private boolean heartbeat(Long id, String token) {
+        Integer beat = transactionTemplate.execute(status -> campaignRepository.heartbeat(id, token, LocalDateTime.now()));
+        return beat != null && beat == 1;
+    }
+
+    /**
+     * Sleeps up to the given time, heartbeating so a slow rate never lets the lock go stale. Returns false
+     * when the dispatcher is shutting down or the campaign is no longer sending here.
+     */
+    private boolean pause(Long id, String token, long millis) {
+        long deadline = System.currentTimeMillis() + Math.max(0, millis);
+        long heartbeatMillis = Math.max(1_000, TimeUnit.MINUTES.toMillis(staleLockMinutes) / 3);
+        long lastBeat = System.currentTimeMillis();
+        try {
+            while (!stopping.get()) {
+                long now = System.currentTimeMillis();
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    return true;
+                }
+                if (now - lastBeat >= heartbeatMillis) {
+                    if (!heartbeat(id, token)) {
+                        return false;
+                    }
+                    lastBeat = now;
+                }
+                Thread.sleep(Math.min(remaining, 1_000));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= 1000 ? value : value.substring(0, 1000);
+    }
+}
@@ -0,0 +1,98 @@
+package com.application.employee.service.mail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template string parsed once into literal and variable segments. Both {{name}} and {name}
+ * are variables; names are letters, digits, '_', '-' and '.', so CSS blocks and other braces stay
+ * literal. Variables without a value are rendered as written, as the old String.replace pass did.
+ */
+public final class CompiledTemplate {
+
+    private static final CompiledTemplate EMPTY = new CompiledTemplate(List.of(), 0);
+
+    private final List<Segment> segments;
+    private final int literalLength;
+
+    private CompiledTemplate(List<Segment> segments, int literalLength) {
+        this.segments = segments;
+        this.literalLength = literalLength;
+    }
+
+    public static CompiledTemplate compile(String text) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+        List<Segment> segments = new ArrayList<>();
+        int literalLength = 0;
+        int literalStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            int open = text.indexOf('{', i);
+            if (open < 0) {
+                break;
+            }
+            boolean doubled = open + 1 < text.length() && text.charAt(open + 1) == '{';
+            int nameStart = open + (doubled ? 2 : 1);
+            int nameEnd = nameStart;
+            while (nameEnd < text.length() && isNameChar(text.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            String closing = doubled ? "}}" : "}";
+            if (nameEnd == nameStart || !text.startsWith(closing, nameEnd)) {
+                // Not a variable; for "{{" retry from the second brace so "{{{x}" style input still matches {x}
+                i = open + 1;
+                continue;
+            }
+            int end = nameEnd + closing.length();
+            if (open > literalStart) {
+                segments.add(new Segment(text.substring(literalStart, open), null));
+                literalLength += open - literalStart;
+            }
+            segments.add(new Segment(text.substring(open, end), text.substring(nameStart, nameEnd)));
+            literalStart = end;
+            i = end;
+        }
+        if (literalStart < text.length()) {
+            segments.add(new Segment(text.substring(literalStart), null));
+            literalLength += text.length() - literalStart;
+        }
+        return new CompiledTemplate(Collections.unmodifiableList(segments), literalLength);
+    }
+
+    /** Renders the template in one pass over the segments into a single presized builder. */
+    public String render(Map<String, String> values) {
+        if (segments.size() == 1 && segments.get(0).variable() == null) {
+            return segments.get(0).text();
+        }
+        StringBuilder sb = new StringBuilder(literalLength + 16 * segments.size());
+        for (Segment segment : segments) {
+            if (segment.variable() == null) {
+                sb.append(segment.text());
+            } else if (values != null && values.containsKey(segment.variable())) {
+                String value = values.get(segment.variable());
+                if (value != null) {
+                    sb.append(value);
+                }
+            } else {
+                sb.append(segment.text());
+            }
+        }
+        return sb.toString();
+    }
+
+    public List<String> getVariables() {
+        return segments.stream().map(Segment::variable).filter(v -> v != null).distinct().toList();
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+    }
+
+    /** A literal run ({@code variable} null) or a variable with the token text as written. */
+    private record Segment(String text, String variable) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.application.employee.service.mail;
+
+import com.application.employee.service.entities.Message;
+import com.application.employee.service.repositories.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Active message templates per category, compiled once and kept in memory so template mails do not
+ * query the messages table or re-scan the text on every send. Misses are cached too, so categories
+ * without a template use their fallback without a query. MessageServiceImpl invalidates the cache on
+ * every write; entries also expire after {@link #TTL_MILLIS} so edits made on other nodes are picked up.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailTemplateCache {
+
+    static final long TTL_MILLIS = 300_000L;
+
+    private final MessageRepository messageRepository;
+
+    private final Map<String, Entry> templates = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public Optional<EmailTemplate> get(String category) {
+        if (category == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = templates.get(category);
+        if (entry == null || now - entry.loadedAt() > TTL_MILLIS) {
+            long loadedGeneration = generation.get();
+            entry = new Entry(messageRepository.findByCategoryAndIsActive(category, true).map(EmailTemplate::compile), now);
+            // A write that invalidated the cache during the load may not be in what was read, so don't keep it
+            if (generation.get() == loadedGeneration) {
+                templates.put(category, entry);
+            }
+        }
+        return entry.template();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        templates.clear();
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public record EmailTemplate(Long messageId, CompiledTemplate subject, CompiledTemplate body) {
+
+        static EmailTemplate compile(Message message) {
+            return new EmailTemplate(message.getId(), CompiledTemplate.compile(message.getSubject()),
+                    CompiledTemplate.compile(message.getBody()));
+        }
+    }
+
+    private record Entry(Optional<EmailTemplate> template, long loadedAt) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.application.employee.service.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Stand-in transport for local runs and tests (application.mail.transport=capture): keeps the most
+ * recent messages in memory instead of calling SendGrid, and always reports 202.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.mail.transport", havingValue = "capture")
+public class LocalCaptureMailTransport implements MailTransport {
+
+    private static final int MAX_CAPTURED = 500;
+
+    private final Deque<MailMessage> captured = new ConcurrentLinkedDeque<>();
+
+    @Override
+    public MailSendResult send(MailMessage message) {
+        captured.addLast(message);
+        while (captured.size() > MAX_CAPTURED) {
+            captured.pollFirst();
+        }
+        log.info("Captured mail to {} recipient(s): {}", message.to().size(), message.subject());
+        List<MailRecipientResult> recipients = message.to().stream()
+                .map(to -> new MailRecipientResult(to, 202, "captured"))
+                .toList();
+        return new MailSendResult(202, "captured", recipients);
+    }
+
+    public List<MailMessage> getCaptured() {
+        return new ArrayList<>(captured);
+    }
+
+    public void clear() {
+        captured.clear();
+    }
+}
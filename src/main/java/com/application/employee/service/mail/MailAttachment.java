@@ -0,0 +1,7 @@
+package com.application.employee.service.mail;
+
+/**
+ * Attachment already encoded as Base64, so it is encoded once no matter how many sends reuse it.
+ */
+public record MailAttachment(String fileName, String contentType, String base64Content) {
+}
@@ -0,0 +1,42 @@
+package com.application.employee.service.mail;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable email as stored in the outbox. Every address in {@code to} receives its own copy
+ * (recipients do not see each other); cc and bcc are added to each copy, as SendGridEmail always did.
+ * The body is HTML. {@code substitutions} maps a recipient address to the tokens replaced in that
+ * recipient's copy only: a key {@code name} replaces {@code {{name}}} in the subject and body, so one
+ * message can carry personalised mail for many people.
+ */
+public record MailMessage(String from,
+                          List<String> to,
+                          List<String> cc,
+                          List<String> bcc,
+                          String subject,
+                          String body,
+                          List<MailAttachment> attachments,
+                          Map<String, Map<String, String>> substitutions) {
+
+    public MailMessage {
+        to = to == null ? List.of() : List.copyOf(to);
+        cc = cc == null ? List.of() : List.copyOf(cc);
+        bcc = bcc == null ? List.of() : List.copyOf(bcc);
+        attachments = attachments == null ? List.of() : List.copyOf(attachments);
+        substitutions = substitutions == null ? Map.of() : Map.copyOf(substitutions);
+    }
+
+    public static MailMessage of(String from, String to, String subject, String body) {
+        return new MailMessage(from, List.of(to), null, null, subject, body, null, null);
+    }
+
+    public Map<String, String> substitutionsFor(String recipient) {
+        return substitutions.getOrDefault(recipient, Map.of());
+    }
+
+    /** Copy of this message addressed only to the given subset of its recipients. */
+    public MailMessage withRecipients(List<String> recipients) {
+        return new MailMessage(from, recipients, cc, bcc, subject, body, attachments, substitutions);
+    }
+}
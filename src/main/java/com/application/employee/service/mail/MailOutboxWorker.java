@@ -0,0 +1,268 @@
+package com.application.employee.service.mail;
+
+import com.application.employee.service.entities.MailOutbox;
+import com.application.employee.service.repositories.MailOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains mail_outbox. A single poller claims due rows with a conditional update and hands them to a
+ * fixed pool of senders; failed sends are retried with exponential backoff and jitter until
+ * {@code max-attempts}, after which (or on a non-retryable response) the row is dead-lettered. When only
+ * some recipients of a batched message fail, the row is narrowed to those recipients before the retry.
+ * Rows stuck in SENDING longer than {@link #STALE_LOCK_MINUTES} are requeued, so a crash mid-send
+ * is retried rather than lost. Dead letters keep their payload for {@code dead-payload-retention-hours}
+ * so they can be retried, and finished rows are deleted after {@code outbox-retention-days}.
+ */
+@Slf4j
+@Component
+public class MailOutboxWorker {
+
+    static final long STALE_LOCK_MINUTES = 10;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailTransport mailTransport;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService poller;
+    private final ThreadPoolExecutor senders;
+    private final int workers;
+    private final long pollMillis;
+    private final int maxAttempts;
+    private final long baseBackoffSeconds;
+    private final long retentionDays;
+    private final long deadPayloadRetentionHours;
+
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    public MailOutboxWorker(MailOutboxRepository mailOutboxRepository,
+                            MailTransport mailTransport,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${application.mail.workers:4}") int workers,
+                            @Value("${application.mail.poll-millis:5000}") long pollMillis,
+                            @Value("${application.mail.max-attempts:6}") int maxAttempts,
+                            @Value("${application.mail.backoff-seconds:30}") long baseBackoffSeconds,
+                            @Value("${application.mail.outbox-retention-days:30}") long retentionDays,
+                            @Value("${application.mail.dead-payload-retention-hours:72}") long deadPayloadRetentionHours) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailTransport = mailTransport;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = Math.max(1, workers);
+        this.pollMillis = Math.max(250, pollMillis);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffSeconds = Math.max(1, baseBackoffSeconds);
+        this.retentionDays = Math.max(1, retentionDays);
+        this.deadPayloadRetentionHours = Math.max(1, deadPayloadRetentionHours);
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(this.workers, this.workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mail-outbox-sender-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PostConstruct
+    void start() {
+        poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Triggers a poll right away instead of waiting for the next tick, e.g. after new mail commits. */
+    public void wakeUp() {
+        try {
+            poller.execute(this::poll);
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down; the rows stay in the outbox for the next start
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("workers", workers);
+        metrics.put("activeSenders", senders.getActiveCount());
+        metrics.put("queued", senders.getQueue().size());
+        metrics.put("sent", sent.sum());
+        metrics.put("retried", retried.sum());
+        metrics.put("deadLettered", deadLettered.sum());
+        return metrics;
+    }
+
+    /** Dead letters created before this have had their payload blanked and can no longer be retried. */
+    public LocalDateTime deadPayloadRetainedSince() {
+        return LocalDateTime.now().minusHours(deadPayloadRetentionHours);
+    }
+
+    @Scheduled(initialDelayString = "${application.mail.outbox-purge-millis:3600000}",
+            fixedDelayString = "${application.mail.outbox-purge-millis:3600000}")
+    void purge() {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    mailOutboxRepository.redactDead(deadPayloadRetainedSince()));
+            Integer purged = transactionTemplate.execute(status ->
+                    mailOutboxRepository.purgeFinished(LocalDateTime.now().minusDays(retentionDays)));
+            if (purged != null && purged > 0) {
+                log.info("Purged {} finished mail outbox row(s) older than {} day(s)", purged, retentionDays);
+            }
+        } catch (Exception e) {
+            log.error("Mail outbox purge failed", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        poller.shutdownNow();
+        senders.shutdown();
+        try {
+            senders.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        senders.shutdownNow();
+    }
+
+    private void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status ->
+                    mailOutboxRepository.requeueStale(now.minusMinutes(STALE_LOCK_MINUTES)));
+
+            // Only claim what the pool can start soon, so other nodes can pick up the rest
+            int capacity = workers * 2 - senders.getActiveCount() - senders.getQueue().size();
+            while (capacity > 0) {
+                List<Long> dueIds = mailOutboxRepository.findDueIds(LocalDateTime.now(), PageRequest.of(0, capacity));
+                if (dueIds.isEmpty()) {
+                    break;
+                }
+                int claimed = 0;
+                for (Long id : dueIds) {
+                    Integer updated = transactionTemplate.execute(status ->
+                            mailOutboxRepository.claim(id, LocalDateTime.now()));
+                    if (updated != null && updated == 1) {
+                        senders.execute(() -> deliver(id));
+                        claimed++;
+                    }
+                }
+                if (claimed == 0) {
+                    break;
+                }
+                capacity -= claimed;
+            }
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down; claimed rows are requeued as stale on the next start
+        } catch (Exception e) {
+            log.error("Mail outbox poll failed", e);
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    private void deliver(Long id) {
+        MailOutbox row = mailOutboxRepository.findById(id).orElse(null);
+        if (row == null) {
+            return;
+        }
+        MailMessage message;
+        try {
+            message = objectMapper.readValue(row.getPayload(), MailMessage.class);
+        } catch (Exception e) {
+            transactionTemplate.executeWithoutResult(status -> mailOutboxRepository.markDead(id, null, truncate(e.getMessage()), 0));
+            deadLettered.increment();
+            return;
+        }
+        MailSendResult result;
+        try {
+            result = mailTransport.send(message);
+        } catch (Exception e) {
+            result = new MailSendResult(0, e.getMessage());
+        }
+
+        MailSendResult outcome = result;
+        Integer statusCode = outcome.statusCode() == 0 ? null : outcome.statusCode();
+        String error = truncate(outcome.message());
+        int delivered = outcome.recipients().isEmpty()
+                ? (outcome.isSuccess() ? message.to().size() : 0)
+                : (int) outcome.succeededCount();
+        if (outcome.isSuccess()) {
+            transactionTemplate.executeWithoutResult(status -> mailOutboxRepository.markSent(id, statusCode, delivered, LocalDateTime.now()));
+            sent.increment();
+            return;
+        }
+
+        List<String> failed = outcome.recipients().isEmpty() ? message.to() : outcome.failedRecipients();
+        boolean retry = outcome.isRetryable() && row.getAttempts() < maxAttempts;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plusSeconds(backoffSeconds(row.getAttempts()));
+        transactionTemplate.executeWithoutResult(status -> {
+            if (failed.size() < message.to().size()) {
+                // Keep only the recipients that did not get the mail, so a retry does not send it twice
+                mailOutboxRepository.narrowRecipients(id, toJson(message.withRecipients(failed)),
+                        truncate(String.join(",", failed)));
+            }
+            if (retry) {
+                mailOutboxRepository.markRetry(id, statusCode, error, delivered, nextAttemptAt);
+            } else {
+                mailOutboxRepository.markDead(id, statusCode, error, delivered);
+            }
+        });
+        if (retry) {
+            retried.increment();
+            log.warn("Mail {} failed for {} recipient(s) (attempt {}), retrying at {}: {}",
+                    id, failed.size(), row.getAttempts(), nextAttemptAt, error);
+        } else {
+            deadLettered.increment();
+            log.error("Mail {} dead-lettered for {} recipient(s) after {} attempt(s): {}",
+                    id, failed.size(), row.getAttempts(), error);
+        }
+    }
+
+    private String toJson(MailMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (Exception e) {
+            throw new IllegalStateException("Mail message could not be serialized", e);
+        }
+    }
+
+    /** base * 2^(attempt-1), capped at an hour, with ±20% jitter so retries from one outage spread out. */
+    long backoffSeconds(int attempts) {
+        long exponential = baseBackoffSeconds << Math.min(Math.max(attempts - 1, 0), 20);
+        long capped = Math.min(exponential, MAX_BACKOFF_SECONDS);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Math.max(1, Math.round(capped * jitter));
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= 2000 ? value : value.substring(0, 2000);
+    }
+}
@@ -0,0 +1,15 @@
+package com.application.employee.service.mail;
+
+/**
+ * Delivery outcome for one {@code to} address, taken from the response of the request that carried it.
+ */
+public record MailRecipientResult(String email, int statusCode, String message) {
+
+    public boolean isSuccess() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    public boolean isRetryable() {
+        return statusCode == 0 || statusCode == 429 || statusCode >= 500;
+    }
+}
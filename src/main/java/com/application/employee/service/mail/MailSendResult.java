@@ -0,0 +1,37 @@
+package com.application.employee.service.mail;
+
+import java.util.List;
+
+/**
+ * Outcome of one transport call, with the result for each {@code to} address. A message may go out
+ * as several provider requests, so recipients can succeed and fail independently; the overall status
+ * is the first failure, or the success status when every request went through.
+ * Status 0 means the request never got an HTTP response.
+ */
+public record MailSendResult(int statusCode, String message, List<MailRecipientResult> recipients) {
+
+    public MailSendResult {
+        recipients = recipients == null ? List.of() : List.copyOf(recipients);
+    }
+
+    public MailSendResult(int statusCode, String message) {
+        this(statusCode, message, List.of());
+    }
+
+    public boolean isSuccess() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /** Throttling, server errors and I/O failures are worth retrying; other client errors are not. */
+    public boolean isRetryable() {
+        return statusCode == 0 || statusCode == 429 || statusCode >= 500;
+    }
+
+    public List<String> failedRecipients() {
+        return recipients.stream().filter(r -> !r.isSuccess()).map(MailRecipientResult::email).toList();
+    }
+
+    public long succeededCount() {
+        return recipients.stream().filter(MailRecipientResult::isSuccess).count();
+    }
+}
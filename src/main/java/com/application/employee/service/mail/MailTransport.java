@@ -0,0 +1,10 @@
+package com.application.employee.service.mail;
+
+/**
+ * Delivers a message to the provider. Implementations must be thread-safe and must report
+ * failures through the result rather than by throwing.
+ */
+public interface MailTransport {
+
+    MailSendResult send(MailMessage message);
+}
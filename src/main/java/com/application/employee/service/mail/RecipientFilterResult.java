@@ -0,0 +1,13 @@
+package com.application.employee.service.mail;
+
+import java.util.List;
+
+/**
+ * Recipients left after normalising, de-duplicating and removing suppressed addresses, with what was dropped.
+ */
+public record RecipientFilterResult(List<String> deliverable, int duplicates, int suppressed, int invalid) {
+
+    public RecipientFilterResult {
+        deliverable = List.copyOf(deliverable);
+    }
+}
@@ -0,0 +1,179 @@
+package com.application.employee.service.mail;
+
+import com.sendgrid.Client;
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Attachments;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import com.sendgrid.helpers.mail.objects.Personalization;
+import jakarta.annotation.PreDestroy;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SendGrid delivery. A message becomes as few mail/send requests as SendGrid allows: each {@code to}
+ * address gets its own personalization (with its substitutions) and up to {@link #MAX_RECIPIENTS_PER_REQUEST}
+ * recipients share one request. Attachments are built once per message. When a message needs several
+ * requests they run concurrently on a shared pool whose size caps in-flight requests across all callers.
+ * <p>
+ * All calls share one SendGrid client backed by a pooled HTTP client, so connections are reused, and
+ * keep no state between calls: every result belongs to the call that produced it. The transport is
+ * therefore safe to use from any number of threads at once.
+ */
+@Component
+@ConditionalOnProperty(name = "application.mail.transport", havingValue = "sendgrid", matchIfMissing = true)
+public class SendGridMailTransport implements MailTransport {
+
+    // SendGrid counts to, cc and bcc across all personalizations of one request against this limit
+    static final int MAX_RECIPIENTS_PER_REQUEST = 1000;
+
+    private final CloseableHttpClient httpClient;
+    private final SendGrid sendGrid;
+    private final ExecutorService requestExecutor;
+
+    public SendGridMailTransport(@Value("${spring.sendgrid.api-key}") String apiKey,
+                                 @Value("${application.mail.sendgrid.max-concurrent-requests:4}") int maxConcurrentRequests,
+                                 @Value("${application.mail.sendgrid.timeout-millis:30000}") int timeoutMillis) {
+        int concurrency = Math.max(1, maxConcurrentRequests);
+        // The default client allows only two connections per route, which would serialise the request pool
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(concurrency);
+        connectionManager.setDefaultMaxPerRoute(concurrency);
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(timeoutMillis)
+                        .setConnectionRequestTimeout(timeoutMillis)
+                        .setSocketTimeout(timeoutMillis)
+                        .build())
+                .build();
+        this.sendGrid = new SendGrid(apiKey, new Client(httpClient));
+        AtomicInteger counter = new AtomicInteger();
+        this.requestExecutor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "sendgrid-request-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public MailSendResult send(MailMessage message) {
+        if (message.to().isEmpty()) {
+            return new MailSendResult(400, "Recipient (to) cannot be empty");
+        }
+        int perPersonalization = 1 + message.cc().size() + message.bcc().size();
+        int chunkSize = Math.max(1, MAX_RECIPIENTS_PER_REQUEST / perPersonalization);
+        List<Attachments> attachments = buildAttachments(message.attachments());
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < message.to().size(); i += chunkSize) {
+            chunks.add(message.to().subList(i, Math.min(i + chunkSize, message.to().size())));
+        }
+
+        List<Future<MailSendResult>> futures = new ArrayList<>(chunks.size());
+        try {
+            for (List<String> chunk : chunks) {
+                futures.add(requestExecutor.submit(() -> sendChunk(message, chunk, attachments)));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            return new MailSendResult(0, "Mail transport is shutting down");
+        }
+
+        List<MailRecipientResult> recipients = new ArrayList<>(message.to().size());
+        MailSendResult firstFailure = null;
+        MailSendResult lastSuccess = null;
+        for (int i = 0; i < futures.size(); i++) {
+            MailSendResult chunkResult = await(futures.get(i));
+            for (String to : chunks.get(i)) {
+                recipients.add(new MailRecipientResult(to, chunkResult.statusCode(), chunkResult.message()));
+            }
+            if (!chunkResult.isSuccess() && firstFailure == null) {
+                firstFailure = chunkResult;
+            } else if (chunkResult.isSuccess()) {
+                lastSuccess = chunkResult;
+            }
+        }
+        MailSendResult overall = firstFailure != null ? firstFailure : lastSuccess;
+        return new MailSendResult(overall.statusCode(), overall.message(), recipients);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        requestExecutor.shutdownNow();
+        try {
+            httpClient.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+
+    private MailSendResult sendChunk(MailMessage message, List<String> chunk, List<Attachments> attachments) {
+        Mail mail = new Mail();
+        mail.setFrom(new Email(message.from()));
+        mail.setSubject(message.subject());
+        mail.addContent(new Content("text/html", message.body()));
+        for (String to : chunk) {
+            Personalization personalization = new Personalization();
+            personalization.addTo(new Email(to));
+            message.cc().forEach(cc -> personalization.addCc(new Email(cc)));
+            message.bcc().forEach(bcc -> personalization.addBcc(new Email(bcc)));
+            for (Map.Entry<String, String> entry : message.substitutionsFor(to).entrySet()) {
+                personalization.addSubstitution("{{" + entry.getKey() + "}}", entry.getValue() == null ? "" : entry.getValue());
+            }
+            mail.addPersonalization(personalization);
+        }
+        attachments.forEach(mail::addAttachments);
+
+        try {
+            Request request = new Request();
+            request.setMethod(Method.POST);
+            request.setEndpoint("mail/send");
+            request.setBody(mail.build());
+            Response response = sendGrid.api(request);
+            return new MailSendResult(response.getStatusCode(), response.getBody());
+        } catch (IOException e) {
+            return new MailSendResult(0, e.getMessage());
+        }
+    }
+
+    private static List<Attachments> buildAttachments(List<MailAttachment> source) {
+        List<Attachments> attachments = new ArrayList<>(source.size());
+        for (MailAttachment attachment : source) {
+            Attachments att = new Attachments();
+            att.setContent(attachment.base64Content());
+            att.setType(attachment.contentType());
+            att.setFilename(attachment.fileName());
+            att.setDisposition("attachment");
+            attachments.add(att);
+        }
+        return attachments;
+    }
+
+    private static MailSendResult await(Future<MailSendResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new MailSendResult(0, "Interrupted while sending");
+        } catch (ExecutionException e) {
+            return new MailSendResult(0, String.valueOf(e.getCause()));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.application.employee.service.mail;
+
+import com.application.employee.service.entities.EmailSuppression;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of suppressed addresses (bounced, unsubscribed, reported as spam or blocked by hand)
+ * used to filter every bulk send with one hash lookup per address. Callers wait for the first full load,
+ * so nothing is sent against a partial set. After that, rows added on other nodes are picked up in the
+ * background every {@code suppression-refresh-millis} and the whole table is reloaded every
+ * {@code suppression-reconcile-millis} to pick up removals; local changes apply immediately.
+ */
+@Slf4j
+@Component
+public class SuppressionList {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO email_suppressions (EMAIL, REASON, DETAIL, CREATED_BY, CREATED_AT) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long reconcileMillis;
+
+    private volatile Set<String> suppressed = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+    private volatile long lastLoadedId;
+    private long lastFullLoad;
+    private final Object loadLock = new Object();
+    // Local changes made while a full reload runs, replayed onto the reloaded set; guarded by changeLock
+    private final Object changeLock = new Object();
+    private Map<String, Boolean> changesDuringReload;
+
+    public SuppressionList(JdbcTemplate jdbcTemplate,
+                           @Value("${application.mail.suppression-reconcile-millis:300000}") long reconcileMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reconcileMillis = reconcileMillis;
+    }
+
+    /** Trimmed, lower-cased address, or null when the value is not an address. */
+    public static String normalize(String email) {
+        if (email == null) {
+            return null;
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        int at = normalized.indexOf('@');
+        return at > 0 && at < normalized.length() - 1 && normalized.length() <= 255 ? normalized : null;
+    }
+
+    public boolean isSuppressed(String email) {
+        ensureLoaded();
+        String normalized = normalize(email);
+        return normalized != null && suppressed.contains(normalized);
+    }
+
+    /**
+     * Normalises the addresses and keeps the first occurrence of each one that is not suppressed, in order.
+     */
+    public RecipientFilterResult filter(Collection<String> emails) {
+        ensureLoaded();
+        Set<String> current = suppressed;
+        Set<String> seen = new LinkedHashSet<>();
+        int duplicates = 0, dropped = 0, invalid = 0;
+        if (emails != null) {
+            for (String email : emails) {
+                String normalized = normalize(email);
+                if (normalized == null) {
+                    invalid++;
+                } else if (current.contains(normalized)) {
+                    dropped++;
+                } else if (!seen.add(normalized)) {
+                    duplicates++;
+                }
+            }
+        }
+        return new RecipientFilterResult(new ArrayList<>(seen), duplicates, dropped, invalid);
+    }
+
+    /** Records a suppression; returns false when the address was invalid or already suppressed. */
+    public boolean suppress(String email, String reason, String detail, String createdBy) {
+        String normalized = normalize(email);
+        if (normalized == null) {
+            return false;
+        }
+        int inserted = jdbcTemplate.update(INSERT_SQL, normalized, reason == null ? EmailSuppression.MANUAL : reason,
+                truncate(detail), createdBy, Timestamp.valueOf(LocalDateTime.now()));
+        applyLocal(normalized, true);
+        return inserted > 0;
+    }
+
+    public boolean unsuppress(String email) {
+        String normalized = normalize(email);
+        if (normalized == null) {
+            return false;
+        }
+        boolean removed = jdbcTemplate.update("DELETE FROM email_suppressions WHERE EMAIL = ?", normalized) > 0;
+        applyLocal(normalized, false);
+        return removed;
+    }
+
+    public int size() {
+        ensureLoaded();
+        return suppressed.size();
+    }
+
+    @Scheduled(fixedDelayString = "${application.mail.suppression-refresh-millis:30000}")
+    void refresh() {
+        try {
+            synchronized (loadLock) {
+                if (!loaded || System.currentTimeMillis() - lastFullLoad >= reconcileMillis) {
+                    reload();
+                } else {
+                    loadNewRows();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Suppression list refresh failed", e);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (!loaded) {
+                reload();
+            }
+        }
+    }
+
+    /** Loads the whole table into a new set, so rows deleted on other nodes drop out. Holds loadLock. */
+    private void reload() {
+        synchronized (changeLock) {
+            changesDuringReload = new HashMap<>();
+        }
+        Set<String> fresh = ConcurrentHashMap.newKeySet();
+        long[] maxId = {0};
+        try {
+            jdbcTemplate.query("SELECT ID, EMAIL FROM email_suppressions", rs -> {
+                fresh.add(rs.getString(2));
+                maxId[0] = Math.max(maxId[0], rs.getLong(1));
+            });
+        } catch (RuntimeException e) {
+            synchronized (changeLock) {
+                changesDuringReload = null;
+            }
+            throw e;
+        }
+        synchronized (changeLock) {
+            changesDuringReload.forEach((email, isSuppressed) -> {
+                if (isSuppressed) {
+                    fresh.add(email);
+                } else {
+                    fresh.remove(email);
+                }
+            });
+            changesDuringReload = null;
+            suppressed = fresh;
+        }
+        lastLoadedId = maxId[0];
+        lastFullLoad = System.currentTimeMillis();
+        loaded = true;
+    }
+
+    /** Rows added since the last load. Holds loadLock. */
+    private void loadNewRows() {
+        long[] maxId = {lastLoadedId};
+        jdbcTemplate.query("SELECT ID, EMAIL FROM email_suppressions WHERE ID > ?", rs -> {
+            suppressed.add(rs.getString(2));
+            maxId[0] = Math.max(maxId[0], rs.getLong(1));
+        }, lastLoadedId);
+        lastLoadedId = maxId[0];
+    }
+
+    private void applyLocal(String email, boolean isSuppressed) {
+        synchronized (changeLock) {
+            if (isSuppressed) {
+                suppressed.add(email);
+            } else {
+                suppressed.remove(email);
+            }
+            if (changesDuringReload != null) {
+                changesDuringReload.put(email, isSuppressed);
+            }
+        }
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= 1000 ? value : value.substring(0, 1000);
+    }
+}
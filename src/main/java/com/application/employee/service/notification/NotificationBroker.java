@@ -0,0 +1,231 @@
+package com.application.employee.service.notification;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory fan-out of notifications to open Server-Sent Event streams, keyed by user id.
+ * Published events are kept in a bounded replay buffer together with their audience, so a client
+ * that reconnects with Last-Event-ID receives what it missed on this node. Writes to the streams run
+ * on a dedicated thread, never on the publishing request, and idle streams get a heartbeat comment
+ * so proxies keep them open.
+ */
+@Component
+public class NotificationBroker {
+
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Deque<StoredEvent> replay = new ArrayDeque<>();
+    private final ThreadPoolExecutor dispatcher;
+    private final AtomicLong sequence;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final long timeoutMillis;
+    private final int maxStreamsPerUser;
+    private final int replaySize;
+    private final long replayMillis;
+
+    public NotificationBroker(@Value("${application.notifications.timeout-millis:1800000}") long timeoutMillis,
+                              @Value("${application.notifications.max-streams-per-user:5}") int maxStreamsPerUser,
+                              @Value("${application.notifications.replay-size:1000}") int replaySize,
+                              @Value("${application.notifications.replay-minutes:15}") long replayMinutes,
+                              @Value("${application.notifications.queue-capacity:10000}") int queueCapacity) {
+        this.timeoutMillis = timeoutMillis;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.replaySize = replaySize;
+        this.replayMillis = TimeUnit.MINUTES.toMillis(replayMinutes);
+        // Ids start from the boot time so ids from before a restart never hide newer events on resume
+        this.sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-dispatch");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Opens a stream for the subscriber. Events after {@code lastEventId} that are still in the replay
+     * buffer and addressed to the subscriber are sent first.
+     */
+    public SseEmitter subscribe(NotificationSubscriber subscriber, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(subscriber, emitter);
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(error -> remove(subscription));
+
+        long resumeAfter = parseEventId(lastEventId);
+        List<StoredEvent> missed = new ArrayList<>();
+        // Registration and the replay snapshot happen under the publish lock, so each event reaches the
+        // stream exactly once: either replayed here or dispatched to it by publish
+        synchronized (replay) {
+            List<Subscription> streams = subscriptions.computeIfAbsent(subscriber.userId(), k -> new CopyOnWriteArrayList<>());
+            streams.add(subscription);
+            if (streams.size() > maxStreamsPerUser) {
+                Subscription oldest = streams.remove(0);
+                oldest.emitter().complete();
+            }
+            if (resumeAfter >= 0) {
+                for (StoredEvent event : replay) {
+                    if (event.id() > resumeAfter && event.audience().test(subscriber)) {
+                        missed.add(event);
+                    }
+                }
+            }
+        }
+        dispatch(() -> {
+            try {
+                emitter.send(SseEmitter.event().comment("connected"));
+                for (StoredEvent event : missed) {
+                    send(subscription, event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(subscription);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Sends an event to every open stream whose subscriber matches {@code audience}. Inside a transaction
+     * the event is published after commit, so clients never hear about changes that rolled back.
+     */
+    public void publish(String type, Object data, Predicate<NotificationSubscriber> audience) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doPublish(type, data, audience);
+                }
+            });
+        } else {
+            doPublish(type, data, audience);
+        }
+    }
+
+    public void publishToUsers(String type, Object data, Collection<String> userIds) {
+        Set<String> recipients = Set.copyOf(userIds);
+        publish(type, data, subscriber -> recipients.contains(subscriber.userId()));
+    }
+
+    @Scheduled(fixedDelayString = "${application.notifications.heartbeat-millis:25000}")
+    public void heartbeat() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        dispatch(() -> forEachSubscription(subscription -> {
+            try {
+                subscription.emitter().send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                remove(subscription);
+            }
+        }));
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("connectedUsers", subscriptions.size());
+        metrics.put("openStreams", subscriptions.values().stream().mapToInt(List::size).sum());
+        metrics.put("published", published.get());
+        metrics.put("dropped", dropped.get());
+        metrics.put("queueDepth", dispatcher.getQueue().size());
+        synchronized (replay) {
+            metrics.put("replayBuffered", replay.size());
+        }
+        return metrics;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        forEachSubscription(subscription -> subscription.emitter().complete());
+        subscriptions.clear();
+    }
+
+    private void doPublish(String type, Object data, Predicate<NotificationSubscriber> audience) {
+        StoredEvent event;
+        List<Subscription> targets = new ArrayList<>();
+        synchronized (replay) {
+            event = new StoredEvent(sequence.incrementAndGet(), type, data, audience, System.currentTimeMillis());
+            replay.addLast(event);
+            while (replay.size() > replaySize || event.createdAt() - replay.peekFirst().createdAt() > replayMillis) {
+                replay.removeFirst();
+            }
+            forEachSubscription(subscription -> {
+                if (audience.test(subscription.subscriber())) {
+                    targets.add(subscription);
+                }
+            });
+        }
+        published.incrementAndGet();
+        if (!targets.isEmpty()) {
+            dispatch(() -> targets.forEach(subscription -> {
+                try {
+                    send(subscription, event);
+                } catch (IOException | IllegalStateException e) {
+                    remove(subscription);
+                }
+            }));
+        }
+    }
+
+    private void send(Subscription subscription, StoredEvent event) throws IOException {
+        subscription.emitter().send(SseEmitter.event()
+                .id(String.valueOf(event.id()))
+                .name(event.type())
+                .data(event.data(), MediaType.APPLICATION_JSON));
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Clients that miss a live event still get it from the replay buffer when they reconnect
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void forEachSubscription(Consumer<Subscription> action) {
+        subscriptions.values().forEach(streams -> streams.forEach(action));
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.subscriber().userId(), (userId, streams) -> {
+            streams.remove(subscription);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private record Subscription(NotificationSubscriber subscriber, SseEmitter emitter) {
+    }
+
+    private record StoredEvent(long id, String type, Object data, Predicate<NotificationSubscriber> audience,
+                               long createdAt) {
+    }
+}
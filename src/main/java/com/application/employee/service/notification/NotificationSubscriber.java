@@ -0,0 +1,11 @@
+package com.application.employee.service.notification;
+
+import com.application.employee.service.user.Role;
+
+/**
+ * Who a stream belongs to, with the employee attributes announcement audiences are matched on.
+ * Loaded once when the stream opens.
+ */
+public record NotificationSubscriber(String userId, String email, Integer companyId, Role role,
+                                     String reportingManagerId) {
+}
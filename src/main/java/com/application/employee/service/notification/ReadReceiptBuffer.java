@@ -0,0 +1,158 @@
+package com.application.employee.service.notification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for announcement read receipts. Marks are coalesced per (announcement, employee)
+ * in memory and written every {@code flush-millis}, or as soon as {@code flush-size} are pending, as one
+ * JDBC batch. Readers on this node merge the buffer into what the database says, so a mark is visible
+ * immediately; other nodes see it after the next flush. Pending marks are flushed on shutdown.
+ */
+@Slf4j
+@Component
+public class ReadReceiptBuffer {
+
+    // Joined to announcements so a mark still pending when its announcement is deleted writes nothing
+    private static final String INSERT_READ_SQL =
+            "INSERT IGNORE INTO announcement_reads (ANNOUNCEMENT_ID, EMPLOYEE_ID, READ_AT) " +
+            "SELECT a.id, ?, ? FROM announcements a WHERE a.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledExecutorService flusher;
+    private final long flushMillis;
+    private final int flushSize;
+
+    private final Map<ReadKey, LocalDateTime> pending = new ConcurrentHashMap<>();
+    // Marks being written by the current flush, still merged into reads until the batch commits
+    private volatile Map<ReadKey, LocalDateTime> inFlight = Map.of();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final LongAdder marked = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    public ReadReceiptBuffer(JdbcTemplate jdbcTemplate,
+                             @Value("${application.announcements.read-flush-millis:1000}") long flushMillis,
+                             @Value("${application.announcements.read-flush-size:500}") int flushSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushMillis = Math.max(50, flushMillis);
+        this.flushSize = Math.max(1, flushSize);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-receipt-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public void markRead(Long announcementId, String employeeId) {
+        marked.increment();
+        if (pending.putIfAbsent(new ReadKey(announcementId, employeeId), LocalDateTime.now()) != null) {
+            coalesced.increment();
+            return;
+        }
+        if (pending.size() >= flushSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    public boolean isPending(Long announcementId, String employeeId) {
+        ReadKey key = new ReadKey(announcementId, employeeId);
+        return pending.containsKey(key) || inFlight.containsKey(key);
+    }
+
+    /** Announcements this employee has marked read that may not be in announcement_reads yet. */
+    public Set<Long> pendingFor(String employeeId) {
+        Set<Long> ids = new HashSet<>();
+        collect(pending, employeeId, ids);
+        collect(inFlight, employeeId, ids);
+        return ids;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("pending", pending.size());
+        metrics.put("marked", marked.sum());
+        metrics.put("coalesced", coalesced.sum());
+        metrics.put("flushes", flushes.sum());
+        metrics.put("written", written.sum());
+        return metrics;
+    }
+
+    /** Writes everything pending as one batch. Failed batches go back into the buffer for the next flush. */
+    synchronized void flush() {
+        flushScheduled.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<ReadKey, LocalDateTime> batch = new HashMap<>();
+        for (ReadKey key : new ArrayList<>(pending.keySet())) {
+            LocalDateTime readAt = pending.remove(key);
+            if (readAt != null) {
+                batch.put(key, readAt);
+            }
+        }
+        inFlight = batch;
+        try {
+            List<Object[]> args = new ArrayList<>(batch.size());
+            batch.forEach((key, readAt) -> args.add(new Object[]{key.employeeId(), Timestamp.valueOf(readAt), key.announcementId()}));
+            jdbcTemplate.batchUpdate(INSERT_READ_SQL, args);
+            flushes.increment();
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            batch.forEach(pending::putIfAbsent);
+            throw e;
+        } finally {
+            inFlight = Map.of();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Read receipt flush failed, will retry", e);
+        }
+    }
+
+    private static void collect(Map<ReadKey, LocalDateTime> marks, String employeeId, Set<Long> ids) {
+        marks.keySet().forEach(key -> {
+            if (key.employeeId().equals(employeeId)) {
+                ids.add(key.announcementId());
+            }
+        });
+    }
+
+    private record ReadKey(Long announcementId, String employeeId) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.application.employee.service.notification;
+
+import com.application.employee.service.repositories.AnnouncementRepository;
+import com.application.employee.service.user.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Unread announcement ids per employee, kept in memory so the header badge is a map lookup. An entry is
+ * loaded with one query on first use, then kept current by AnnouncementServiceImpl: new announcements
+ * are added to every cached employee their audience rule matches, reads and deletes remove the id.
+ * Entries are reloaded after {@code unread-reconcile-millis} so announcements, reads and employee
+ * changes made on other nodes are picked up.
+ */
+@Component
+public class UnreadCounterCache {
+
+    private static final int MAX_TRACKED_EMPLOYEES = 50_000;
+
+    private final AnnouncementRepository announcementRepository;
+    private final ReadReceiptBuffer readReceiptBuffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final long reconcileMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public UnreadCounterCache(AnnouncementRepository announcementRepository,
+                              ReadReceiptBuffer readReceiptBuffer,
+                              JdbcTemplate jdbcTemplate,
+                              @Value("${application.announcements.unread-reconcile-millis:600000}") long reconcileMillis) {
+        this.announcementRepository = announcementRepository;
+        this.readReceiptBuffer = readReceiptBuffer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.reconcileMillis = reconcileMillis;
+    }
+
+    public int getUnreadCount(String employeeId) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(employeeId);
+        if (entry == null || now - entry.loadedAt() > reconcileMillis) {
+            entry = load(employeeId, now);
+        }
+        return entry.unread().size();
+    }
+
+    /**
+     * A new announcement, counted for every cached employee the audience rule matches. Applied after
+     * commit when a transaction is active, like the broker's events.
+     */
+    public void announcementCreated(Long announcementId, Predicate<NotificationSubscriber> audience) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.values().forEach(entry -> {
+                if (audience.test(entry.profile())) {
+                    entry.unread().add(announcementId);
+                }
+            });
+        });
+    }
+
+    public void announcementDeleted(Long announcementId) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.values().forEach(entry -> entry.unread().remove(announcementId));
+        });
+    }
+
+    /** Removing an id is idempotent, so repeat clicks and already-read announcements need no lookup. */
+    public void markedRead(Long announcementId, String employeeId) {
+        Entry entry = entries.get(employeeId);
+        if (entry != null) {
+            entry.unread().remove(announcementId);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private Entry load(String employeeId, long now) {
+        long loadedGeneration = generation.get();
+        // Reads buffered before or during the query may be in neither the query result nor announcement_reads
+        Set<Long> bufferedReads = readReceiptBuffer.pendingFor(employeeId);
+        Set<Long> unread = ConcurrentHashMap.newKeySet();
+        unread.addAll(announcementRepository.findUnreadIds(employeeId));
+        bufferedReads.addAll(readReceiptBuffer.pendingFor(employeeId));
+        unread.removeAll(bufferedReads);
+        Entry entry = new Entry(loadProfile(employeeId), unread, now);
+
+        if (entries.size() >= MAX_TRACKED_EMPLOYEES) {
+            entries.values().removeIf(cached -> now - cached.loadedAt() > reconcileMillis);
+            if (entries.size() >= MAX_TRACKED_EMPLOYEES) {
+                entries.clear();
+            }
+        }
+        // An announcement created or deleted during the load may not be in what was read, so don't keep it
+        if (generation.get() == loadedGeneration) {
+            entries.put(employeeId, entry);
+        }
+        return entry;
+    }
+
+    /** The audience attributes the rules match on; employees without a row only match ALL and EXPLICIT. */
+    private NotificationSubscriber loadProfile(String employeeId) {
+        List<NotificationSubscriber> found = jdbcTemplate.query(
+                "SELECT COMPANY_ID, ROLE, REPORTING_MANAGER_ID FROM employees WHERE ID = ?",
+                (rs, rowNum) -> new NotificationSubscriber(employeeId, null, (Integer) rs.getObject(1),
+                        parseRole(rs.getString(2)), rs.getString(3)),
+                employeeId);
+        return found.isEmpty() ? new NotificationSubscriber(employeeId, null, null, null, null) : found.get(0);
+    }
+
+    private static Role parseRole(String role) {
+        try {
+            return role == null ? null : Role.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record Entry(NotificationSubscriber profile, Set<Long> unread, long loadedAt) {
+    }
+}
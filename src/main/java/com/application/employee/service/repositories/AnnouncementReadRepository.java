@@ -0,0 +1,16 @@
+package com.application.employee.service.repositories;
+
+import com.application.employee.service.entities.AnnouncementRead;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AnnouncementReadRepository extends JpaRepository<AnnouncementRead, Long> {
+
+    @Modifying
+    @Query("DELETE FROM AnnouncementRead r WHERE r.announcementId = :announcementId")
+    int deleteByAnnouncementId(@Param("announcementId") Long announcementId);
+}
@@ -2,6 +2,9 @@ package com.application.employee.service.repositories;
 
 import com.application.employee.service.entities.AnnouncementRecipient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,5 +15,9 @@ public interface AnnouncementRecipientRepository extends JpaRepository<Announcem
     List<AnnouncementRecipient> findByEmployeeId(String employeeId);
     AnnouncementRecipient findByAnnouncementIdAndEmployeeId(Long announcementId, String employeeId);
     List<AnnouncementRecipient> findByAnnouncementId(Long announcementId);
+
+    @Modifying
+    @Query("DELETE FROM AnnouncementRecipient r WHERE r.announcement.id = :announcementId")
+    int deleteByAnnouncementId(@Param("announcementId") Long announcementId);
 }
 
@@ -1,9 +1,57 @@
 package com.application.employee.service.repositories;
 
 import com.application.employee.service.entities.Announcement;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
-}
\ No newline at end of file
+
+    // Announcements whose audience rule matches the employee (e); explicit lists are checked by index lookup,
+    // every other rule only within the announcement's company unless it has none
+    String AUDIENCE_MATCH = "((a.audienceType = 'EXPLICIT' AND EXISTS (SELECT 1 FROM AnnouncementRecipient ar " +
+            "WHERE ar.employeeId = :employeeId AND ar.announcement = a)) " +
+            "OR (a.audienceType <> 'EXPLICIT' AND (a.audienceCompanyId IS NULL OR a.audienceCompanyId = e.CompanyId) " +
+            "AND (a.audienceType IN ('ALL', 'COMPANY') " +
+            "OR (a.audienceType = 'ROLE' AND a.audienceRole = e.securityGroup) " +
+            "OR (a.audienceType = 'REPORTING_MANAGER' AND a.audienceManagerId = e.reportingManagerId))))";
+
+    /**
+     * The employee's feed, newest first, each announcement paired with the id of its read receipt
+     * (null when unread).
+     */
+    @Query("SELECT a, r.id FROM Announcement a LEFT JOIN Employee e ON e.employeeID = :employeeId " +
+            "LEFT JOIN AnnouncementRead r ON r.announcementId = a.id AND r.employeeId = :employeeId " +
+            "WHERE " + AUDIENCE_MATCH + " ORDER BY a.createdAt DESC, a.id DESC")
+    List<Object[]> findFeed(@Param("employeeId") String employeeId);
+
+    /**
+     * One feed page after the (createdAt, id) keyset cursor, or the first page when beforeAt is null.
+     * Rows have the same shape as {@link #findFeed}.
+     */
+    @Query("SELECT a, r.id FROM Announcement a LEFT JOIN Employee e ON e.employeeID = :employeeId " +
+            "LEFT JOIN AnnouncementRead r ON r.announcementId = a.id AND r.employeeId = :employeeId " +
+            "WHERE " + AUDIENCE_MATCH + " AND (:beforeAt IS NULL OR a.createdAt < :beforeAt " +
+            "OR (a.createdAt = :beforeAt AND a.id < :beforeId)) ORDER BY a.createdAt DESC, a.id DESC")
+    List<Object[]> findFeedPage(@Param("employeeId") String employeeId,
+                                @Param("beforeAt") LocalDateTime beforeAt,
+                                @Param("beforeId") Long beforeId,
+                                Pageable pageable);
+
+    @Query("SELECT a.id FROM Announcement a LEFT JOIN Employee e ON e.employeeID = :employeeId WHERE " + AUDIENCE_MATCH +
+            " AND NOT EXISTS (SELECT 1 FROM AnnouncementRead r WHERE r.announcementId = a.id AND r.employeeId = :employeeId)")
+    List<Long> findUnreadIds(@Param("employeeId") String employeeId);
+
+    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Announcement a " +
+            "LEFT JOIN Employee e ON e.employeeID = :employeeId WHERE a.id = :announcementId AND " + AUDIENCE_MATCH)
+    boolean isVisibleTo(@Param("announcementId") Long announcementId, @Param("employeeId") String employeeId);
+
+    List<Announcement> findAllByAudienceCompanyIdInOrderByCreatedAtDesc(Collection<Integer> companyIds);
+}
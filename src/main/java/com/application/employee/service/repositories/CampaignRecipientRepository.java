@@ -0,0 +1,40 @@
+package com.application.employee.service.repositories;
+
+import com.application.employee.service.entities.CampaignRecipient;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CampaignRecipientRepository extends JpaRepository<CampaignRecipient, Long> {
+
+    Page<CampaignRecipient> findAllByCampaignId(Long campaignId, Pageable pageable);
+
+    Page<CampaignRecipient> findAllByCampaignIdAndStatus(Long campaignId, String status, Pageable pageable);
+
+    // Keyset over the pending rows so each delivery round is an index range scan after the checkpoint
+    @Query("SELECT r FROM CampaignRecipient r WHERE r.campaignId = :campaignId AND r.status = 'PENDING' " +
+            "AND r.id > :afterId ORDER BY r.id")
+    List<CampaignRecipient> findNextPending(@Param("campaignId") Long campaignId, @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    @Query("SELECT r.email FROM CampaignRecipient r WHERE r.campaignId = :campaignId ORDER BY r.id")
+    List<String> findEmails(@Param("campaignId") Long campaignId);
+
+    @Query("SELECT r.status, COUNT(r) FROM CampaignRecipient r WHERE r.campaignId = :campaignId GROUP BY r.status")
+    List<Object[]> countByStatus(@Param("campaignId") Long campaignId);
+
+    long countByCampaignId(Long campaignId);
+
+    long countByCampaignIdAndStatus(Long campaignId, String status);
+
+    @Modifying
+    @Query("DELETE FROM CampaignRecipient r WHERE r.campaignId = :campaignId")
+    int deleteByCampaignId(@Param("campaignId") Long campaignId);
+}
@@ -2,8 +2,57 @@ package com.application.employee.service.repositories;
 
 import com.application.employee.service.entities.Campaign;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface CampaignRepository extends JpaRepository<Campaign, Long> {
-}
\ No newline at end of file
+
+    List<Campaign> findAllByLegacyRecipientsIsNotNull();
+
+    // Scheduled campaigns that are due, plus sends whose node stopped heartbeating
+    @Query("SELECT c.id FROM Campaign c WHERE (c.status = 'SCHEDULED' AND c.scheduledAt <= :now) " +
+            "OR (c.status = 'SENDING' AND (c.lockedAt IS NULL OR c.lockedAt < :staleBefore)) ORDER BY c.scheduledAt")
+    List<Long> findRunnableIds(@Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    // Conditional update so only one node delivers a campaign at a time; the token fences the winner's later writes
+    @Modifying
+    @Query("UPDATE Campaign c SET c.status = 'SENDING', c.lockedAt = :now, c.startedAt = COALESCE(c.startedAt, :now), " +
+            "c.claimToken = :token WHERE c.id = :id AND ((c.status = 'SCHEDULED' AND c.scheduledAt <= :now) " +
+            "OR (c.status = 'SENDING' AND (c.lockedAt IS NULL OR c.lockedAt < :staleBefore)))")
+    int claim(@Param("id") Long id, @Param("token") String token, @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Query("SELECT c.status FROM Campaign c WHERE c.id = :id")
+    String findStatus(@Param("id") Long id);
+
+    // Refreshes the sender's heartbeat; 0 when the campaign was paused, cancelled or claimed by another node
+    @Modifying
+    @Query("UPDATE Campaign c SET c.lockedAt = :now " +
+            "WHERE c.id = :id AND c.claimToken = :token AND c.status = 'SENDING'")
+    int heartbeat(@Param("id") Long id, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    // Records a finished round and refreshes the sender's heartbeat, only while the sender still holds the claim
+    @Modifying
+    @Query("UPDATE Campaign c SET c.lockedAt = :now, c.lastCheckpointId = :checkpointId, " +
+            "c.sentCount = COALESCE(c.sentCount, 0) + :sent, c.failedCount = COALESCE(c.failedCount, 0) + :failed " +
+            "WHERE c.id = :id AND c.claimToken = :token")
+    int checkpoint(@Param("id") Long id, @Param("token") String token, @Param("checkpointId") Long checkpointId,
+                   @Param("sent") int sent, @Param("failed") int failed, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Campaign c SET c.status = 'COMPLETED', c.completedAt = :now, c.lockedAt = NULL, c.claimToken = NULL " +
+            "WHERE c.id = :id AND c.claimToken = :token AND c.status = 'SENDING'")
+    int complete(@Param("id") Long id, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    // Hands a send back to the queue on shutdown so the next start resumes it without waiting for the lock to go stale
+    @Modifying
+    @Query("UPDATE Campaign c SET c.status = 'SCHEDULED', c.scheduledAt = :now, c.lockedAt = NULL, c.claimToken = NULL " +
+            "WHERE c.id = :id AND c.claimToken = :token AND c.status = 'SENDING'")
+    int release(@Param("id") Long id, @Param("token") String token, @Param("now") LocalDateTime now);
+}
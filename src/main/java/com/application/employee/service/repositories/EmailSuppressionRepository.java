@@ -0,0 +1,17 @@
+package com.application.employee.service.repositories;
+
+import com.application.employee.service.entities.EmailSuppression;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EmailSuppressionRepository extends JpaRepository<EmailSuppression, Long> {
+
+    Optional<EmailSuppression> findByEmail(String email);
+
+    Page<EmailSuppression> findAllByReason(String reason, Pageable pageable);
+}
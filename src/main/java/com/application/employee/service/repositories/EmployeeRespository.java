@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,15 @@ public interface EmployeeRespository extends JpaRepository<Employee, String> {
     @Query("SELECT e FROM Employee e WHERE e.CompanyId = :companyId")
     List<Employee> findByCompanyCompanyId(@Param("companyId") Integer companyId);
 
+    @Query("SELECT e FROM Employee e WHERE (:companyId IS NULL OR e.CompanyId = :companyId) AND e.reportingManagerId = :reportingManagerId")
+    List<Employee> findByCompanyOrAllAndReportingManagerId(@Param("companyId") Integer companyId, @Param("reportingManagerId") String reportingManagerId);
+
+    @Query("SELECT e.emailID FROM Employee e WHERE e.emailID IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     @Query("SELECT e.company.email FROM Employee e WHERE e.emailID = :email")
     String findCompanyEmailByEmployeeEmail(String email);
-}
\ No newline at end of file
+
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.company WHERE e.employeeID IN :ids")
+    List<Employee> findAllWithCompanyByIds(@Param("ids") Collection<String> ids);
+}
@@ -0,0 +1,77 @@
+package com.application.employee.service.repositories;
+
+import com.application.employee.service.entities.MailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    Optional<MailOutbox> findByIdempotencyKey(String idempotencyKey);
+
+    List<MailOutbox> findAllByJobIdOrderByIdAsc(String jobId);
+
+    @Query("SELECT m.id FROM MailOutbox m WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Conditional update so a row is only ever claimed by one worker, on this node or another
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = 'SENDING', m.lockedAt = :now, m.attempts = m.attempts + 1 " +
+            "WHERE m.id = :id AND m.status = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Rows left in SENDING by a node that died mid-send go back to the queue
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = 'PENDING', m.lockedAt = NULL WHERE m.status = 'SENDING' AND m.lockedAt < :before")
+    int requeueStale(@Param("before") LocalDateTime before);
+
+    @Modifying
+    // The delivered body is not kept; status and counts are all a finished row is read for
+    @Query("UPDATE MailOutbox m SET m.status = 'SENT', m.sentAt = :now, m.lockedAt = NULL, m.payload = '', " +
+            "m.deliveredCount = COALESCE(m.deliveredCount, 0) + :delivered, " +
+            "m.lastStatusCode = :statusCode, m.lastError = NULL WHERE m.id = :id")
+    int markSent(@Param("id") Long id, @Param("statusCode") Integer statusCode, @Param("delivered") int delivered,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = 'PENDING', m.nextAttemptAt = :nextAttemptAt, m.lockedAt = NULL, " +
+            "m.deliveredCount = COALESCE(m.deliveredCount, 0) + :delivered, " +
+            "m.lastStatusCode = :statusCode, m.lastError = :error WHERE m.id = :id")
+    int markRetry(@Param("id") Long id, @Param("statusCode") Integer statusCode, @Param("error") String error,
+                  @Param("delivered") int delivered, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = 'DEAD', m.lockedAt = NULL, " +
+            "m.deliveredCount = COALESCE(m.deliveredCount, 0) + :delivered, " +
+            "m.lastStatusCode = :statusCode, m.lastError = :error WHERE m.id = :id")
+    int markDead(@Param("id") Long id, @Param("statusCode") Integer statusCode, @Param("error") String error,
+                 @Param("delivered") int delivered);
+
+    // After a partial failure only the recipients that did not get the mail stay on the row
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.payload = :payload, m.recipients = :recipients WHERE m.id = :id")
+    int narrowRecipients(@Param("id") Long id, @Param("payload") String payload, @Param("recipients") String recipients);
+
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = 'PENDING', m.attempts = 0, m.nextAttemptAt = :now, m.lastError = NULL " +
+            "WHERE m.jobId = :jobId AND m.status = 'DEAD' AND m.createdAt >= :retainedSince")
+    int retryDead(@Param("jobId") String jobId, @Param("now") LocalDateTime now,
+                  @Param("retainedSince") LocalDateTime retainedSince);
+
+    // Dead letters keep their body only as long as they can still be retried
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.payload = '' WHERE m.status = 'DEAD' AND m.createdAt < :before")
+    int redactDead(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM MailOutbox m WHERE m.status IN ('SENT', 'DEAD') AND m.createdAt < :before")
+    int purgeFinished(@Param("before") LocalDateTime before);
+}
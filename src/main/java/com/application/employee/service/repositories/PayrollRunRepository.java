@@ -0,0 +1,34 @@
+package com.application.employee.service.repositories;
+
+import com.application.employee.service.entities.PayrollRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+
+    @Query("SELECT DISTINCT r FROM PayrollRun r LEFT JOIN FETCH r.items WHERE r.id = :id")
+    Optional<PayrollRun> findWithItemsById(@Param("id") Long id);
+
+    List<PayrollRun> findAllByCompanyIdOrderByPayPeriodStartDesc(Integer companyId);
+
+    Optional<PayrollRun> findByCompanyIdAndPayPeriodStartAndPayPeriodEnd(Integer companyId, LocalDate payPeriodStart,
+                                                                         LocalDate payPeriodEnd);
+
+    /**
+     * Moves a run from one status to another only if it is still in the expected one. The row lock is held
+     * until commit, so of two concurrent callers exactly one gets 1 and the other waits and then gets 0.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PayrollRun r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") Long id, @Param("from") String from, @Param("to") String to);
+
+    @Modifying
+    @Query("DELETE FROM PayrollRunItem i WHERE i.run.id = :runId")
+    void deleteItemsByRunId(@Param("runId") Long runId);
+}
@@ -0,0 +1,32 @@
+package com.application.employee.service.repositories;
+
+import com.application.employee.service.entities.ReminderPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReminderPolicyRepository extends JpaRepository<ReminderPolicy, Long> {
+
+    List<ReminderPolicy> findAllByOrderByIdAsc();
+
+    List<ReminderPolicy> findAllByCompanyIdOrderByIdAsc(Integer companyId);
+
+    List<ReminderPolicy> findAllByCompanyIdInOrderByIdAsc(Collection<Integer> companyIds);
+
+    @Query("SELECT p.id FROM ReminderPolicy p WHERE p.enabled = true AND p.nextRunAt <= :now ORDER BY p.nextRunAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now);
+
+    // Conditional update on the occurrence being fired, so each occurrence is claimed by exactly one node
+    @Modifying
+    @Query("UPDATE ReminderPolicy p SET p.nextRunAt = :next, p.lastRunAt = :now " +
+            "WHERE p.id = :id AND p.enabled = true AND p.nextRunAt = :occurrence")
+    int claim(@Param("id") Long id, @Param("occurrence") LocalDateTime occurrence,
+              @Param("next") LocalDateTime next, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,19 @@
+package com.application.employee.service.repositories;
+
+import com.application.employee.service.entities.ScheduledJobRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Long> {
+
+    Page<ScheduledJobRun> findAllByOrderByIdDesc(Pageable pageable);
+
+    Page<ScheduledJobRun> findAllByPolicyIdOrderByIdDesc(Long policyId, Pageable pageable);
+
+    Page<ScheduledJobRun> findAllByCompanyIdInOrderByIdDesc(Collection<Integer> companyIds, Pageable pageable);
+}
@@ -1,15 +1,59 @@
 package com.application.employee.service.repositories;
 
+import com.application.employee.service.dto.PendingTimesheetRow;
+import com.application.employee.service.entities.Employee;
 import com.application.employee.service.entities.TimeSheetMaster;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface TimeSheetMasterRepo extends JpaRepository<TimeSheetMaster,Integer> {
+
+    // A master is pending when it has no days yet or any day that is not SUBMITTED/APPROVED
+    String PENDING_DAYS = "LEFT JOIN TimeSheet t ON t.timeSheetMaster = m WHERE m.month = :month AND m.year = :year ";
+    String PENDING_HAVING = "HAVING COUNT(t) = 0 OR SUM(CASE WHEN t.status IS NULL " +
+            "OR UPPER(t.status) NOT IN ('SUBMITTED', 'APPROVED') THEN 1 ELSE 0 END) > 0";
+
     TimeSheetMaster findByMasterId(Integer masterId);
 
     TimeSheetMaster findByEmployeeEmployeeIDAndProjectHistoryProjectIdAndMonthAndYear(String employeeId, String projectId, Integer month, Integer year);
     List<TimeSheetMaster> findAllByMonthAndYear(Integer month, Integer year);
+
+    // Superset lookup for batch writes; callers match the exact (employee, project, month, year) key
+    @Query("SELECT m FROM TimeSheetMaster m JOIN FETCH m.employee e JOIN FETCH m.projectHistory p " +
+            "WHERE e.employeeID IN :employeeIds AND p.projectId IN :projectIds AND m.year IN :years AND m.month IN :months")
+    List<TimeSheetMaster> findCandidates(@Param("employeeIds") Collection<String> employeeIds,
+                                         @Param("projectIds") Collection<String> projectIds,
+                                         @Param("years") Collection<Integer> years,
+                                         @Param("months") Collection<Integer> months);
+
+    @Query("SELECT new com.application.employee.service.dto.PendingTimesheetRow(m.masterId, e.employeeID, " +
+            "e.firstName, e.lastName, e.emailID, p.projectId, p.projectAddress, m.month, m.year) " +
+            "FROM TimeSheetMaster m JOIN m.employee e JOIN m.projectHistory p " + PENDING_DAYS +
+            "GROUP BY m.masterId, e.employeeID, e.firstName, e.lastName, e.emailID, p.projectId, p.projectAddress, m.month, m.year " +
+            PENDING_HAVING + " ORDER BY e.firstName, e.lastName, m.masterId")
+    List<PendingTimesheetRow> findPendingRows(@Param("month") Integer month, @Param("year") Integer year);
+
+    @Query("SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.company c WHERE " +
+            "(:companyId IS NULL OR c.companyId = :companyId) AND e.employeeID IN (" +
+            "SELECT m.employee.employeeID FROM TimeSheetMaster m " + PENDING_DAYS +
+            "GROUP BY m.masterId, m.employee.employeeID " + PENDING_HAVING + ")")
+    List<Employee> findEmployeesWithPendingTimesheets(@Param("month") Integer month, @Param("year") Integer year,
+                                                      @Param("companyId") Integer companyId);
+
+    // Id lookups for bulk status changes; the company filter narrows them to the caller's companies
+    @Query("SELECT m.masterId FROM TimeSheetMaster m WHERE m.masterId IN :masterIds")
+    List<Integer> findVisibleIds(@Param("masterIds") Collection<Integer> masterIds);
+
+    @Query("SELECT m.masterId FROM TimeSheetMaster m JOIN m.employee e WHERE m.month = :month AND m.year = :year " +
+            "AND (:companyId IS NULL OR e.company.companyId = :companyId) " +
+            "AND (:allEmployees = true OR e.employeeID IN :employeeIds)")
+    List<Integer> findIdsForPeriod(@Param("month") Integer month,
+                                   @Param("year") Integer year,
+                                   @Param("companyId") Integer companyId,
+                                   @Param("allEmployees") boolean allEmployees,
+                                   @Param("employeeIds") Collection<String> employeeIds);
 }
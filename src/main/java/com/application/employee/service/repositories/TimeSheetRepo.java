@@ -1,13 +1,22 @@
 package com.application.employee.service.repositories;
 
 import com.application.employee.service.entities.TimeSheet;
+import com.application.employee.service.entities.TimeSheetSnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.sql.Date;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TimeSheetRepo extends JpaRepository<TimeSheet,Integer> {
     List<TimeSheet> getAllByTimeSheetMasterMasterId(Integer masterId);
     Optional<TimeSheet> findByTimeSheetMasterMasterIdAndDate(Integer masterId, Date date);
+
+    @Query("SELECT t.sheetId AS sheetId, t.timeSheetMaster.masterId AS masterId, t.date AS date, " +
+            "t.regularHours AS regularHours, t.overTimeHours AS overTimeHours, t.status AS status, t.notes AS notes " +
+            "FROM TimeSheet t WHERE t.timeSheetMaster.masterId IN :masterIds")
+    List<TimeSheetSnapshot> findSnapshotsByMasterIds(@Param("masterIds") Collection<Integer> masterIds);
 }
@@ -0,0 +1,12 @@
+package com.application.employee.service.repositories;
+
+import com.application.employee.service.entities.TimeSheetMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TimeSheetRollupRepo extends JpaRepository<TimeSheetMonthlyRollup, Integer> {
+    List<TimeSheetMonthlyRollup> findAllByYearAndMonth(Integer year, Integer month);
+
+    List<TimeSheetMonthlyRollup> findAllByEmployeeIdAndYear(String employeeId, Integer year);
+}
@@ -0,0 +1,10 @@
+package com.application.employee.service.repositories;
+
+import com.application.employee.service.entities.TimeSheetStatusAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TimeSheetStatusAuditRepo extends JpaRepository<TimeSheetStatusAudit, Long> {
+    List<TimeSheetStatusAudit> findAllByMasterIdOrderByChangedAtDesc(Integer masterId);
+}
@@ -2,6 +2,8 @@ package com.application.employee.service.repositories;
 
 import com.application.employee.service.entities.UserCompanyRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -9,4 +11,7 @@ import java.util.List;
 public interface UserCompanyRoleRepository extends JpaRepository<UserCompanyRole, Long> {
     List<UserCompanyRole> findByUserId(String userId);
     List<UserCompanyRole> findByCompanyId(Integer companyId);
+
+    @Query("SELECT DISTINCT ucr.companyId FROM UserCompanyRole ucr, User u WHERE ucr.userId = u.id AND u.email = :email")
+    List<Integer> findCompanyIdsByUserEmail(@Param("email") String email);
 }
@@ -1,8 +1,12 @@
 package com.application.employee.service.repositories;
 import com.application.employee.service.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User,Integer> {
@@ -11,6 +15,9 @@ public interface UserRepository extends JpaRepository<User,Integer> {
 
     User findById(String id);
 
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
 
 
 }
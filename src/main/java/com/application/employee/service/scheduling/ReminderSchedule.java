@@ -0,0 +1,97 @@
+package com.application.employee.service.scheduling;
+
+import com.application.employee.service.entities.ReminderPolicy;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Occurrence arithmetic for reminder policies: the policy's cron, evaluated in its zone, narrowed to
+ * the last N business days (Monday to Friday) of the month when that rule is set. Times going in and
+ * out are server-local, like every other LocalDateTime column.
+ */
+public final class ReminderSchedule {
+
+    // Enough daily cron occurrences to reach the last business days of any month
+    private static final int MAX_CANDIDATES = 1000;
+
+    private ReminderSchedule() {
+    }
+
+    /** Validates the policy's cron, zone and business-day rule, throwing IllegalArgumentException. */
+    public static void validate(ReminderPolicy policy) {
+        if (policy.getCronExpression() == null || !CronExpression.isValidExpression(policy.getCronExpression())) {
+            throw new IllegalArgumentException("cronExpression must be a six-field cron, e.g. \"0 0 9 * * MON-FRI\"");
+        }
+        zone(policy);
+        Integer days = policy.getLastBusinessDays();
+        if (days != null && (days < 1 || days > 10)) {
+            throw new IllegalArgumentException("lastBusinessDays must be between 1 and 10");
+        }
+    }
+
+    /** First occurrence strictly after {@code after}, or null when the cron never fires again. */
+    public static LocalDateTime next(ReminderPolicy policy, LocalDateTime after) {
+        CronExpression cron = CronExpression.parse(policy.getCronExpression());
+        ZonedDateTime candidate = after.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone(policy));
+        for (int i = 0; i < MAX_CANDIDATES; i++) {
+            candidate = cron.next(candidate);
+            if (candidate == null) {
+                return null;
+            }
+            if (matchesBusinessDays(candidate.toLocalDate(), policy.getLastBusinessDays())) {
+                return candidate.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+        }
+        return null;
+    }
+
+    public static List<LocalDateTime> upcoming(ReminderPolicy policy, LocalDateTime after, int count) {
+        List<LocalDateTime> occurrences = new ArrayList<>(count);
+        LocalDateTime occurrence = after;
+        while (occurrences.size() < count && (occurrence = next(policy, occurrence)) != null) {
+            occurrences.add(occurrence);
+        }
+        return occurrences;
+    }
+
+    /** Month whose timesheets a run at {@code occurrence} is about, as a date on the first of that month. */
+    public static LocalDate period(ReminderPolicy policy, LocalDateTime occurrence) {
+        LocalDate date = occurrence.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone(policy)).toLocalDate().withDayOfMonth(1);
+        return ReminderPolicy.PREVIOUS_MONTH.equals(policy.getPeriod()) ? date.minusMonths(1) : date;
+    }
+
+    static boolean matchesBusinessDays(LocalDate date, Integer lastBusinessDays) {
+        if (lastBusinessDays == null) {
+            return true;
+        }
+        if (!isBusinessDay(date)) {
+            return false;
+        }
+        int remaining = 0;
+        for (LocalDate day = date; day.getMonth() == date.getMonth(); day = day.plusDays(1)) {
+            if (isBusinessDay(day)) {
+                remaining++;
+            }
+        }
+        return remaining <= lastBusinessDays;
+    }
+
+    private static boolean isBusinessDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY;
+    }
+
+    private static ZoneId zone(ReminderPolicy policy) {
+        if (policy.getZoneId() == null || policy.getZoneId().isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(policy.getZoneId());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown zoneId: " + policy.getZoneId());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.application.employee.service.scheduling;
+
+import com.application.employee.service.services.ReminderPolicyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Polls for due reminder policies. Every node can run this; the claim in
+ * {@link ReminderPolicyService#runDuePolicies} makes sure each occurrence fires once.
+ * Set {@code application.scheduling.enabled=false} to keep a node out of the rotation.
+ */
+@Slf4j
+@Component
+public class ReminderScheduler {
+
+    private final ReminderPolicyService reminderPolicyService;
+    private final boolean enabled;
+
+    public ReminderScheduler(ReminderPolicyService reminderPolicyService,
+                             @Value("${application.scheduling.enabled:true}") boolean enabled) {
+        this.reminderPolicyService = reminderPolicyService;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(initialDelayString = "${application.scheduling.initial-delay-millis:30000}",
+            fixedDelayString = "${application.scheduling.poll-millis:60000}")
+    public void runDuePolicies() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reminderPolicyService.runDuePolicies(LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Reminder scheduler poll failed", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.application.employee.service.services;
 
 
+import com.application.employee.service.dto.AnnouncementFeedPage;
 import com.application.employee.service.entities.Announcement;
 
 import java.util.List;
@@ -10,6 +11,8 @@ public interface AnnouncementService {
     Announcement createAnnouncement(Announcement announcement, List<String> employeeIds);
     List<Announcement> getAllAnnouncements();
     List<Announcement> getAnnouncementsForEmployee(String employeeId);
+    AnnouncementFeedPage getAnnouncementFeed(String employeeId, String cursor, int limit);
+    long getUnreadCount(String employeeId);
     void markAsRead(Long announcementId, String employeeId);
     void deleteAnnouncement(Long announcementId);
     }
@@ -1,6 +1,10 @@
 package com.application.employee.service.services;
+import com.application.employee.service.dto.CampaignProgress;
 import com.application.employee.service.entities.Campaign;
+import com.application.employee.service.entities.CampaignRecipient;
+import org.springframework.data.domain.Page;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,5 +19,29 @@ public interface CampaignService {
     void deleteCampaign(Long id);
 
     Campaign updateCampaign(Long id, Campaign campaign);
-}
 
+    /**
+     * Adds addresses to a campaign that has not finished. Returns the campaign's new recipient total.
+     */
+    long addRecipients(Long id, List<String> emails);
+
+    /**
+     * Queues the campaign for delivery at {@code scheduledAt}, or right away when null. A paused
+     * campaign resumes after its last checkpoint.
+     */
+    Campaign scheduleCampaign(Long id, LocalDateTime scheduledAt);
+
+    Campaign pauseCampaign(Long id);
+
+    Campaign cancelCampaign(Long id);
+
+    CampaignProgress getProgress(Long id);
+
+    Page<CampaignRecipient> getRecipients(Long id, String status, int page, int size);
+
+    /**
+     * Moves recipients still stored in the old comma-separated column into campaign_recipients, once per
+     * database. Returns how many campaigns were moved here.
+     */
+    int migrateLegacyRecipients();
+}
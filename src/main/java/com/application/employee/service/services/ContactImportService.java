@@ -0,0 +1,20 @@
+package com.application.employee.service.services;
+
+import com.application.employee.service.dto.ContactImportJob;
+import com.application.employee.service.enums.ContactListType;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+public interface ContactImportService {
+
+    /**
+     * Spools the uploaded CSV to a temporary file and imports it in the background. The header names
+     * the columns (email is required; firstName, lastName, phone and linkedin are optional). Addresses
+     * already in the list are skipped, or updated when {@code updateExisting} is set.
+     */
+    ContactImportJob startImport(ContactListType listType, MultipartFile file, String recruiterId,
+                                 boolean updateExisting) throws IOException;
+
+    ContactImportJob getJob(String jobId);
+}
@@ -0,0 +1,22 @@
+package com.application.employee.service.services;
+
+import com.application.employee.service.dto.EmployeeDTO;
+import com.application.employee.service.dto.EmployeeImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmployeeImportService {
+    /**
+     * Imports employees from a CSV file whose first line is a header naming EmployeeDTO fields
+     * (firstName, lastName, emailID, ...). Rows without a companyId get defaultCompanyId;
+     * when allowedCompanyIds is non-null, rows targeting any other company are rejected.
+     */
+    EmployeeImportReport importEmployeesCsv(InputStream inputStream, Integer defaultCompanyId,
+                                            Collection<Integer> allowedCompanyIds) throws IOException;
+
+    EmployeeImportReport importEmployees(List<EmployeeDTO> employees, Integer defaultCompanyId,
+                                         Collection<Integer> allowedCompanyIds);
+}
@@ -0,0 +1,29 @@
+package com.application.employee.service.services;
+
+import com.application.employee.service.dto.MailJobStatus;
+import com.application.employee.service.mail.MailMessage;
+
+import java.util.List;
+
+public interface MailOutboxService {
+
+    /**
+     * Stores the message for delivery and returns its job id. Joins the caller's transaction, so the
+     * mail is only sent if the surrounding work commits. A repeated idempotency key returns the
+     * job created for it the first time instead of queueing the mail again.
+     */
+    String enqueue(MailMessage message, String category, String idempotencyKey);
+
+    /**
+     * Stores all messages under one job id, for sends that callers track as a single operation.
+     */
+    String enqueueAll(List<MailMessage> messages, String category, String idempotencyKey);
+
+    MailJobStatus getJobStatus(String jobId);
+
+    /**
+     * Puts the dead-lettered messages of a job that are still within the retry window back in the queue.
+     * Returns how many were requeued.
+     */
+    int retryDead(String jobId);
+}
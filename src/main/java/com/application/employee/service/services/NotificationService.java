@@ -0,0 +1,15 @@
+package com.application.employee.service.services;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+public interface NotificationService {
+
+    /**
+     * Opens a notification stream for the current user, resuming after {@code lastEventId} when given.
+     */
+    SseEmitter subscribe(String lastEventId);
+
+    Map<String, Object> getMetrics();
+}
@@ -0,0 +1,24 @@
+package com.application.employee.service.services;
+
+import com.application.employee.service.dto.PayrollRunRequest;
+import com.application.employee.service.entities.PayrollRun;
+
+import java.util.List;
+
+public interface PayrollRunService {
+
+    /**
+     * Computes gross pay for every employee of the company with approved hours in the period
+     * and stores the result, with taxes, as a draft run.
+     */
+    PayrollRun createDraftRun(PayrollRunRequest request, String createdBy);
+
+    PayrollRun getRun(Long id);
+
+    List<PayrollRun> getRunsByCompany(Integer companyId);
+
+    /**
+     * Generates payroll records for the READY items of a draft run and marks the run finalized.
+     */
+    PayrollRun finalizeRun(Long id);
+}
@@ -0,0 +1,40 @@
+package com.application.employee.service.services;
+
+import com.application.employee.service.entities.ReminderPolicy;
+import com.application.employee.service.entities.ScheduledJobRun;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface ReminderPolicyService {
+
+    List<ReminderPolicy> getPolicies(Integer companyId);
+
+    ReminderPolicy getPolicy(Long id);
+
+    ReminderPolicy createPolicy(ReminderPolicy policy);
+
+    ReminderPolicy updatePolicy(Long id, ReminderPolicy policy);
+
+    void deletePolicy(Long id);
+
+    /**
+     * Next occurrences of the policy and the recipients a run would remind right now, without sending.
+     */
+    Map<String, Object> preview(Long id, int occurrences);
+
+    /**
+     * Runs the policy now, outside its schedule. A dry run resolves recipients only and is not recorded.
+     */
+    Map<String, Object> runNow(Long id, boolean dryRun);
+
+    /**
+     * Fires every enabled policy whose next occurrence is due. Each occurrence is claimed with a
+     * conditional update, so with several nodes polling only one of them runs it.
+     */
+    int runDuePolicies(LocalDateTime now);
+
+    Page<ScheduledJobRun> getRuns(Long policyId, int page, int size);
+}
@@ -0,0 +1,24 @@
+package com.application.employee.service.services;
+
+import com.application.employee.service.entities.TimeSheetMonthlyRollup;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TimeSheetRollupService {
+
+    /**
+     * Recomputes the rollups of the given masters from their time_sheet rows. Joins the caller's
+     * transaction, so callers must flush pending JPA writes first.
+     */
+    void refresh(Collection<Integer> masterIds);
+
+    /**
+     * Recomputes every rollup in chunks of masters, one transaction per chunk. Returns the number of masters processed.
+     */
+    int rebuildAll();
+
+    List<TimeSheetMonthlyRollup> getMonthlyRollups(Integer month, Integer year);
+
+    List<TimeSheetMonthlyRollup> getEmployeeRollups(String employeeId, Integer year);
+}
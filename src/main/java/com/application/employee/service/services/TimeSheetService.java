@@ -1,20 +1,35 @@
 package com.application.employee.service.services;
 
 import com.application.employee.service.dto.TimeSheetDTO;
+import com.application.employee.service.dto.TimeSheetExportFilter;
+import com.application.employee.service.dto.TimeSheetExportRow;
+import com.application.employee.service.dto.TimeSheetFeedRow;
 import com.application.employee.service.dto.TimeSheetRequestDTO;
+import com.application.employee.service.dto.TimeSheetStatusChangeRequest;
+import com.application.employee.service.dto.TimeSheetStatusChangeResult;
+import com.application.employee.service.dto.TimeSheetUpsertResult;
 import com.application.employee.service.dto.TimeSheetsDTO;
 import com.application.employee.service.dto.UploadedFileDTO;
 import com.application.employee.service.entities.TimeSheet;
+import com.application.employee.service.entities.TimeSheetStatusAudit;
+import com.application.employee.service.enums.TimeSheetTransition;
 import com.application.employee.service.enums.TimeSheetsStatus;
 import org.apache.tomcat.util.http.fileupload.FileUploadException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TimeSheetService {
     public void saveTimeSheet(TimeSheetDTO timeSheet);
 
+    /**
+     * Batch variant of saveTimeSheet: resolves masters once per (employee, project, month, year),
+     * loads existing days in one query and upserts all changed rows with a JDBC batch.
+     */
+    List<TimeSheetUpsertResult> saveTimeSheets(List<TimeSheetDTO> timeSheets);
+
     List<TimeSheet> getAllTimeSheets(TimeSheetRequestDTO timeSheetRequestDTO);
 
     List<String> getAllTimeSheetStatus();
@@ -26,4 +41,24 @@ public interface TimeSheetService {
     void deleteUploadedFile(String employeeID, String filename);
 
     List<TimeSheet> getAllTimeSheet(TimeSheetsDTO timeSheetRequestDTO);
+
+    /**
+     * Streams the month's timesheets as flat rows from a single joined query.
+     * companyIds restricts the result; null means all companies.
+     */
+    void streamMonthlyFeed(Integer month, Integer year, List<Integer> companyIds, Consumer<TimeSheetFeedRow> consumer);
+
+    /**
+     * Streams one pivoted row per timesheet master matching the filter, in a single pass over a
+     * forward-only cursor. companyIds restricts the result; null means all companies.
+     */
+    void exportTimeSheets(TimeSheetExportFilter filter, List<Integer> companyIds, Consumer<TimeSheetExportRow> consumer);
+
+    /**
+     * Moves every day of the selected masters that is in one of the transition's source statuses
+     * to its target status with set-based updates, and records one audit row per changed master.
+     */
+    TimeSheetStatusChangeResult changeStatus(TimeSheetTransition transition, TimeSheetStatusChangeRequest request, String changedBy);
+
+    List<TimeSheetStatusAudit> getStatusHistory(Integer masterId);
 }
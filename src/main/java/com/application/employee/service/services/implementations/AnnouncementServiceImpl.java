@@ -1,71 +1,272 @@
 package com.application.employee.service.services.implementations;
 
+import com.application.employee.service.config.DataMigrations;
+import com.application.employee.service.config.JwtUserPrincipal;
+import com.application.employee.service.dto.AnnouncementFeedPage;
 import com.application.employee.service.entities.Announcement;
-import com.application.employee.service.entities.AnnouncementRecipient;
+import com.application.employee.service.exceptions.ResourceNotFoundException;
+import com.application.employee.service.notification.NotificationBroker;
+import com.application.employee.service.notification.NotificationSubscriber;
+import com.application.employee.service.notification.ReadReceiptBuffer;
+import com.application.employee.service.notification.UnreadCounterCache;
+import com.application.employee.service.repositories.AnnouncementReadRepository;
 import com.application.employee.service.repositories.AnnouncementRecipientRepository;
 import com.application.employee.service.repositories.AnnouncementRepository;
 import com.application.employee.service.services.AnnouncementService;
+import com.application.employee.service.user.Role;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Predicate;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AnnouncementServiceImpl implements AnnouncementService {
 
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    private static final String INSERT_RECIPIENT_SQL =
+            "INSERT INTO announcement_recipients (announcement_id, employee_id, read_status) VALUES (?, ?, false)";
+
     private final AnnouncementRepository announcementRepository;
     private final AnnouncementRecipientRepository recipientRepository;
+    private final AnnouncementReadRepository readRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationBroker notificationBroker;
+    private final ReadReceiptBuffer readReceiptBuffer;
+    private final UnreadCounterCache unreadCounterCache;
+    private final DataMigrations dataMigrations;
+
+    /**
+     * Announcements created before audience rules were explicit lists, and their read flags move to
+     * announcement_reads. Runs once per database.
+     */
+    @PostConstruct
+    void migrateLegacyAnnouncements() {
+        dataMigrations.runOnce("2026-10-announcement-audiences", this::applyLegacyAnnouncementMigration);
+    }
+
+    private void applyLegacyAnnouncementMigration() {
+        int audiences = jdbcTemplate.update("UPDATE announcements SET AUDIENCE_TYPE = 'EXPLICIT' WHERE AUDIENCE_TYPE IS NULL");
+        int reads = jdbcTemplate.update("INSERT IGNORE INTO announcement_reads (ANNOUNCEMENT_ID, EMPLOYEE_ID, READ_AT) " +
+                "SELECT announcement_id, employee_id, CURRENT_TIMESTAMP FROM announcement_recipients WHERE read_status = true");
+        // Rule-based announcements from before they were company-scoped belong to their author's company
+        int scoped = jdbcTemplate.update("UPDATE announcements SET AUDIENCE_COMPANY_ID = (SELECT MIN(uc.company_id) " +
+                "FROM user_company uc WHERE uc.user_id = announcements.created_by) " +
+                "WHERE AUDIENCE_TYPE IN ('ALL', 'ROLE', 'REPORTING_MANAGER') AND AUDIENCE_COMPANY_ID IS NULL " +
+                "AND created_by IN (SELECT u.ID FROM `user` u WHERE u.ROLE <> 'SADMIN') " +
+                "AND EXISTS (SELECT 1 FROM user_company uc WHERE uc.user_id = announcements.created_by)");
+        if (audiences > 0 || reads > 0 || scoped > 0) {
+            log.info("Migrated {} announcements to explicit audiences, {} read flags and {} announcements to their author's company",
+                    audiences, reads, scoped);
+        }
+    }
 
     @Override
+    @Transactional
     public Announcement createAnnouncement(Announcement announcement, List<String> employeeIds) {
+        if (announcement.getAudienceType() == null) {
+            // Callers that only send employeeIds keep their old meaning
+            announcement.setAudienceType(Announcement.AUDIENCE_EXPLICIT);
+        }
+        assignCompany(announcement);
+        validateAudience(announcement, employeeIds);
         announcement.setCreatedAt(LocalDateTime.now());
         Announcement savedAnnouncement = announcementRepository.save(announcement);
 
-        List<AnnouncementRecipient> recipients = new ArrayList<>();
-        for (String empId : employeeIds) {
-            AnnouncementRecipient recipient = new AnnouncementRecipient();
-            recipient.setAnnouncement(savedAnnouncement);
-            recipient.setEmployeeId(empId);
-            recipient.setReadStatus(false);
-            recipients.add(recipient);
+        Set<String> uniqueIds = new LinkedHashSet<>();
+        if (Announcement.AUDIENCE_EXPLICIT.equals(savedAnnouncement.getAudienceType())) {
+            // IDENTITY ids keep Hibernate from batching these, so the list is written with JDBC batches
+            uniqueIds.addAll(employeeIds);
+            uniqueIds.remove(null);
+            List<Object[]> batch = new ArrayList<>(Math.min(uniqueIds.size(), BATCH_SIZE));
+            for (String employeeId : uniqueIds) {
+                batch.add(new Object[]{savedAnnouncement.getId(), employeeId});
+                if (batch.size() == BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(INSERT_RECIPIENT_SQL, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_RECIPIENT_SQL, batch);
+            }
         }
-        recipientRepository.saveAll(recipients);
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", savedAnnouncement.getId());
+        event.put("title", savedAnnouncement.getTitle());
+        event.put("type", savedAnnouncement.getType());
+        event.put("createdAt", savedAnnouncement.getCreatedAt());
+        Predicate<NotificationSubscriber> audience = audienceOf(savedAnnouncement, uniqueIds);
+        notificationBroker.publish("announcement", event, audience);
+        unreadCounterCache.announcementCreated(savedAnnouncement.getId(), audience);
         return savedAnnouncement;
     }
 
     @Override
     public List<Announcement> getAllAnnouncements() {
-        return announcementRepository.findAll();
+        List<Integer> scope = callerCompanyIds();
+        return scope == null ? announcementRepository.findAll()
+                : announcementRepository.findAllByAudienceCompanyIdInOrderByCreatedAtDesc(scope);
     }
 
     @Override
     public List<Announcement> getAnnouncementsForEmployee(String employeeId) {
-        List<AnnouncementRecipient> employeeRecipients = recipientRepository.findByEmployeeId(employeeId);
+        Set<Long> bufferedReads = readReceiptBuffer.pendingFor(employeeId);
         List<Announcement> announcements = new ArrayList<>();
-        for (AnnouncementRecipient r : employeeRecipients) {
-            announcements.add(r.getAnnouncement());
+        for (Object[] row : announcementRepository.findFeed(employeeId)) {
+            Announcement announcement = (Announcement) row[0];
+            announcement.setReadStatus(row[1] != null || bufferedReads.contains(announcement.getId()));
+            announcements.add(announcement);
         }
         return announcements;
     }
 
+    @Override
+    public AnnouncementFeedPage getAnnouncementFeed(String employeeId, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_FEED_PAGE_SIZE);
+        LocalDateTime beforeAt = null;
+        Long beforeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            beforeAt = LocalDateTime.parse(position[0]);
+            beforeId = Long.valueOf(position[1]);
+        }
+        // One extra row tells whether another page exists without a count query
+        List<Object[]> rows = announcementRepository.findFeedPage(employeeId, beforeAt, beforeId,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+
+        Set<Long> bufferedReads = readReceiptBuffer.pendingFor(employeeId);
+        List<Announcement> announcements = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (Object[] row : rows.subList(0, Math.min(rows.size(), pageSize))) {
+            Announcement announcement = (Announcement) row[0];
+            announcement.setReadStatus(row[1] != null || bufferedReads.contains(announcement.getId()));
+            announcements.add(announcement);
+        }
+        String nextCursor = hasMore ? encodeCursor(announcements.get(announcements.size() - 1)) : null;
+        return new AnnouncementFeedPage(announcements, nextCursor, hasMore, unreadCounterCache.getUnreadCount(employeeId));
+    }
+
+    @Override
+    public long getUnreadCount(String employeeId) {
+        return unreadCounterCache.getUnreadCount(employeeId);
+    }
+
     @Override
     public void markAsRead(Long announcementId, String employeeId) {
-        AnnouncementRecipient recipient = recipientRepository.findByAnnouncementIdAndEmployeeId(announcementId, employeeId);
-        if (recipient != null) {
-            recipient.setReadStatus(true);
-            recipientRepository.save(recipient);
+        // Receipts are only buffered for announcements that exist and are addressed to the employee
+        if (!announcementRepository.isVisibleTo(announcementId, employeeId)) {
+            throw new ResourceNotFoundException("Announcement not found with id: " + announcementId);
         }
+        readReceiptBuffer.markRead(announcementId, employeeId);
+        unreadCounterCache.markedRead(announcementId, employeeId);
     }
 
     @Override
+    @Transactional
     public void deleteAnnouncement(Long announcementId) {
-        List<AnnouncementRecipient> recipients = recipientRepository.findByAnnouncementId(announcementId);
-        recipientRepository.deleteAll(recipients);
+        Announcement announcement = announcementRepository.findById(announcementId)
+                .orElseThrow(() -> new ResourceNotFoundException("Announcement not found with id: " + announcementId));
+        List<Integer> scope = callerCompanyIds();
+        if (scope != null && (announcement.getAudienceCompanyId() == null
+                || !scope.contains(announcement.getAudienceCompanyId()))) {
+            throw new ResourceNotFoundException("Announcement not found with id: " + announcementId);
+        }
+        readRepository.deleteByAnnouncementId(announcementId);
+        recipientRepository.deleteByAnnouncementId(announcementId);
         announcementRepository.deleteById(announcementId);
+        unreadCounterCache.announcementDeleted(announcementId);
     }
-}
 
+    /** Opaque keyset position: the last row's createdAt and id, URL-safe so it can go in a query string. */
+    static String encodeCursor(Announcement last) {
+        String position = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Invalid feed cursor");
+            }
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid feed cursor");
+        }
+    }
+
+    /** The announcement's audience rule, applied to connected subscribers instead of employee rows. */
+    private static Predicate<NotificationSubscriber> audienceOf(Announcement announcement, Set<String> employeeIds) {
+        Integer companyId = announcement.getAudienceCompanyId();
+        Role role = announcement.getAudienceRole();
+        String managerId = announcement.getAudienceManagerId();
+        if (Announcement.AUDIENCE_EXPLICIT.equals(announcement.getAudienceType())) {
+            return s -> employeeIds.contains(s.userId());
+        }
+        Predicate<NotificationSubscriber> inCompany = s -> companyId == null || companyId.equals(s.companyId());
+        return switch (announcement.getAudienceType()) {
+            case Announcement.AUDIENCE_ROLE -> inCompany.and(s -> role == s.role());
+            case Announcement.AUDIENCE_REPORTING_MANAGER -> inCompany.and(s -> managerId.equals(s.reportingManagerId()));
+            default -> inCompany;
+        };
+    }
+
+    /**
+     * Places the announcement in the company it was requested for, or the author's only company. Only
+     * SADMIN may leave it unset, which reaches every company.
+     */
+    private static void assignCompany(Announcement announcement) {
+        List<Integer> scope = callerCompanyIds();
+        Integer companyId = announcement.getAudienceCompanyId();
+        if (scope == null) {
+            return;
+        }
+        if (companyId == null) {
+            if (scope.size() != 1) {
+                throw new IllegalArgumentException("companyId is required");
+            }
+            announcement.setAudienceCompanyId(scope.get(0));
+        } else if (!scope.contains(companyId)) {
+            throw new AccessDeniedException("Access denied to company " + companyId);
+        }
+    }
+
+    /** The companies the caller may announce to, or null for SADMIN. */
+    private static List<Integer> callerCompanyIds() {
+        JwtUserPrincipal principal = JwtUserPrincipal.current()
+                .orElseThrow(() -> new AccessDeniedException("Announcements require a signed-in user"));
+        return principal.getRole() == Role.SADMIN ? null : principal.getCompanyIds();
+    }
+
+    private static void validateAudience(Announcement announcement, List<String> employeeIds) {
+        switch (announcement.getAudienceType()) {
+            case Announcement.AUDIENCE_ALL -> { }
+            case Announcement.AUDIENCE_COMPANY -> require(announcement.getAudienceCompanyId() != null, "companyId");
+            case Announcement.AUDIENCE_ROLE -> require(announcement.getAudienceRole() != null, "role");
+            case Announcement.AUDIENCE_REPORTING_MANAGER -> require(announcement.getAudienceManagerId() != null, "managerId");
+            case Announcement.AUDIENCE_EXPLICIT -> require(employeeIds != null && !employeeIds.isEmpty(), "employeeIds");
+            default -> throw new IllegalArgumentException("Unknown audienceType: " + announcement.getAudienceType());
+        }
+    }
+
+    private static void require(boolean present, String field) {
+        if (!present) {
+            throw new IllegalArgumentException(field + " is required for this audienceType");
+        }
+    }
+}
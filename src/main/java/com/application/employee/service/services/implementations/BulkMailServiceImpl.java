@@ -1,6 +1,7 @@
 package com.application.employee.service.services.implementations;
 
 import com.application.employee.service.entities.BulkMail;
+import com.application.employee.service.mail.SuppressionList;
 import com.application.employee.service.repositories.BulkMailRepository;
 import com.application.employee.service.services.BulkMailService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +16,9 @@ public class BulkMailServiceImpl implements BulkMailService {
     @Autowired
     private BulkMailRepository bulkMailRepository;
 
+    @Autowired
+    private SuppressionList suppressionList;
+
     @Override
     @Transactional
     public BulkMail saveBulkEmail(String recruiterId, BulkMail bulkMail) {
@@ -24,7 +28,8 @@ public class BulkMailServiceImpl implements BulkMailService {
 
     @Override
     public List<String> getAllEmails() {
-        return bulkMailRepository.findEmails();
+        // Unique, deliverable addresses only, so blasts built from this list skip bounces and unsubscribes
+        return suppressionList.filter(bulkMailRepository.findEmails()).deliverable();
     }
 
     @Override
@@ -1,23 +1,61 @@
 package com.application.employee.service.services.implementations;
 
+import com.application.employee.service.config.DataMigrations;
+import com.application.employee.service.dto.CampaignProgress;
 import com.application.employee.service.entities.Campaign;
+import com.application.employee.service.entities.CampaignRecipient;
+import com.application.employee.service.exceptions.ResourceNotFoundException;
+import com.application.employee.service.mail.CampaignDispatcher;
+import com.application.employee.service.mail.SuppressionList;
+import com.application.employee.service.repositories.CampaignRecipientRepository;
 import com.application.employee.service.repositories.CampaignRepository;
 import com.application.employee.service.services.CampaignService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CampaignServiceImpl implements CampaignService {
 
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final String INSERT_RECIPIENT_SQL =
+            "INSERT IGNORE INTO campaign_recipients (CAMPAIGN_ID, EMAIL, STATUS, ATTEMPTS) VALUES (?, ?, 'PENDING', 0)";
+
     private final CampaignRepository campaignRepository;
+    private final CampaignRecipientRepository campaignRecipientRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CampaignDispatcher campaignDispatcher;
+    private final DataMigrations dataMigrations;
 
     @Override
+    @Transactional
     public Campaign saveCampaign(Campaign campaign) {
-        return campaignRepository.save(campaign);
+        campaign.setId(null);
+        campaign.setStatus(Campaign.DRAFT);
+        campaign.setLegacyRecipients(null);
+        campaign.setSentCount(0);
+        campaign.setFailedCount(0);
+        campaign.setLastCheckpointId(0L);
+        campaign.setTotalRecipients(0);
+        Campaign saved = campaignRepository.save(campaign);
+
+        Set<String> emails = normalize(campaign.getRecipients());
+        insertRecipients(saved.getId(), emails);
+        saved.setTotalRecipients(emails.size());
+        saved.setRecipients(String.join(",", emails));
+        return saved;
     }
 
     @Override
@@ -27,23 +65,226 @@ public class CampaignServiceImpl implements CampaignService {
 
     @Override
     public Optional<Campaign> getCampaignById(Long id) {
-        return campaignRepository.findById(id);
+        Optional<Campaign> campaign = campaignRepository.findById(id);
+        campaign.ifPresent(c -> c.setRecipients(String.join(",", campaignRecipientRepository.findEmails(id))));
+        return campaign;
     }
 
     @Override
+    @Transactional
     public void deleteCampaign(Long id) {
+        // A running send notices the missing row at its next checkpoint and stops
+        campaignRecipientRepository.deleteByCampaignId(id);
         campaignRepository.deleteById(id);
     }
 
     @Override
+    @Transactional
     public Campaign updateCampaign(Long id, Campaign campaign) {
         return campaignRepository.findById(id).map(existing -> {
+            if (Campaign.SENDING.equals(existing.getStatus())) {
+                throw new IllegalStateException("Campaign " + id + " is being sent; pause it before editing");
+            }
             existing.setName(campaign.getName());
             existing.setSenderEmail(campaign.getSenderEmail());
-            existing.setRecipients(campaign.getRecipients());
             existing.setSubject(campaign.getSubject());
             existing.setBody(campaign.getBody());
+            if (campaign.getRecipients() != null) {
+                if (!isUnsent(existing)) {
+                    throw new IllegalStateException("Recipients of campaign " + id + " can only be replaced before sending starts; "
+                            + "use POST /campaigns/" + id + "/recipients to add to it");
+                }
+                Set<String> emails = normalize(campaign.getRecipients());
+                campaignRecipientRepository.deleteByCampaignId(id);
+                insertRecipients(id, emails);
+                existing.setTotalRecipients(emails.size());
+                existing.setLastCheckpointId(0L);
+                existing.setRecipients(String.join(",", emails));
+            }
             return campaignRepository.save(existing);
         }).orElseThrow(() -> new RuntimeException("Campaign not found with id " + id));
     }
+
+    @Override
+    @Transactional
+    public long addRecipients(Long id, List<String> emails) {
+        Campaign campaign = findCampaign(id);
+        if (Campaign.COMPLETED.equals(campaign.getStatus()) || Campaign.CANCELLED.equals(campaign.getStatus())) {
+            throw new IllegalStateException("Campaign " + id + " is " + campaign.getStatus().toLowerCase());
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        if (emails != null) {
+            emails.forEach(email -> normalized.addAll(normalize(email)));
+        }
+        insertRecipients(id, normalized);
+        long total = campaignRecipientRepository.countByCampaignId(id);
+        campaign.setTotalRecipients((int) total);
+        campaignRepository.save(campaign);
+        return total;
+    }
+
+    @Override
+    @Transactional
+    public Campaign scheduleCampaign(Long id, LocalDateTime scheduledAt) {
+        Campaign campaign = findCampaign(id);
+        String status = campaign.getStatus() == null ? Campaign.DRAFT : campaign.getStatus();
+        if (!Campaign.DRAFT.equals(status) && !Campaign.SCHEDULED.equals(status) && !Campaign.PAUSED.equals(status)) {
+            throw new IllegalStateException("Campaign " + id + " is " + status.toLowerCase() + " and cannot be scheduled");
+        }
+        if (isBlank(campaign.getSenderEmail()) || isBlank(campaign.getSubject()) || isBlank(campaign.getBody())) {
+            throw new IllegalArgumentException("Sender, subject and body are required before sending");
+        }
+        if (campaignRecipientRepository.countByCampaignIdAndStatus(id, CampaignRecipient.PENDING) == 0) {
+            if (Campaign.PAUSED.equals(status)) {
+                // Paused after its last round went out: nothing left to resume
+                campaign.setStatus(Campaign.COMPLETED);
+                campaign.setCompletedAt(LocalDateTime.now());
+                return campaignRepository.save(campaign);
+            }
+            throw new IllegalArgumentException("Campaign " + id + " has no recipients left to send to");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        campaign.setStatus(Campaign.SCHEDULED);
+        campaign.setScheduledAt(scheduledAt == null || scheduledAt.isBefore(now) ? now : scheduledAt);
+        if (campaign.getLastCheckpointId() == null) {
+            campaign.setLastCheckpointId(0L);
+        }
+        Campaign saved = campaignRepository.save(campaign);
+        log.info("Campaign {} scheduled for {}", id, saved.getScheduledAt());
+
+        if (!saved.getScheduledAt().isAfter(now)) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    campaignDispatcher.wakeUp();
+                }
+            });
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Campaign pauseCampaign(Long id) {
+        Campaign campaign = findCampaign(id);
+        if (!Campaign.SENDING.equals(campaign.getStatus()) && !Campaign.SCHEDULED.equals(campaign.getStatus())) {
+            throw new IllegalStateException("Only scheduled or sending campaigns can be paused");
+        }
+        // The sender sees the status change at its next checkpoint and stops after the current round
+        campaign.setStatus(Campaign.PAUSED);
+        campaign.setLockedAt(null);
+        return campaignRepository.save(campaign);
+    }
+
+    @Override
+    @Transactional
+    public Campaign cancelCampaign(Long id) {
+        Campaign campaign = findCampaign(id);
+        if (Campaign.COMPLETED.equals(campaign.getStatus())) {
+            throw new IllegalStateException("Campaign " + id + " has already completed");
+        }
+        campaign.setStatus(Campaign.CANCELLED);
+        campaign.setLockedAt(null);
+        return campaignRepository.save(campaign);
+    }
+
+    @Override
+    public CampaignProgress getProgress(Long id) {
+        Campaign campaign = findCampaign(id);
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : campaignRecipientRepository.countByStatus(id)) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        long pending = counts.getOrDefault(CampaignRecipient.PENDING, 0L);
+        long sent = counts.getOrDefault(CampaignRecipient.SENT, 0L);
+        long failed = counts.getOrDefault(CampaignRecipient.FAILED, 0L);
+        long suppressed = counts.getOrDefault(CampaignRecipient.SUPPRESSED, 0L);
+        long total = pending + sent + failed + suppressed;
+        double percent = total == 0 ? 0 : Math.round((total - pending) * 1000d / total) / 10d;
+        return new CampaignProgress(id, campaign.getStatus(), campaign.getScheduledAt(), campaign.getStartedAt(),
+                campaign.getCompletedAt(), total, pending, sent, failed, suppressed, percent);
+    }
+
+    @Override
+    public Page<CampaignRecipient> getRecipients(Long id, String status, int page, int size) {
+        findCampaign(id);
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 500), Sort.by("id"));
+        if (status == null || status.isBlank()) {
+            return campaignRecipientRepository.findAllByCampaignId(id, pageRequest);
+        }
+        return campaignRecipientRepository.findAllByCampaignIdAndStatus(id, status.toUpperCase(Locale.ROOT), pageRequest);
+    }
+
+    @Override
+    public int migrateLegacyRecipients() {
+        int[] moved = new int[1];
+        dataMigrations.runOnce("2026-10-campaign-recipients", () -> moved[0] = moveLegacyRecipients());
+        return moved[0];
+    }
+
+    private int moveLegacyRecipients() {
+        List<Campaign> legacy = campaignRepository.findAllByLegacyRecipientsIsNotNull();
+        for (Campaign campaign : legacy) {
+            if (campaignRecipientRepository.countByCampaignId(campaign.getId()) == 0) {
+                insertRecipients(campaign.getId(), normalize(campaign.getLegacyRecipients()));
+            }
+            campaign.setLegacyRecipients(null);
+            campaign.setTotalRecipients((int) campaignRecipientRepository.countByCampaignId(campaign.getId()));
+            if (campaign.getStatus() == null) {
+                campaign.setStatus(Campaign.DRAFT);
+                campaign.setSentCount(0);
+                campaign.setFailedCount(0);
+                campaign.setLastCheckpointId(0L);
+            }
+        }
+        campaignRepository.saveAll(legacy);
+        if (!legacy.isEmpty()) {
+            log.info("Moved recipients of {} campaign(s) into campaign_recipients", legacy.size());
+        }
+        return legacy.size();
+    }
+
+    private Campaign findCampaign(Long id) {
+        return campaignRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id " + id));
+    }
+
+    private void insertRecipients(Long campaignId, Collection<String> emails) {
+        List<Object[]> batch = new ArrayList<>(Math.min(emails.size(), INSERT_BATCH_SIZE));
+        for (String email : emails) {
+            batch.add(new Object[]{campaignId, email});
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_RECIPIENT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_RECIPIENT_SQL, batch);
+        }
+    }
+
+    private static boolean isUnsent(Campaign campaign) {
+        return campaign.getStatus() == null || Campaign.DRAFT.equals(campaign.getStatus())
+                || (Campaign.SCHEDULED.equals(campaign.getStatus()) && campaign.getStartedAt() == null);
+    }
+
+    /** Splits on commas, semicolons and whitespace; trims, lower-cases and drops duplicates and non-addresses. */
+    static Set<String> normalize(String recipients) {
+        Set<String> emails = new LinkedHashSet<>();
+        if (recipients == null) {
+            return emails;
+        }
+        for (String part : recipients.split("[,;\\s]+")) {
+            String email = SuppressionList.normalize(part);
+            if (email != null) {
+                emails.add(email);
+            }
+        }
+        return emails;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 }
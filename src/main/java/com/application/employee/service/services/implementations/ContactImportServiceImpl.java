@@ -0,0 +1,237 @@
+package com.application.employee.service.services.implementations;
+
+import com.application.employee.service.Util.CsvParser;
+import com.application.employee.service.dto.ContactImportJob;
+import com.application.employee.service.enums.ContactListType;
+import com.application.employee.service.exceptions.ResourceNotFoundException;
+import com.application.employee.service.exceptions.TooManyRequestsException;
+import com.application.employee.service.mail.SuppressionList;
+import com.application.employee.service.services.ContactImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Service
+public class ContactImportServiceImpl implements ContactImportService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long JOB_RETENTION_HOURS = 6;
+
+    private final Map<String, ContactImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("importExecutor")
+    private Executor importExecutor;
+
+    @Override
+    public ContactImportJob startImport(ContactListType listType, MultipartFile file, String recruiterId,
+                                        boolean updateExisting) throws IOException {
+        evictFinishedJobs();
+        // The upload is gone once the request ends, so it is spooled to disk rather than held in memory
+        Path spool = Files.createTempFile("contact-import-", ".csv");
+        file.transferTo(spool);
+
+        ContactImportJob job = new ContactImportJob(UUID.randomUUID().toString(), listType,
+                file.getOriginalFilename(), updateExisting);
+        jobs.put(job.getJobId(), job);
+        try {
+            importExecutor.execute(() -> runImport(job, spool, recruiterId));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            Files.deleteIfExists(spool);
+            throw new TooManyRequestsException("Too many imports are running, please retry shortly", 30);
+        }
+        return job;
+    }
+
+    @Override
+    public ContactImportJob getJob(String jobId) {
+        ContactImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private void runImport(ContactImportJob job, Path spool, String recruiterId) {
+        long start = System.currentTimeMillis();
+        job.setStatus(ContactImportJob.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        log.info("Importing {} from {} (job {})", job.getListType(), job.getFileName(), job.getJobId());
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            String headerLine = CsvParser.stripBom(reader.readLine());
+            if (headerLine == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            Columns columns = Columns.from(CsvParser.parseLine(headerLine));
+
+            String upsertSql = upsertSql(job.getListType(), job.isUpdateExisting());
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            Set<String> seen = new HashSet<>();
+            List<ContactRow> batch = new ArrayList<>(BATCH_SIZE);
+            String line;
+            int rowNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                rowNumber++;
+                job.setRowsRead(rowNumber);
+                List<String> fields = CsvParser.parseLine(line);
+                String email = SuppressionList.normalize(columns.value(fields, columns.email));
+                if (email == null) {
+                    job.setInvalid(job.getInvalid() + 1);
+                    job.addRowError(rowNumber, "Missing or invalid email");
+                    continue;
+                }
+                if (!seen.add(email)) {
+                    job.setDuplicatesInFile(job.getDuplicatesInFile() + 1);
+                    continue;
+                }
+                batch.add(new ContactRow(email, columns.value(fields, columns.firstName),
+                        columns.value(fields, columns.lastName), columns.value(fields, columns.phone),
+                        columns.value(fields, columns.linkedin)));
+                if (batch.size() == BATCH_SIZE) {
+                    writeBatch(job, batch, recruiterId, upsertSql, transactionTemplate);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(job, batch, recruiterId, upsertSql, transactionTemplate);
+            }
+            job.setStatus(ContactImportJob.COMPLETED);
+        } catch (Exception e) {
+            job.setError(e.getMessage());
+            job.setStatus(ContactImportJob.FAILED);
+            log.error("Import {} failed", job.getJobId(), e);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+            job.setDurationMs(System.currentTimeMillis() - start);
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException ignored) {
+                // Temp directory cleanup will take it
+            }
+        }
+        log.info("Import {}: {} created, {} updated, {} existing, {} duplicates, {} invalid in {} ms", job.getJobId(),
+                job.getCreated(), job.getUpdated(), job.getSkippedExisting(), job.getDuplicatesInFile(),
+                job.getInvalid(), job.getDurationMs());
+    }
+
+    /**
+     * Looks up which addresses of the batch already exist with one IN query, then writes the batch
+     * in one JDBC batch (a multi-row statement with rewriteBatchedStatements) inside one transaction.
+     */
+    private void writeBatch(ContactImportJob job, List<ContactRow> batch, String recruiterId, String upsertSql,
+                            TransactionTemplate transactionTemplate) {
+        String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query("SELECT EMAIL FROM " + job.getListType().getTable() + " WHERE EMAIL IN (" + placeholders + ")",
+                rs -> { existing.add(rs.getString(1).trim().toLowerCase(Locale.ROOT)); },
+                batch.stream().map(ContactRow::email).toArray());
+
+        List<Object[]> args = new ArrayList<>(batch.size());
+        int created = 0, updated = 0, skipped = 0;
+        for (ContactRow row : batch) {
+            boolean exists = existing.contains(row.email());
+            if (exists && !job.isUpdateExisting()) {
+                skipped++;
+                continue;
+            }
+            if (exists) {
+                updated++;
+            } else {
+                created++;
+            }
+            args.add(new Object[]{row.firstName(), row.lastName(), row.phone(), row.email(), recruiterId, row.linkedin()});
+        }
+        if (!args.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(upsertSql, args));
+        }
+        job.setCreated(job.getCreated() + created);
+        job.setUpdated(job.getUpdated() + updated);
+        job.setSkippedExisting(job.getSkippedExisting() + skipped);
+    }
+
+    private static String upsertSql(ContactListType listType, boolean updateExisting) {
+        String linkedin = listType.getLinkedinColumn();
+        String insert = "INSERT INTO " + listType.getTable() + " (FIRSTNAME, LASTNAME, PHONE, EMAIL, RECRUITER_ID, "
+                + linkedin + ") VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE ";
+        if (!updateExisting) {
+            // Rows inserted concurrently since the lookup are left as they are
+            return insert + "EMAIL = EMAIL";
+        }
+        // Blank cells keep the stored value; the owning recruiter never changes on re-import
+        return insert + "FIRSTNAME = COALESCE(VALUES(FIRSTNAME), FIRSTNAME), LASTNAME = COALESCE(VALUES(LASTNAME), LASTNAME), "
+                + "PHONE = COALESCE(VALUES(PHONE), PHONE), "
+                + linkedin + " = COALESCE(VALUES(" + linkedin + "), " + linkedin + ")";
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(JOB_RETENTION_HOURS, ChronoUnit.HOURS);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private record ContactRow(String email, String firstName, String lastName, String phone, String linkedin) {
+    }
+
+    /** Column positions resolved from the header, matched ignoring case, spaces and punctuation. */
+    private record Columns(int email, int firstName, int lastName, int phone, int linkedin) {
+
+        static Columns from(List<String> headers) {
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < headers.size(); i++) {
+                index.putIfAbsent(headers.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", ""), i);
+            }
+            int email = find(index, "email", "emailid", "emailaddress");
+            if (email < 0) {
+                throw new IllegalArgumentException("CSV header must include an email column");
+            }
+            return new Columns(email,
+                    find(index, "firstname", "first"),
+                    find(index, "lastname", "last", "surname"),
+                    find(index, "phone", "phonenumber", "mobile"),
+                    find(index, "linkedin", "linkedinlink", "linkedinurl"));
+        }
+
+        private static int find(Map<String, Integer> index, String... names) {
+            for (String name : names) {
+                Integer position = index.get(name);
+                if (position != null) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+
+        String value(List<String> fields, int position) {
+            if (position < 0 || position >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(position);
+            return value == null || value.isBlank() ? null : value;
+        }
+    }
+}
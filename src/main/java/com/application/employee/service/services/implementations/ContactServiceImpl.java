@@ -1,6 +1,7 @@
 package com.application.employee.service.services.implementations;
 
 import com.application.employee.service.entities.Contacts;
+import com.application.employee.service.mail.SuppressionList;
 import com.application.employee.service.repositories.ContactsRepository;
 import com.application.employee.service.services.ContactService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +12,8 @@ import java.util.List;
 public class ContactServiceImpl implements ContactService {
     @Autowired
     private ContactsRepository contactsRepository;
+    @Autowired
+    private SuppressionList suppressionList;
     @Override
     public List<Contacts> getAllContacts() {
         return contactsRepository.findAll();
@@ -48,6 +51,7 @@ public class ContactServiceImpl implements ContactService {
 
     @Override
     public List<String> getAllEmails() {
-        return contactsRepository.findEmails();
+        // Unique, deliverable addresses only, so blasts built from this list skip bounces and unsubscribes
+        return suppressionList.filter(contactsRepository.findEmails()).deliverable();
     }
 }
@@ -0,0 +1,328 @@
+package com.application.employee.service.services.implementations;
+
+import com.application.employee.service.Util.CsvParser;
+import com.application.employee.service.dto.EmployeeDTO;
+import com.application.employee.service.dto.EmployeeImportReport;
+import com.application.employee.service.dto.EmployeeImportRowResult;
+import com.application.employee.service.repositories.EmployeeRespository;
+import com.application.employee.service.repositories.UserRepository;
+import com.application.employee.service.services.EmployeeImportService;
+import com.application.employee.service.user.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final String INSERT_EMPLOYEE_SQL =
+            "INSERT INTO employees (ID, FIRSTNAME, MIDDLENAME, LASTNAME, EMAILID, COLLEGE_OF_GRADUATION, PHONE_NO, " +
+            "dob, ON_BENCH, COMPANY_ID, ROLE, REPORTING_MANAGER_ID, CREATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO `user` (ID, FIRSTNAME, LASTNAME, EMAIL, PASSWORD, TEMPPASSWORD, ROLE) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_COMPANY_SQL =
+            "INSERT INTO user_company (user_id, company_id, role, default_company, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private EmployeeRespository employeeRespository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("passwordHashExecutor")
+    private Executor passwordHashExecutor;
+
+    @Override
+    public EmployeeImportReport importEmployeesCsv(InputStream inputStream, Integer defaultCompanyId,
+                                                   Collection<Integer> allowedCompanyIds) throws IOException {
+        long start = System.currentTimeMillis();
+        List<ImportRow> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String headerLine = CsvParser.stripBom(reader.readLine());
+            if (headerLine == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            List<String> headers = CsvParser.parseLine(headerLine);
+            String line;
+            int rowNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                rowNumber++;
+                ImportRow row = new ImportRow(rowNumber);
+                try {
+                    row.dto = toEmployeeDTO(headers, CsvParser.parseLine(line));
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    row.fail(e.getMessage());
+                }
+                rows.add(row);
+            }
+        }
+        return runImport(rows, defaultCompanyId, allowedCompanyIds, start);
+    }
+
+    @Override
+    public EmployeeImportReport importEmployees(List<EmployeeDTO> employees, Integer defaultCompanyId,
+                                                Collection<Integer> allowedCompanyIds) {
+        long start = System.currentTimeMillis();
+        List<ImportRow> rows = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            ImportRow row = new ImportRow(i + 1);
+            row.dto = employees.get(i);
+            if (row.dto == null) {
+                row.fail("Row is empty");
+            }
+            rows.add(row);
+        }
+        return runImport(rows, defaultCompanyId, allowedCompanyIds, start);
+    }
+
+    private EmployeeImportReport runImport(List<ImportRow> rows, Integer defaultCompanyId,
+                                           Collection<Integer> allowedCompanyIds, long start) {
+        List<ImportRow> pending = validate(rows, defaultCompanyId, allowedCompanyIds);
+        skipExistingEmails(pending);
+        pending.removeIf(row -> row.status != null);
+
+        if (!pending.isEmpty()) {
+            hashPasswords(pending);
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> insertRows(pending));
+                pending.forEach(row -> row.status = "CREATED");
+            } catch (DataAccessException e) {
+                String message = "Import rolled back: " + e.getMostSpecificCause().getMessage();
+                pending.forEach(row -> {
+                    row.employeeId = null;
+                    row.fail(message);
+                });
+            }
+        }
+        return buildReport(rows, start);
+    }
+
+    private List<ImportRow> validate(List<ImportRow> rows, Integer defaultCompanyId,
+                                     Collection<Integer> allowedCompanyIds) {
+        Map<String, Integer> firstRowByEmail = new HashMap<>();
+        List<ImportRow> pending = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.status != null) {
+                continue;
+            }
+            EmployeeDTO dto = row.dto;
+            if (isBlank(dto.getFirstName()) || isBlank(dto.getLastName())) {
+                row.fail("firstName and lastName are required");
+                continue;
+            }
+            if (isBlank(dto.getEmailID()) || !EMAIL_PATTERN.matcher(dto.getEmailID().trim()).matches()) {
+                row.fail("A valid emailID is required");
+                continue;
+            }
+            dto.setEmailID(dto.getEmailID().trim());
+            if (dto.getCompanyId() == null) {
+                dto.setCompanyId(defaultCompanyId);
+            } else if (allowedCompanyIds != null && !allowedCompanyIds.contains(dto.getCompanyId())) {
+                row.fail("You can only assign employees to companies you manage");
+                continue;
+            }
+            Integer firstRow = firstRowByEmail.putIfAbsent(dto.getEmailID().toLowerCase(Locale.ROOT), row.rowNumber);
+            if (firstRow != null) {
+                row.skip("Duplicate emailID in import (first seen on row " + firstRow + ")");
+                continue;
+            }
+            pending.add(row);
+        }
+        return pending;
+    }
+
+    private void skipExistingEmails(List<ImportRow> pending) {
+        List<String> emails = pending.stream().map(row -> row.dto.getEmailID()).toList();
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = emails.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, emails.size()));
+            employeeRespository.findExistingEmails(chunk).forEach(email -> existing.add(email.toLowerCase(Locale.ROOT)));
+            userRepository.findExistingEmails(chunk).forEach(email -> existing.add(email.toLowerCase(Locale.ROOT)));
+        }
+        for (ImportRow row : pending) {
+            if (existing.contains(row.dto.getEmailID().toLowerCase(Locale.ROOT))) {
+                row.skip("Employee already exists for given EmailID");
+            }
+        }
+    }
+
+    private void hashPasswords(List<ImportRow> pending) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(pending.size());
+        for (ImportRow row : pending) {
+            row.employeeId = UUID.randomUUID().toString();
+            row.temporaryPassword = isBlank(row.dto.getPassword());
+            String rawPassword = row.temporaryPassword ? UUID.randomUUID().toString() : row.dto.getPassword();
+            futures.add(CompletableFuture.runAsync(
+                    () -> row.passwordHash = passwordEncoder.encode(rawPassword), passwordHashExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    private void insertRows(List<ImportRow> pending) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date today = new Date(System.currentTimeMillis());
+
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE_SQL, pending, BATCH_SIZE, (ps, row) -> {
+            EmployeeDTO dto = row.dto;
+            ps.setString(1, row.employeeId);
+            ps.setString(2, dto.getFirstName());
+            ps.setString(3, dto.getMiddleName());
+            ps.setString(4, dto.getLastName());
+            ps.setString(5, dto.getEmailID());
+            ps.setString(6, dto.getClgOfGrad());
+            ps.setString(7, dto.getPhoneNo());
+            ps.setObject(8, dto.getDob() != null ? Date.valueOf(dto.getDob()) : null);
+            ps.setString(9, dto.getOnBench());
+            ps.setObject(10, dto.getCompanyId());
+            ps.setString(11, dto.getSecurityGroup() != null ? dto.getSecurityGroup().name() : null);
+            ps.setString(12, dto.getReportingManagerId());
+            ps.setTimestamp(13, now);
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, pending, BATCH_SIZE, (ps, row) -> {
+            EmployeeDTO dto = row.dto;
+            ps.setString(1, row.employeeId);
+            ps.setString(2, dto.getFirstName());
+            ps.setString(3, dto.getLastName());
+            ps.setString(4, dto.getEmailID());
+            ps.setString(5, row.passwordHash);
+            ps.setString(6, row.temporaryPassword ? row.passwordHash : null);
+            ps.setString(7, roleOf(dto).name());
+        });
+
+        List<ImportRow> withCompany = pending.stream().filter(row -> row.dto.getCompanyId() != null).toList();
+        jdbcTemplate.batchUpdate(INSERT_USER_COMPANY_SQL, withCompany, BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, row.employeeId);
+            ps.setInt(2, row.dto.getCompanyId());
+            ps.setString(3, roleOf(row.dto).name());
+            ps.setString(4, "true");
+            ps.setDate(5, today);
+        });
+    }
+
+    private EmployeeImportReport buildReport(List<ImportRow> rows, long start) {
+        List<EmployeeImportRowResult> results = new ArrayList<>(rows.size());
+        int created = 0;
+        int skipped = 0;
+        int failed = 0;
+        for (ImportRow row : rows) {
+            switch (row.status) {
+                case "CREATED" -> created++;
+                case "SKIPPED" -> skipped++;
+                default -> failed++;
+            }
+            String email = row.dto != null ? row.dto.getEmailID() : null;
+            results.add(new EmployeeImportRowResult(row.rowNumber, email, row.employeeId, row.status, row.message));
+        }
+        return new EmployeeImportReport(rows.size(), created, skipped, failed,
+                System.currentTimeMillis() - start, results);
+    }
+
+    private EmployeeDTO toEmployeeDTO(List<String> headers, List<String> values) {
+        EmployeeDTO dto = new EmployeeDTO();
+        for (int i = 0; i < headers.size() && i < values.size(); i++) {
+            String value = values.get(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (headers.get(i).toLowerCase(Locale.ROOT)) {
+                case "firstname" -> dto.setFirstName(value);
+                case "middlename" -> dto.setMiddleName(value);
+                case "lastname" -> dto.setLastName(value);
+                case "emailid", "email" -> dto.setEmailID(value);
+                case "phoneno", "phone" -> dto.setPhoneNo(value);
+                case "clgofgrad" -> dto.setClgOfGrad(value);
+                case "dob" -> dto.setDob(LocalDate.parse(value));
+                case "onbench" -> dto.setOnBench(value);
+                case "securitygroup", "role" -> dto.setSecurityGroup(parseRole(value));
+                case "companyid" -> dto.setCompanyId(parseCompanyId(value));
+                case "reportingmanagerid" -> dto.setReportingManagerId(value);
+                case "password" -> dto.setPassword(value);
+                default -> {
+                    // Unknown columns are ignored so exports with extra columns can be re-imported.
+                }
+            }
+        }
+        return dto;
+    }
+
+    private Role parseRole(String value) {
+        try {
+            return Role.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown role: " + value);
+        }
+    }
+
+    private Integer parseCompanyId(String value) {
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid companyId: " + value);
+        }
+    }
+
+    private static Role roleOf(EmployeeDTO dto) {
+        return dto.getSecurityGroup() != null ? dto.getSecurityGroup() : Role.EMPLOYEE;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static class ImportRow {
+        private final int rowNumber;
+        private EmployeeDTO dto;
+        private String status;
+        private String message;
+        private String employeeId;
+        private String passwordHash;
+        private boolean temporaryPassword;
+
+        ImportRow(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+
+        void fail(String message) {
+            this.status = "FAILED";
+            this.message = message;
+        }
+
+        void skip(String message) {
+            this.status = "SKIPPED";
+            this.message = message;
+        }
+    }
+}
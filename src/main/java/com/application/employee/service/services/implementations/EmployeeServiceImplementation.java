@@ -678,19 +678,12 @@ public class EmployeeServiceImplementation implements EmployeeService {
     public List<Map<String, Object>> getAllWeeklyFiles(Integer companyId, String reportingManagerId) throws IOException {
         List<Map<String, Object>> allFiles = new ArrayList<>();
         List<Employee> employees;
-        
-        // Filter employees by company if companyId is provided
-        if (companyId != null) {
-            employees = employeeRespository.findByCompanyCompanyId(companyId);
-        } else {
-            employees = employeeRespository.findAll();
-        }
-        
-        // Filter by reportingManagerId if provided
+
+        // Company and reporting manager are both filtered in the database
         if (reportingManagerId != null && !reportingManagerId.isEmpty()) {
-            employees = employees.stream()
-                    .filter(emp -> reportingManagerId.equals(emp.getReportingManagerId()))
-                    .collect(java.util.stream.Collectors.toList());
+            employees = employeeRespository.findByCompanyOrAllAndReportingManagerId(companyId, reportingManagerId);
+        } else {
+            employees = employeeRespository.findByCompanyOrAll(companyId);
         }
 
         for (Employee employee : employees) {
@@ -0,0 +1,145 @@
+package com.application.employee.service.services.implementations;
+
+import com.application.employee.service.config.JwtUserPrincipal;
+import com.application.employee.service.dto.MailJobStatus;
+import com.application.employee.service.entities.MailOutbox;
+import com.application.employee.service.exceptions.ResourceNotFoundException;
+import com.application.employee.service.mail.MailMessage;
+import com.application.employee.service.mail.MailOutboxWorker;
+import com.application.employee.service.repositories.MailOutboxRepository;
+import com.application.employee.service.services.MailOutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class MailOutboxServiceImpl implements MailOutboxService {
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailOutboxWorker mailOutboxWorker;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public String enqueue(MailMessage message, String category, String idempotencyKey) {
+        return enqueueAll(List.of(message), category, idempotencyKey);
+    }
+
+    @Override
+    @Transactional
+    public String enqueueAll(List<MailMessage> messages, String category, String idempotencyKey) {
+        String key = idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyKey.trim();
+        if (key != null) {
+            Optional<MailOutbox> existing = mailOutboxRepository.findByIdempotencyKey(key);
+            if (existing.isPresent()) {
+                log.info("Idempotency key already used, returning job {}", existing.get().getJobId());
+                return existing.get().getJobId();
+            }
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        String createdBy = JwtUserPrincipal.current().map(JwtUserPrincipal::getEmail).orElse(null);
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutbox> rows = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            MailMessage message = messages.get(i);
+            MailOutbox row = new MailOutbox();
+            row.setJobId(jobId);
+            // The first row carries the caller's key; the rest are suffixed so the unique index still holds
+            row.setIdempotencyKey(key == null ? null : (i == 0 ? key : key + "#" + i));
+            row.setCategory(category);
+            row.setFromEmail(message.from());
+            row.setRecipients(abbreviate(String.join(",", message.to()), 2000));
+            row.setRecipientCount(message.to().size());
+            row.setDeliveredCount(0);
+            row.setSubject(abbreviate(message.subject(), 1000));
+            row.setPayload(toJson(message));
+            row.setStatus(MailOutbox.PENDING);
+            row.setAttempts(0);
+            row.setNextAttemptAt(now);
+            row.setCreatedBy(createdBy);
+            row.setCreatedAt(now);
+            rows.add(row);
+        }
+        mailOutboxRepository.saveAll(rows);
+        log.debug("Queued {} mail(s) under job {}", rows.size(), jobId);
+
+        // Only wake the worker once the rows are visible to its own transactions
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mailOutboxWorker.wakeUp();
+                }
+            });
+        } else {
+            mailOutboxWorker.wakeUp();
+        }
+        return jobId;
+    }
+
+    @Override
+    public MailJobStatus getJobStatus(String jobId) {
+        List<MailOutbox> rows = mailOutboxRepository.findAllByJobIdOrderByIdAsc(jobId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Mail job not found: " + jobId);
+        }
+        int pending = 0, sending = 0, sent = 0, dead = 0, recipients = 0, delivered = 0;
+        for (MailOutbox row : rows) {
+            recipients += row.getRecipientCount() == null ? 0 : row.getRecipientCount();
+            delivered += row.getDeliveredCount() == null ? 0 : row.getDeliveredCount();
+            switch (row.getStatus()) {
+                case MailOutbox.PENDING -> pending++;
+                case MailOutbox.SENDING -> sending++;
+                case MailOutbox.SENT -> sent++;
+                default -> dead++;
+            }
+        }
+        return new MailJobStatus(jobId, rows.size(), pending, sending, sent, dead, recipients, delivered,
+                pending + sending == 0, rows);
+    }
+
+    @Override
+    @Transactional
+    public int retryDead(String jobId) {
+        int requeued = mailOutboxRepository.retryDead(jobId, LocalDateTime.now(), mailOutboxWorker.deadPayloadRetainedSince());
+        if (requeued > 0) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mailOutboxWorker.wakeUp();
+                }
+            });
+        }
+        return requeued;
+    }
+
+    private String toJson(MailMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Mail message could not be serialized", e);
+        }
+    }
+
+    private static String abbreviate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max - 3) + "...";
+    }
+}
@@ -1,6 +1,7 @@
 package com.application.employee.service.services.implementations;
 
 import com.application.employee.service.entities.Message;
+import com.application.employee.service.mail.EmailTemplateCache;
 import com.application.employee.service.repositories.MessageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -13,9 +14,13 @@ public class MessageServiceImpl {
 
     @Autowired
     private MessageRepository repository;
+    @Autowired
+    private EmailTemplateCache templateCache;
 
     public Message save(Message message) {
-        return repository.save(message);
+        Message saved = repository.save(message);
+        templateCache.invalidateAll();
+        return saved;
     }
 
     public List<Message> getAll() {
@@ -34,12 +39,16 @@ public class MessageServiceImpl {
             msg.setDescription(newData.getDescription());
             msg.setCategory(newData.getCategory());
             msg.setIsActive(newData.getIsActive());
-            return repository.save(msg);
+            Message saved = repository.save(msg);
+            // The category or active flag may have changed, so every cached category is dropped
+            templateCache.invalidateAll();
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Message not found"));
     }
 
     public void delete(Long id) {
         repository.deleteById(id);
+        templateCache.invalidateAll();
     }
 
     public Optional<Message> getByCategory(String category) {
@@ -67,7 +76,7 @@ public class MessageServiceImpl {
                 template.setBody(getDefaultTemplateBody(category));
                 template.setCategory(category);
                 template.setIsActive(true);
-                repository.save(template);
+                save(template);
             }
         }
     }
@@ -0,0 +1,60 @@
+package com.application.employee.service.services.implementations;
+
+import com.application.employee.service.config.JwtUserPrincipal;
+import com.application.employee.service.notification.NotificationBroker;
+import com.application.employee.service.notification.NotificationSubscriber;
+import com.application.employee.service.services.NotificationService;
+import com.application.employee.service.user.Role;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class NotificationServiceImpl implements NotificationService {
+
+    private final NotificationBroker notificationBroker;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        JwtUserPrincipal principal = JwtUserPrincipal.current()
+                .orElseThrow(() -> new AccessDeniedException("Notification streams require a signed-in user"));
+        return notificationBroker.subscribe(resolveSubscriber(principal), lastEventId);
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        return notificationBroker.getMetrics();
+    }
+
+    /**
+     * Users and employees share ids. Loaded with JdbcTemplate rather than the request's EntityManager,
+     * which stays open for the life of the stream and would otherwise hold a pooled connection.
+     */
+    private NotificationSubscriber resolveSubscriber(JwtUserPrincipal principal) {
+        List<NotificationSubscriber> found = jdbcTemplate.query(
+                "SELECT COMPANY_ID, ROLE, REPORTING_MANAGER_ID FROM employees WHERE ID = ?",
+                (rs, rowNum) -> new NotificationSubscriber(principal.getId(), principal.getEmail(),
+                        (Integer) rs.getObject(1), parseRole(rs.getString(2)), rs.getString(3)),
+                principal.getId());
+        if (!found.isEmpty()) {
+            return found.get(0);
+        }
+        // Admin accounts without an employee row still get events addressed to them and ALL announcements
+        return new NotificationSubscriber(principal.getId(), principal.getEmail(), null, principal.getRole(), null);
+    }
+
+    private static Role parseRole(String role) {
+        try {
+            return role == null ? null : Role.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.application.employee.service.services.implementations;
+
+import com.application.employee.service.dto.PayrollRunRequest;
+import com.application.employee.service.entities.PayrollRecord;
+import com.application.employee.service.entities.PayrollRun;
+import com.application.employee.service.entities.PayrollRunItem;
+import com.application.employee.service.exceptions.ResourceNotFoundException;
+import com.application.employee.service.notification.NotificationBroker;
+import com.application.employee.service.repositories.PayrollRunRepository;
+import com.application.employee.service.services.PayrollRunService;
+import com.application.employee.service.services.PayrollService;
+import com.application.employee.service.services.TaxCalculatorService.TaxCalculations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Service
+public class PayrollRunServiceImpl implements PayrollRunService {
+
+    private static final BigDecimal DEFAULT_OVERTIME_MULTIPLIER = new BigDecimal("1.5");
+
+    // Grouped by calendar month so each month's hours are priced at that month's rate
+    private static final String APPROVED_HOURS_SQL =
+            "SELECT e.ID, e.FIRSTNAME, e.LASTNAME, YEAR(t.DATE), MONTH(t.DATE), " +
+            "COALESCE(SUM(t.REGULAR_HOURS), 0), COALESCE(SUM(t.OVERTIME_HOURS), 0) " +
+            "FROM time_sheet t JOIN timesheet_master m ON m.MASTER_ID = t.MASTER_ID " +
+            "JOIN project_history p ON p.ID = m.project_history_id JOIN employees e ON e.ID = m.employee_id " +
+            "WHERE e.COMPANY_ID = ? AND t.DATE BETWEEN ? AND ? AND UPPER(t.STATUS) = 'APPROVED' " +
+            "GROUP BY e.ID, e.FIRSTNAME, e.LASTNAME, YEAR(t.DATE), MONTH(t.DATE) ORDER BY e.ID";
+    // WithHoldTracking stores the month as free text, so the caller passes the spellings to match
+    private static final String WITHHOLD_RATES_SQL =
+            "SELECT w.employee_id, w.ACTUAL_RATE, w.PAID_RATE FROM withhold_tracking w " +
+            "JOIN employees e ON e.ID = w.employee_id " +
+            "WHERE e.COMPANY_ID = ? AND w.YEAR = ? AND LOWER(w.MONTH) IN (?, ?, ?, ?) ORDER BY w.ID";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private NotificationBroker notificationBroker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("payrollExecutor")
+    private Executor payrollExecutor;
+
+    @Override
+    public PayrollRun createDraftRun(PayrollRunRequest request, String createdBy) {
+        if (request.getCompanyId() == null || request.getPayPeriodStart() == null || request.getPayPeriodEnd() == null) {
+            throw new IllegalArgumentException("Company and pay period are required");
+        }
+        if (request.getPayPeriodEnd().isBefore(request.getPayPeriodStart())) {
+            throw new IllegalArgumentException("Pay period end is before its start");
+        }
+        LocalDate payDate = request.getPayDate() != null ? request.getPayDate() : request.getPayPeriodEnd();
+        BigDecimal overtimeMultiplier = request.getOvertimeMultiplier() != null
+                ? request.getOvertimeMultiplier() : DEFAULT_OVERTIME_MULTIPLIER;
+
+        // 1️⃣ Approved hours per employee and month in one grouped query
+        Map<String, PayrollRunItem> items = new LinkedHashMap<>();
+        Map<String, Map<YearMonth, BigDecimal[]>> monthlyHours = new HashMap<>();
+        jdbcTemplate.query(APPROVED_HOURS_SQL, rs -> {
+            String employeeId = rs.getString(1);
+            PayrollRunItem item = items.computeIfAbsent(employeeId, id -> {
+                PayrollRunItem created = new PayrollRunItem();
+                created.setEmployeeId(id);
+                created.setRegularHours(BigDecimal.ZERO);
+                created.setOvertimeHours(BigDecimal.ZERO);
+                return created;
+            });
+            item.setEmployeeName(rs.getString(2) + " " + rs.getString(3));
+            BigDecimal regular = rs.getBigDecimal(6).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal overtime = rs.getBigDecimal(7).setScale(2, RoundingMode.HALF_UP);
+            item.setRegularHours(item.getRegularHours().add(regular));
+            item.setOvertimeHours(item.getOvertimeHours().add(overtime));
+            monthlyHours.computeIfAbsent(employeeId, id -> new TreeMap<>())
+                    .put(YearMonth.of(rs.getInt(4), rs.getInt(5)), new BigDecimal[]{regular, overtime});
+        }, request.getCompanyId(), Date.valueOf(request.getPayPeriodStart()), Date.valueOf(request.getPayPeriodEnd()));
+
+        // 2️⃣ Tracked pay rates for every month the period touches
+        Map<YearMonth, Map<String, BigDecimal>> trackedRates = new HashMap<>();
+        for (YearMonth month = YearMonth.from(request.getPayPeriodStart());
+             !month.isAfter(YearMonth.from(request.getPayPeriodEnd())); month = month.plusMonths(1)) {
+            trackedRates.put(month, loadTrackedRates(request.getCompanyId(), month));
+        }
+
+        // 3️⃣ Gross pay month by month, then taxes per employee computed in parallel
+        List<CompletableFuture<Void>> calculations = new ArrayList<>(items.size());
+        for (PayrollRunItem item : items.values()) {
+            if (!priceMonthly(item, monthlyHours.get(item.getEmployeeId()), trackedRates, overtimeMultiplier)) {
+                continue;
+            }
+            calculations.add(CompletableFuture.runAsync(
+                    () -> applyTaxes(item, request.getPayPeriodStart(), request.getPayPeriodEnd(), payDate),
+                    payrollExecutor));
+        }
+        CompletableFuture.allOf(calculations.toArray(new CompletableFuture[0])).join();
+
+        // 4️⃣ Persist the draft run with its items, replacing an earlier draft of the same period
+        PayrollRun run = new PayrollRun();
+        run.setCompanyId(request.getCompanyId());
+        run.setPayPeriodStart(request.getPayPeriodStart());
+        run.setPayPeriodEnd(request.getPayPeriodEnd());
+        run.setPayDate(payDate);
+        run.setOvertimeMultiplier(overtimeMultiplier);
+        run.setStatus(PayrollRun.DRAFT);
+        run.setCreatedBy(createdBy);
+        run.setEmployeeCount(items.size());
+        run.setTotalGrossPay(items.values().stream().map(PayrollRunItem::getGrossPay).reduce(BigDecimal.ZERO, BigDecimal::add));
+        items.values().forEach(item -> item.setRun(run));
+        run.getItems().addAll(items.values());
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                payrollRunRepository.findByCompanyIdAndPayPeriodStartAndPayPeriodEnd(request.getCompanyId(),
+                        request.getPayPeriodStart(), request.getPayPeriodEnd()).ifPresent(this::discardDraft);
+                return payrollRunRepository.saveAndFlush(run);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Another payroll run for this pay period was created at the same time");
+        }
+    }
+
+    @Override
+    public PayrollRun getRun(Long id) {
+        return payrollRunRepository.findWithItemsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Payroll run not found: " + id));
+    }
+
+    @Override
+    public List<PayrollRun> getRunsByCompany(Integer companyId) {
+        return payrollRunRepository.findAllByCompanyIdOrderByPayPeriodStartDesc(companyId);
+    }
+
+    @Override
+    @Transactional
+    public PayrollRun finalizeRun(Long id) {
+        // Claim the run before paying anyone; a concurrent finalize blocks here and then finds it finalized
+        if (payrollRunRepository.transition(id, PayrollRun.DRAFT, PayrollRun.FINALIZED) == 0) {
+            PayrollRun current = getRun(id);
+            throw new IllegalStateException("Payroll run " + id + " is already " + current.getStatus());
+        }
+        PayrollRun run = getRun(id);
+        // Sequential on purpose: each record advances the employee's YTD totals and the company's check numbers
+        List<String> paidEmployeeIds = new ArrayList<>();
+        for (PayrollRunItem item : run.getItems()) {
+            if (!PayrollRunItem.READY.equals(item.getStatus())) {
+                continue;
+            }
+            PayrollRecord record = payrollService.generatePayroll(item.getEmployeeId(), item.getGrossPay(),
+                    run.getPayPeriodStart(), run.getPayPeriodEnd(), run.getPayDate(), toTaxCalculations(item),
+                    new HashMap<>(), new HashMap<>(), null, null, null, null, null, null, null, null);
+            item.setPayrollRecordId(record.getId());
+            item.setStatus(PayrollRunItem.FINALIZED);
+            paidEmployeeIds.add(item.getEmployeeId());
+        }
+        run.setFinalizedAt(LocalDateTime.now());
+        PayrollRun saved = payrollRunRepository.save(run);
+
+        // One event for the whole run; each employee's client fetches its own paystub
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("payrollRunId", saved.getId());
+        event.put("payPeriodStart", saved.getPayPeriodStart());
+        event.put("payPeriodEnd", saved.getPayPeriodEnd());
+        event.put("payDate", saved.getPayDate());
+        notificationBroker.publishToUsers("payroll.processed", event, paidEmployeeIds);
+        return saved;
+    }
+
+    private void applyTaxes(PayrollRunItem item, LocalDate payPeriodStart, LocalDate payPeriodEnd, LocalDate payDate) {
+        try {
+            TaxCalculations taxes = payrollService.calculatePayroll(item.getEmployeeId(), item.getGrossPay(),
+                    payPeriodStart, payPeriodEnd, payDate, new HashMap<>(), new HashMap<>());
+            item.setFederalTax(taxes.getFederalTax());
+            item.setStateTax(taxes.getStateTax());
+            item.setLocalTax(taxes.getLocalTax());
+            item.setSocialSecurity(taxes.getSocialSecurity());
+            item.setMedicare(taxes.getMedicare());
+            item.setAdditionalMedicare(taxes.getAdditionalMedicare());
+            item.setTotalTaxes(taxes.getTotalTaxes());
+            item.setNetPay(item.getGrossPay().subtract(taxes.getTotalTaxes() != null ? taxes.getTotalTaxes() : BigDecimal.ZERO));
+            item.setStatus(PayrollRunItem.READY);
+        } catch (RuntimeException e) {
+            item.setStatus(PayrollRunItem.ERROR);
+            item.setMessage(e.getMessage());
+        }
+    }
+
+    private static TaxCalculations toTaxCalculations(PayrollRunItem item) {
+        TaxCalculations taxes = new TaxCalculations();
+        taxes.setGrossPay(item.getGrossPay());
+        taxes.setFederalTax(orZero(item.getFederalTax()));
+        taxes.setStateTax(orZero(item.getStateTax()));
+        taxes.setLocalTax(orZero(item.getLocalTax()));
+        taxes.setSocialSecurity(orZero(item.getSocialSecurity()));
+        taxes.setMedicare(orZero(item.getMedicare()));
+        taxes.setAdditionalMedicare(orZero(item.getAdditionalMedicare()));
+        taxes.setTotalTaxes(orZero(item.getTotalTaxes()));
+        return taxes;
+    }
+
+    /**
+     * Only a draft can be replaced. Locking it through the status transition keeps a concurrent finalize
+     * from paying the run that is being deleted.
+     */
+    private void discardDraft(PayrollRun existing) {
+        if (payrollRunRepository.transition(existing.getId(), PayrollRun.DRAFT, PayrollRun.DRAFT) == 0) {
+            throw new IllegalStateException("Payroll for " + existing.getPayPeriodStart() + " to "
+                    + existing.getPayPeriodEnd() + " is already finalized in run " + existing.getId());
+        }
+        payrollRunRepository.deleteItemsByRunId(existing.getId());
+        payrollRunRepository.deleteById(existing.getId());
+        payrollRunRepository.flush();
+    }
+
+    /**
+     * Prices each month's hours at that month's tracked pay rate. Client bill rates are never used as pay
+     * rates, so an employee without a tracked rate for a month they worked is skipped with the reason.
+     */
+    private static boolean priceMonthly(PayrollRunItem item, Map<YearMonth, BigDecimal[]> hoursByMonth,
+                                        Map<YearMonth, Map<String, BigDecimal>> trackedRates,
+                                        BigDecimal overtimeMultiplier) {
+        BigDecimal grossPay = BigDecimal.ZERO;
+        BigDecimal rate = null;
+        List<String> missing = new ArrayList<>();
+        List<String> pricing = new ArrayList<>();
+        for (Map.Entry<YearMonth, BigDecimal[]> month : hoursByMonth.entrySet()) {
+            BigDecimal regular = month.getValue()[0];
+            BigDecimal overtime = month.getValue()[1];
+            if (regular.signum() == 0 && overtime.signum() == 0) {
+                continue;
+            }
+            BigDecimal monthRate = trackedRates.getOrDefault(month.getKey(), Map.of()).get(item.getEmployeeId());
+            if (monthRate == null) {
+                missing.add(month.getKey().toString());
+                continue;
+            }
+            rate = monthRate;
+            pricing.add(month.getKey() + " @ " + monthRate.toPlainString());
+            grossPay = grossPay.add(regular.multiply(monthRate))
+                    .add(overtime.multiply(monthRate).multiply(overtimeMultiplier));
+        }
+        if (!missing.isEmpty()) {
+            item.setGrossPay(BigDecimal.ZERO);
+            item.setStatus(PayrollRunItem.SKIPPED);
+            item.setMessage("No pay rate in withhold tracking for " + String.join(", ", missing));
+            return false;
+        }
+        item.setRate(rate);
+        item.setRateSource("WITHHOLD_TRACKING");
+        if (pricing.size() > 1) {
+            item.setMessage("Priced per month: " + String.join(", ", pricing));
+        }
+        item.setGrossPay(grossPay.setScale(2, RoundingMode.HALF_UP));
+        return true;
+    }
+
+    private Map<String, BigDecimal> loadTrackedRates(Integer companyId, YearMonth yearMonth) {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        java.time.Month month = yearMonth.getMonth();
+        jdbcTemplate.query(WITHHOLD_RATES_SQL, rs -> {
+            BigDecimal rate = rs.getBigDecimal(2);
+            if (rate == null || rate.signum() <= 0) {
+                rate = rs.getBigDecimal(3);
+            }
+            if (rate != null && rate.signum() > 0) {
+                rates.put(rs.getString(1), rate);
+            }
+        }, companyId, String.valueOf(yearMonth.getYear()),
+                String.valueOf(month.getValue()), String.format("%02d", month.getValue()),
+                month.getDisplayName(TextStyle.FULL, Locale.ENGLISH).toLowerCase(Locale.ROOT),
+                month.getDisplayName(TextStyle.SHORT, Locale.ENGLISH).toLowerCase(Locale.ROOT));
+        return rates;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,314 @@
+package com.application.employee.service.services.implementations;
+
+import com.application.employee.service.config.JwtUserPrincipal;
+import com.application.employee.service.dto.TimesheetReminderRequest;
+import com.application.employee.service.entities.ReminderPolicy;
+import com.application.employee.service.entities.ScheduledJobRun;
+import com.application.employee.service.exceptions.ResourceNotFoundException;
+import com.application.employee.service.repositories.ReminderPolicyRepository;
+import com.application.employee.service.repositories.ScheduledJobRunRepository;
+import com.application.employee.service.scheduling.ReminderSchedule;
+import com.application.employee.service.services.ReminderPolicyService;
+import com.application.employee.service.services.TimesheetReminderService;
+import com.application.employee.service.user.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class ReminderPolicyServiceImpl implements ReminderPolicyService {
+
+    private final ReminderPolicyRepository policyRepository;
+    private final ScheduledJobRunRepository runRepository;
+    private final TimesheetReminderService timesheetReminderService;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxLatenessMinutes;
+
+    public ReminderPolicyServiceImpl(ReminderPolicyRepository policyRepository,
+                                     ScheduledJobRunRepository runRepository,
+                                     TimesheetReminderService timesheetReminderService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${application.scheduling.max-lateness-minutes:720}") long maxLatenessMinutes) {
+        this.policyRepository = policyRepository;
+        this.runRepository = runRepository;
+        this.timesheetReminderService = timesheetReminderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxLatenessMinutes = maxLatenessMinutes;
+    }
+
+    @Override
+    public List<ReminderPolicy> getPolicies(Integer companyId) {
+        List<Integer> scope = callerCompanyIds();
+        if (companyId != null) {
+            requireCompanyAccess(scope, companyId);
+            return policyRepository.findAllByCompanyIdOrderByIdAsc(companyId);
+        }
+        return scope == null ? policyRepository.findAllByOrderByIdAsc()
+                : policyRepository.findAllByCompanyIdInOrderByIdAsc(scope);
+    }
+
+    @Override
+    public ReminderPolicy getPolicy(Long id) {
+        ReminderPolicy policy = policyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reminder policy not found with id: " + id));
+        List<Integer> scope = callerCompanyIds();
+        // Other tenants' policies are reported as missing, like rows hidden by the company filter
+        if (scope != null && (policy.getCompanyId() == null || !scope.contains(policy.getCompanyId()))) {
+            throw new ResourceNotFoundException("Reminder policy not found with id: " + id);
+        }
+        return policy;
+    }
+
+    @Override
+    public ReminderPolicy createPolicy(ReminderPolicy policy) {
+        requireCompanyAccess(callerCompanyIds(), policy.getCompanyId());
+        LocalDateTime now = LocalDateTime.now();
+        policy.setId(null);
+        policy.setCreatedBy(currentUser());
+        policy.setCreatedAt(now);
+        policy.setLastRunAt(null);
+        return save(policy, now);
+    }
+
+    @Override
+    public ReminderPolicy updatePolicy(Long id, ReminderPolicy changes) {
+        ReminderPolicy policy = getPolicy(id);
+        requireCompanyAccess(callerCompanyIds(), changes.getCompanyId());
+        policy.setName(changes.getName());
+        policy.setJobType(changes.getJobType());
+        policy.setCompanyId(changes.getCompanyId());
+        policy.setCronExpression(changes.getCronExpression());
+        policy.setZoneId(changes.getZoneId());
+        policy.setLastBusinessDays(changes.getLastBusinessDays());
+        policy.setPeriod(changes.getPeriod());
+        policy.setSubject(changes.getSubject());
+        policy.setMessage(changes.getMessage());
+        policy.setEnabled(changes.isEnabled());
+        return save(policy, LocalDateTime.now());
+    }
+
+    @Override
+    public void deletePolicy(Long id) {
+        policyRepository.delete(getPolicy(id));
+    }
+
+    @Override
+    public Map<String, Object> preview(Long id, int occurrences) {
+        ReminderPolicy policy = getPolicy(id);
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDateTime> upcoming = ReminderSchedule.upcoming(policy, now, Math.max(1, Math.min(occurrences, 50)));
+
+        Map<String, Object> preview = new LinkedHashMap<>();
+        preview.put("policyId", policy.getId());
+        preview.put("enabled", policy.isEnabled());
+        preview.put("nextOccurrences", upcoming);
+        // Recipients are who would be reminded if the next occurrence fired now
+        preview.put("dryRun", execute(policy, upcoming.isEmpty() ? now : upcoming.get(0), null, true));
+        return preview;
+    }
+
+    @Override
+    public Map<String, Object> runNow(Long id, boolean dryRun) {
+        ReminderPolicy policy = getPolicy(id);
+        LocalDateTime now = LocalDateTime.now();
+        if (dryRun) {
+            return execute(policy, now, null, true);
+        }
+        ScheduledJobRun run = newRun(policy, ScheduledJobRun.MANUAL, currentUser(), now, now);
+        try {
+            Map<String, Object> result = transactionTemplate.execute(status -> {
+                Map<String, Object> sent = execute(policy, now, null, false);
+                complete(run, sent);
+                runRepository.save(run);
+                return sent;
+            });
+            result.put("runId", run.getId());
+            return result;
+        } catch (RuntimeException e) {
+            fail(run, e);
+            runRepository.save(run);
+            throw e;
+        }
+    }
+
+    @Override
+    public int runDuePolicies(LocalDateTime now) {
+        int fired = 0;
+        for (Long id : policyRepository.findDueIds(now)) {
+            try {
+                // Claim, recipient lookup, queued mail and history row commit together, so a node that
+                // dies mid-run leaves the occurrence unclaimed for the next poll
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> fire(id, now)))) {
+                    fired++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Reminder policy {} failed", id, e);
+                recordFailure(id, now, e);
+            }
+        }
+        return fired;
+    }
+
+    @Override
+    public Page<ScheduledJobRun> getRuns(Long policyId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 200)));
+        if (policyId != null) {
+            return runRepository.findAllByPolicyIdOrderByIdDesc(getPolicy(policyId).getId(), pageRequest);
+        }
+        List<Integer> scope = callerCompanyIds();
+        return scope == null ? runRepository.findAllByOrderByIdDesc(pageRequest)
+                : runRepository.findAllByCompanyIdInOrderByIdDesc(scope, pageRequest);
+    }
+
+    private boolean fire(Long id, LocalDateTime now) {
+        ReminderPolicy policy = policyRepository.findById(id).orElse(null);
+        if (policy == null || !policy.isEnabled() || policy.getNextRunAt() == null || policy.getNextRunAt().isAfter(now)) {
+            return false;
+        }
+        LocalDateTime occurrence = policy.getNextRunAt();
+        if (policyRepository.claim(id, occurrence, ReminderSchedule.next(policy, now), now) == 0) {
+            return false;
+        }
+        ScheduledJobRun run = newRun(policy, ScheduledJobRun.SCHEDULE, null, occurrence, now);
+        long lateMinutes = Duration.between(occurrence, now).toMinutes();
+        if (lateMinutes > maxLatenessMinutes) {
+            // The service was down through the occurrence; a reminder this late would arrive out of context
+            run.setStatus(ScheduledJobRun.SKIPPED);
+            run.setError("Missed by " + lateMinutes + " minutes");
+            run.setFinishedAt(now);
+        } else {
+            complete(run, execute(policy, occurrence, "reminder-policy-" + id + "-" + occurrence, false));
+            log.info("Reminder policy {} fired for {}: {} recipients", id, occurrence, run.getRecipientCount());
+        }
+        runRepository.save(run);
+        return true;
+    }
+
+    /** Moves a policy whose run threw past the failed occurrence, so it is not retried every poll. */
+    private void recordFailure(Long id, LocalDateTime now, RuntimeException cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ReminderPolicy policy = policyRepository.findById(id).orElse(null);
+                if (policy == null || policy.getNextRunAt() == null) {
+                    return;
+                }
+                LocalDateTime occurrence = policy.getNextRunAt();
+                if (policyRepository.claim(id, occurrence, ReminderSchedule.next(policy, now), now) == 1) {
+                    ScheduledJobRun run = newRun(policy, ScheduledJobRun.SCHEDULE, null, occurrence, now);
+                    fail(run, cause);
+                    runRepository.save(run);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Could not record failure of reminder policy {}", id, e);
+        }
+    }
+
+    private Map<String, Object> execute(ReminderPolicy policy, LocalDateTime occurrence, String idempotencyKey, boolean dryRun) {
+        LocalDate period = ReminderSchedule.period(policy, occurrence);
+        TimesheetReminderRequest request = new TimesheetReminderRequest();
+        request.setCompanyId(policy.getCompanyId());
+        request.setMonth(period.getMonthValue());
+        request.setYear(period.getYear());
+        request.setSubject(policy.getSubject());
+        request.setMessage(policy.getMessage());
+        request.setIdempotencyKey(idempotencyKey);
+        request.setDryRun(dryRun);
+        Map<String, Object> result = timesheetReminderService.sendReminders(request);
+        result.put("policyId", policy.getId());
+        result.put("month", period.getMonthValue());
+        result.put("year", period.getYear());
+        return result;
+    }
+
+    private ScheduledJobRun newRun(ReminderPolicy policy, String triggerType, String triggeredBy,
+                                   LocalDateTime scheduledFor, LocalDateTime now) {
+        ScheduledJobRun run = new ScheduledJobRun();
+        run.setPolicyId(policy.getId());
+        run.setJobType(policy.getJobType());
+        run.setCompanyId(policy.getCompanyId());
+        run.setTriggerType(triggerType);
+        run.setTriggeredBy(triggeredBy);
+        run.setScheduledFor(scheduledFor);
+        run.setStartedAt(now);
+        return run;
+    }
+
+    private void complete(ScheduledJobRun run, Map<String, Object> result) {
+        run.setStatus(ScheduledJobRun.COMPLETED);
+        run.setPeriodMonth((Integer) result.get("month"));
+        run.setPeriodYear((Integer) result.get("year"));
+        run.setRecipientCount((Integer) result.get("successCount"));
+        run.setSkippedCount((Integer) result.get("failureCount"));
+        run.setMailJobId((String) result.get("jobId"));
+        run.setFinishedAt(LocalDateTime.now());
+    }
+
+    private void fail(ScheduledJobRun run, RuntimeException cause) {
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        run.setId(null);
+        run.setStatus(ScheduledJobRun.FAILED);
+        run.setError(message.length() > 2000 ? message.substring(0, 2000) : message);
+        run.setFinishedAt(LocalDateTime.now());
+    }
+
+    private ReminderPolicy save(ReminderPolicy policy, LocalDateTime now) {
+        if (policy.getName() == null || policy.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (policy.getJobType() == null) {
+            policy.setJobType(ReminderPolicy.TIMESHEET_REMINDER);
+        } else if (!ReminderPolicy.TIMESHEET_REMINDER.equals(policy.getJobType())) {
+            throw new IllegalArgumentException("Unsupported jobType: " + policy.getJobType());
+        }
+        if (policy.getPeriod() == null) {
+            policy.setPeriod(ReminderPolicy.CURRENT_MONTH);
+        } else if (!ReminderPolicy.CURRENT_MONTH.equals(policy.getPeriod())
+                && !ReminderPolicy.PREVIOUS_MONTH.equals(policy.getPeriod())) {
+            throw new IllegalArgumentException("period must be CURRENT_MONTH or PREVIOUS_MONTH");
+        }
+        ReminderSchedule.validate(policy);
+        policy.setNextRunAt(policy.isEnabled() ? ReminderSchedule.next(policy, now) : null);
+        policy.setUpdatedAt(now);
+        return policyRepository.save(policy);
+    }
+
+    /**
+     * The companies the caller may manage policies for, or null for SADMIN. Policies run from the scheduler
+     * without the request's company filter, so scope is enforced here when they are written and read.
+     */
+    private static List<Integer> callerCompanyIds() {
+        JwtUserPrincipal principal = JwtUserPrincipal.current()
+                .orElseThrow(() -> new AccessDeniedException("Reminder policies require a signed-in user"));
+        return principal.getRole() == Role.SADMIN ? null : principal.getCompanyIds();
+    }
+
+    private static void requireCompanyAccess(List<Integer> scope, Integer companyId) {
+        if (scope == null) {
+            return;
+        }
+        if (companyId == null) {
+            throw new AccessDeniedException("Only SADMIN can manage reminder policies for all companies");
+        }
+        if (!scope.contains(companyId)) {
+            throw new AccessDeniedException("Access denied to company " + companyId);
+        }
+    }
+
+    private static String currentUser() {
+        return JwtUserPrincipal.current().map(JwtUserPrincipal::getEmail).orElse(null);
+    }
+}
@@ -0,0 +1,82 @@
+package com.application.employee.service.services.implementations;
+
+import com.application.employee.service.entities.TimeSheetMonthlyRollup;
+import com.application.employee.service.repositories.TimeSheetRollupRepo;
+import com.application.employee.service.services.TimeSheetRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class TimeSheetRollupServiceImpl implements TimeSheetRollupService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    // Masters without any day rows still get a zero rollup from the LEFT JOIN
+    private static final String REFRESH_SQL =
+            "INSERT INTO timesheet_monthly_rollup (MASTER_ID, EMPLOYEE_ID, PROJECT_ID, MONTH, YEAR, REGULAR_HOURS, " +
+            "OVERTIME_HOURS, DAY_COUNT, SUBMITTED_DAYS, APPROVED_DAYS, LAST_UPDATED) " +
+            "SELECT m.MASTER_ID, m.employee_id, m.project_history_id, m.MONTH, m.YEAR, " +
+            "COALESCE(SUM(t.REGULAR_HOURS), 0), COALESCE(SUM(t.OVERTIME_HOURS), 0), COUNT(t.SHEET_ID), " +
+            "COALESCE(SUM(UPPER(t.STATUS) IN ('SUBMITTED', 'APPROVED')), 0), COALESCE(SUM(UPPER(t.STATUS) = 'APPROVED'), 0), NOW() " +
+            "FROM timesheet_master m LEFT JOIN time_sheet t ON t.MASTER_ID = m.MASTER_ID " +
+            "WHERE m.MASTER_ID IN (%s) GROUP BY m.MASTER_ID, m.employee_id, m.project_history_id, m.MONTH, m.YEAR " +
+            "ON DUPLICATE KEY UPDATE EMPLOYEE_ID = VALUES(EMPLOYEE_ID), PROJECT_ID = VALUES(PROJECT_ID), " +
+            "MONTH = VALUES(MONTH), YEAR = VALUES(YEAR), REGULAR_HOURS = VALUES(REGULAR_HOURS), " +
+            "OVERTIME_HOURS = VALUES(OVERTIME_HOURS), DAY_COUNT = VALUES(DAY_COUNT), " +
+            "SUBMITTED_DAYS = VALUES(SUBMITTED_DAYS), APPROVED_DAYS = VALUES(APPROVED_DAYS), LAST_UPDATED = VALUES(LAST_UPDATED)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final TimeSheetRollupRepo timeSheetRollupRepo;
+
+    @Override
+    public void refresh(Collection<Integer> masterIds) {
+        List<Integer> ids = masterIds.stream().filter(Objects::nonNull).distinct().toList();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.update(String.format(REFRESH_SQL, placeholders), chunk.toArray());
+        }
+    }
+
+    @Override
+    public int rebuildAll() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int processed = 0;
+        int lastId = 0;
+        while (true) {
+            List<Integer> chunk = jdbcTemplate.queryForList(
+                    "SELECT MASTER_ID FROM timesheet_master WHERE MASTER_ID > ? ORDER BY MASTER_ID LIMIT " + CHUNK_SIZE,
+                    Integer.class, lastId);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> refresh(chunk));
+            processed += chunk.size();
+            lastId = chunk.get(chunk.size() - 1);
+        }
+        // Drop rollups whose master no longer exists
+        jdbcTemplate.update("DELETE r FROM timesheet_monthly_rollup r LEFT JOIN timesheet_master m " +
+                "ON m.MASTER_ID = r.MASTER_ID WHERE m.MASTER_ID IS NULL");
+        return processed;
+    }
+
+    @Override
+    public List<TimeSheetMonthlyRollup> getMonthlyRollups(Integer month, Integer year) {
+        return timeSheetRollupRepo.findAllByYearAndMonth(year, month);
+    }
+
+    @Override
+    public List<TimeSheetMonthlyRollup> getEmployeeRollups(String employeeId, Integer year) {
+        return timeSheetRollupRepo.findAllByEmployeeIdAndYear(employeeId, year);
+    }
+}
@@ -1,23 +1,43 @@
 package com.application.employee.service.services.implementations;
 
 import com.application.employee.service.dto.TimeSheetDTO;
+import com.application.employee.service.dto.TimeSheetExportDay;
+import com.application.employee.service.dto.TimeSheetExportFilter;
+import com.application.employee.service.dto.TimeSheetExportRow;
+import com.application.employee.service.dto.TimeSheetFeedRow;
 import com.application.employee.service.dto.TimeSheetRequestDTO;
+import com.application.employee.service.dto.TimeSheetStatusChangeRequest;
+import com.application.employee.service.dto.TimeSheetStatusChangeResult;
+import com.application.employee.service.dto.TimeSheetUpsertResult;
 import com.application.employee.service.dto.TimeSheetsDTO;
 import com.application.employee.service.dto.UploadedFileDTO;
-import com.application.employee.service.entities.TimeSheet;
-import com.application.employee.service.entities.TimeSheetFile;
-import com.application.employee.service.entities.TimeSheetMaster;
+import com.application.employee.service.entities.*;
+import com.application.employee.service.enums.TimeSheetTransition;
 import com.application.employee.service.enums.TimeSheetsStatus;
+import com.application.employee.service.notification.NotificationBroker;
+import com.application.employee.service.repositories.EmployeeRespository;
+import com.application.employee.service.repositories.ProjectHistoryRepository;
 import com.application.employee.service.repositories.TimeSheetFileRepo;
 import com.application.employee.service.repositories.TimeSheetMasterRepo;
 import com.application.employee.service.repositories.TimeSheetRepo;
+import com.application.employee.service.repositories.TimeSheetStatusAuditRepo;
 import com.application.employee.service.services.EmployeeService;
 import com.application.employee.service.services.ProjectHistoryService;
 import com.application.employee.service.services.TimeSheetMasterService;
+import com.application.employee.service.services.TimeSheetRollupService;
 import com.application.employee.service.services.TimeSheetService;
+import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.FileNotFoundException;
@@ -25,11 +45,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class TimeSheetServiceImpl implements TimeSheetService {
@@ -40,9 +66,73 @@ public class TimeSheetServiceImpl implements TimeSheetService {
     private final EmployeeService employeeService;
     private final ProjectHistoryService projectHistoryService;
     private final TimeSheetMasterService timeSheetMasterService;
+    private final TimeSheetRollupService timeSheetRollupService;
+    private final TimeSheetStatusAuditRepo timeSheetStatusAuditRepo;
+    private final EmployeeRespository employeeRespository;
+    private final ProjectHistoryRepository projectHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final NotificationBroker notificationBroker;
     private final String UploadPath = "D:\\My Drive\\New folder";
 
+    private static final int BATCH_SIZE = 500;
+    // SHEET_ID is only ever the existing row's own id, or NULL for a new day, so a collision on the primary key or
+    // on UK_TIME_SHEET_MASTER_DATE is always the same (master, day); concurrent writers of that day converge
+    private static final String UPSERT_TIME_SHEET_SQL =
+            "INSERT INTO time_sheet (SHEET_ID, MASTER_ID, DATE, REGULAR_HOURS, OVERTIME_HOURS, STATUS, NOTES) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "REGULAR_HOURS = VALUES(REGULAR_HOURS), OVERTIME_HOURS = VALUES(OVERTIME_HOURS), " +
+            "STATUS = VALUES(STATUS), NOTES = VALUES(NOTES)";
+
+    // Monthly grid in one joined query; the company predicate and ORDER BY are appended per call
+    private static final String MONTHLY_FEED_SQL =
+            "SELECT t.SHEET_ID, m.MASTER_ID, e.ID, p.ID, t.DATE, t.REGULAR_HOURS, t.OVERTIME_HOURS, t.STATUS, t.NOTES " +
+            "FROM time_sheet t JOIN timesheet_master m ON m.MASTER_ID = t.MASTER_ID " +
+            "JOIN employees e ON e.ID = m.employee_id JOIN project_history p ON p.ID = m.project_history_id " +
+            "WHERE m.MONTH = ? AND m.YEAR = ?";
+
+    // Export days over a period, ordered so each master's days are contiguous and can be pivoted in one pass;
+    // filters are appended per call. Periods are year * 100 + month.
+    private static final String EXPORT_DAYS_SQL =
+            "SELECT m.MASTER_ID, m.MONTH, m.YEAR, e.ID, e.FIRSTNAME, e.LASTNAME, c.COMPANY_NAME, p.ID, p.PROJECT_ADDRESS, " +
+            "t.DATE, t.REGULAR_HOURS, t.OVERTIME_HOURS, t.STATUS " +
+            "FROM time_sheet t JOIN timesheet_master m ON m.MASTER_ID = t.MASTER_ID " +
+            "JOIN employees e ON e.ID = m.employee_id LEFT JOIN companies c ON c.COMPANY_ID = e.COMPANY_ID " +
+            "JOIN project_history p ON p.ID = m.project_history_id " +
+            "WHERE (m.YEAR * 100 + m.MONTH) BETWEEN ? AND ?";
+
+    private static final String UNIQUE_DAY_INDEX = "UK_TIME_SHEET_MASTER_DATE";
+
+    /**
+     * The upsert relies on UK_TIME_SHEET_MASTER_DATE, which ddl-auto cannot add over existing duplicate days
+     * and only logs when it fails. Duplicates are removed by the reviewed one-off script in db/migrations,
+     * never at startup; until it has run, this only warns.
+     */
+    @PostConstruct
+    void checkUniqueSheetPerDay() {
+        if (!hasUniqueDayIndex()) {
+            log.warn("{} is missing on time_sheet, so timesheet upserts can duplicate days. "
+                    + "Run db/migrations/2026-10-19_time_sheet_unique_day.sql to remove duplicates and add it.", UNIQUE_DAY_INDEX);
+        }
+    }
+
+    boolean hasUniqueDayIndex() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Map<String, Set<String>> uniqueIndexes = new HashMap<>();
+            try (ResultSet rs = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, "time_sheet", true, false)) {
+                while (rs.next()) {
+                    if (rs.getString("INDEX_NAME") != null && rs.getString("COLUMN_NAME") != null) {
+                        uniqueIndexes.computeIfAbsent(rs.getString("INDEX_NAME"), name -> new HashSet<>())
+                                .add(rs.getString("COLUMN_NAME").toUpperCase(Locale.ROOT));
+                    }
+                }
+            }
+            return uniqueIndexes.containsValue(Set.of("MASTER_ID", "DATE"));
+        }));
+    }
+
     @Override
+    @Transactional
     public void saveTimeSheet(TimeSheetDTO dto) {
         // 🧩 1️⃣ Validate inputs early
         if (dto.getEmployeeId() == null || dto.getEmployeeId().isBlank()) {
@@ -98,12 +188,181 @@ public class TimeSheetServiceImpl implements TimeSheetService {
         timeSheet.setEmpId(master.getEmployee().getEmployeeID());
         timeSheet.setProjectId(master.getProjectHistory().getProjectId());
 
-        // 🧾 5️⃣ Save final record
-        timeSheetRepo.save(timeSheet);
+        // 🧾 5️⃣ Save final record and refresh the month's rollup in the same transaction
+        timeSheetRepo.saveAndFlush(timeSheet);
+        timeSheetRollupService.refresh(List.of(master.getMasterId()));
 
     }
 
 
+    @Override
+    public List<TimeSheetUpsertResult> saveTimeSheets(List<TimeSheetDTO> dtos) {
+        List<TimeSheetUpsertResult> results = new ArrayList<>(dtos.size());
+        Map<MasterKey, List<Integer>> rowsByMaster = new LinkedHashMap<>();
+
+        // 1️⃣ Validate rows and group them by master key
+        for (int i = 0; i < dtos.size(); i++) {
+            TimeSheetDTO dto = dtos.get(i);
+            TimeSheetUpsertResult result = new TimeSheetUpsertResult(i + 1, dto.getEmployeeId(), dto.getProjectId(),
+                    dto.getDate(), null, null, null);
+            results.add(result);
+            String problem = validate(dto);
+            if (problem != null) {
+                result.setOutcome("SKIPPED");
+                result.setMessage(problem);
+                continue;
+            }
+            rowsByMaster.computeIfAbsent(MasterKey.of(dto), key -> new ArrayList<>()).add(i);
+        }
+        if (rowsByMaster.isEmpty()) {
+            return results;
+        }
+
+        // 2️⃣ Resolve existing masters with one query
+        Set<MasterKey> keys = rowsByMaster.keySet();
+        Map<MasterKey, TimeSheetMaster> masters = new HashMap<>();
+        timeSheetMasterRepo.findCandidates(
+                keys.stream().map(MasterKey::employeeId).collect(Collectors.toSet()),
+                keys.stream().map(MasterKey::projectId).collect(Collectors.toSet()),
+                keys.stream().map(MasterKey::year).collect(Collectors.toSet()),
+                keys.stream().map(MasterKey::month).collect(Collectors.toSet())
+        ).forEach(master -> masters.putIfAbsent(MasterKey.of(master), master));
+
+        // 3️⃣ Prepare missing masters, loading employees and projects in bulk
+        List<MasterKey> missing = keys.stream().filter(key -> !masters.containsKey(key)).toList();
+        List<TimeSheetMaster> newMasters = new ArrayList<>();
+        if (!missing.isEmpty()) {
+            Map<String, Employee> employees = employeeRespository.findAllById(
+                            missing.stream().map(MasterKey::employeeId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(Employee::getEmployeeID, Function.identity()));
+            Map<String, ProjectHistory> projects = projectHistoryRepository.findAllById(
+                            missing.stream().map(MasterKey::projectId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(ProjectHistory::getProjectId, Function.identity()));
+            for (MasterKey key : missing) {
+                Employee employee = employees.get(key.employeeId());
+                ProjectHistory project = projects.get(key.projectId());
+                if (employee == null || project == null) {
+                    String message = employee == null ? "Employee not found: " + key.employeeId()
+                            : "Project not found: " + key.projectId();
+                    rowsByMaster.remove(key).forEach(row -> {
+                        results.get(row).setOutcome("FAILED");
+                        results.get(row).setMessage(message);
+                    });
+                    continue;
+                }
+                TimeSheetMaster master = new TimeSheetMaster();
+                master.setEmployee(employee);
+                master.setProjectHistory(project);
+                master.setMonth(key.month());
+                master.setYear(key.year());
+                masters.put(key, master);
+                newMasters.add(master);
+            }
+        }
+
+        // 4️⃣ Load every existing day of the affected masters in one query
+        Set<Integer> existingMasterIds = rowsByMaster.keySet().stream()
+                .map(masters::get)
+                .map(TimeSheetMaster::getMasterId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Map<LocalDate, TimeSheetSnapshot>> existingSheets = new HashMap<>();
+        if (!existingMasterIds.isEmpty()) {
+            for (TimeSheetSnapshot snapshot : timeSheetRepo.findSnapshotsByMasterIds(existingMasterIds)) {
+                if (snapshot.getDate() != null) {
+                    existingSheets.computeIfAbsent(snapshot.getMasterId(), id -> new HashMap<>())
+                            .put(snapshot.getDate().toLocalDate(), snapshot);
+                }
+            }
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                timeSheetMasterRepo.saveAll(newMasters);
+                List<Object[]> writes = new ArrayList<>();
+                rowsByMaster.forEach((key, rows) -> {
+                    TimeSheetMaster master = masters.get(key);
+                    Map<LocalDate, TimeSheetSnapshot> days = existingSheets.getOrDefault(master.getMasterId(), Map.of());
+                    // The last entry for a day wins, as it would with sequential saves
+                    Map<LocalDate, Integer> lastRowByDay = new HashMap<>();
+                    rows.forEach(row -> lastRowByDay.put(dtos.get(row).getDate().toLocalDate(), row));
+                    for (Integer row : rows) {
+                        TimeSheetDTO dto = dtos.get(row);
+                        TimeSheetUpsertResult result = results.get(row);
+                        result.setMasterId(master.getMasterId());
+                        LocalDate day = dto.getDate().toLocalDate();
+                        if (!row.equals(lastRowByDay.get(day))) {
+                            result.setOutcome("SKIPPED");
+                            result.setMessage("Superseded by a later entry for the same date");
+                            continue;
+                        }
+                        TimeSheetSnapshot existing = days.get(day);
+                        if (existing != null && sameValues(existing, dto)) {
+                            result.setOutcome("UNCHANGED");
+                            continue;
+                        }
+                        // A client-supplied id is ignored; new days take the next generated id
+                        Integer sheetId = existing != null ? existing.getSheetId() : null;
+                        writes.add(new Object[]{sheetId, master.getMasterId(), dto.getDate(), dto.getRegularHours(),
+                                dto.getOverTimeHours(), dto.getStatus(), dto.getNotes()});
+                        result.setOutcome(existing != null ? "UPDATED" : "CREATED");
+                    }
+                });
+                jdbcTemplate.batchUpdate(UPSERT_TIME_SHEET_SQL, writes, BATCH_SIZE, (ps, values) -> {
+                    ps.setObject(1, values[0], Types.INTEGER);
+                    ps.setInt(2, (Integer) values[1]);
+                    ps.setDate(3, (java.sql.Date) values[2]);
+                    ps.setObject(4, values[3], Types.DOUBLE);
+                    ps.setObject(5, values[4], Types.DOUBLE);
+                    ps.setString(6, (String) values[5]);
+                    ps.setString(7, (String) values[6]);
+                });
+                timeSheetRollupService.refresh(writes.stream().map(values -> (Integer) values[1]).collect(Collectors.toSet()));
+            });
+        } catch (DataAccessException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            rowsByMaster.values().forEach(rows -> rows.forEach(row -> {
+                results.get(row).setOutcome("FAILED");
+                results.get(row).setMessage(message);
+            }));
+        }
+        return results;
+    }
+
+    private static String validate(TimeSheetDTO dto) {
+        if (dto.getEmployeeId() == null || dto.getEmployeeId().isBlank()) {
+            return "EmployeeId missing for ProjectHistoryId " + dto.getProjectId();
+        }
+        if (dto.getProjectId() == null || dto.getProjectId().isBlank()) {
+            return "ProjectId missing for EmployeeId " + dto.getEmployeeId();
+        }
+        if (dto.getMonth() == null || dto.getYear() == null) {
+            return "Month and Year are required";
+        }
+        if (dto.getDate() == null) {
+            return "Date is required";
+        }
+        return null;
+    }
+
+    private static boolean sameValues(TimeSheetSnapshot existing, TimeSheetDTO dto) {
+        return Objects.equals(existing.getRegularHours(), dto.getRegularHours())
+                && Objects.equals(existing.getOverTimeHours(), dto.getOverTimeHours())
+                && Objects.equals(existing.getStatus(), dto.getStatus())
+                && Objects.equals(existing.getNotes(), dto.getNotes());
+    }
+
+    private record MasterKey(String employeeId, String projectId, Integer month, Integer year) {
+        static MasterKey of(TimeSheetDTO dto) {
+            return new MasterKey(dto.getEmployeeId(), dto.getProjectId(), dto.getMonth(), dto.getYear());
+        }
+
+        static MasterKey of(TimeSheetMaster master) {
+            return new MasterKey(master.getEmployee().getEmployeeID(), master.getProjectHistory().getProjectId(),
+                    master.getMonth(), master.getYear());
+        }
+    }
+
     @Override
     public List<TimeSheet> getAllTimeSheets(TimeSheetRequestDTO timeSheetRequestDTO) {
         TimeSheetMaster timeSheetMaster = timeSheetMasterRepo.findByEmployeeEmployeeIDAndProjectHistoryProjectIdAndMonthAndYear(timeSheetRequestDTO.getEmployeeId(),
@@ -140,6 +399,214 @@ public class TimeSheetServiceImpl implements TimeSheetService {
         return allTimeSheets;
     }
 
+    @Override
+    public void streamMonthlyFeed(Integer month, Integer year, List<Integer> companyIds, Consumer<TimeSheetFeedRow> consumer) {
+        List<Object> args = new ArrayList<>(List.of(month, year));
+        StringBuilder sql = new StringBuilder(MONTHLY_FEED_SQL);
+        if (companyIds != null) {
+            if (companyIds.isEmpty()) {
+                return;
+            }
+            sql.append(" AND e.COMPANY_ID IN (").append(String.join(", ", Collections.nCopies(companyIds.size(), "?"))).append(")");
+            args.addAll(companyIds);
+        }
+        sql.append(" ORDER BY e.ID, p.ID, t.DATE");
+
+        streamQuery(sql.toString(), args, rs -> {
+            consumer.accept(new TimeSheetFeedRow(rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getString(4),
+                    rs.getDate(5), rs.getObject(6, Double.class), rs.getObject(7, Double.class),
+                    rs.getString(8), rs.getString(9)));
+        });
+    }
+
+    @Override
+    public void exportTimeSheets(TimeSheetExportFilter filter, List<Integer> companyIds, Consumer<TimeSheetExportRow> consumer) {
+        String problem = filter.validate();
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
+        }
+        List<Object> args = new ArrayList<>(List.of(filter.fromPeriod(), filter.toPeriod()));
+        StringBuilder sql = new StringBuilder(EXPORT_DAYS_SQL);
+        if (companyIds != null) {
+            if (companyIds.isEmpty()) {
+                return;
+            }
+            sql.append(" AND c.COMPANY_ID IN (").append(String.join(", ", Collections.nCopies(companyIds.size(), "?"))).append(")");
+            args.addAll(companyIds);
+        }
+        if (filter.getCompanyId() != null) {
+            sql.append(" AND c.COMPANY_ID = ?");
+            args.add(filter.getCompanyId());
+        }
+        if (blankToNull(filter.getProjectId()) != null) {
+            sql.append(" AND p.ID = ?");
+            args.add(filter.getProjectId().trim());
+        }
+        if (blankToNull(filter.getEmployeeId()) != null) {
+            sql.append(" AND e.ID = ?");
+            args.add(filter.getEmployeeId().trim());
+        }
+        if (blankToNull(filter.getStatus()) != null) {
+            sql.append(" AND UPPER(t.STATUS) = UPPER(?)");
+            args.add(filter.getStatus().trim());
+        }
+        sql.append(" ORDER BY m.YEAR, m.MONTH, e.LASTNAME, e.FIRSTNAME, m.MASTER_ID, t.DATE");
+
+        // Days arrive grouped by master, so each row is complete when the master changes
+        TimeSheetExportRow[] current = new TimeSheetExportRow[1];
+        streamQuery(sql.toString(), args, rs -> {
+            TimeSheetExportDay day = new TimeSheetExportDay(rs.getInt(1), rs.getInt(2), rs.getInt(3),
+                    rs.getString(4), rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8), rs.getString(9),
+                    rs.getDate(10), rs.getObject(11, Double.class), rs.getObject(12, Double.class), rs.getString(13));
+            if (current[0] == null || !current[0].getMasterId().equals(day.getMasterId())) {
+                if (current[0] != null) {
+                    consumer.accept(current[0]);
+                }
+                current[0] = newExportRow(day);
+            }
+            addExportDay(current[0], day);
+        });
+        if (current[0] != null) {
+            consumer.accept(current[0]);
+        }
+    }
+
+    /**
+     * Runs a read-only query whose rows are handed over as they arrive. Connector/J only streams a result set
+     * for a forward-only, read-only statement with a MIN_VALUE fetch size, so these queries get their own
+     * JdbcTemplate while every other statement keeps the driver's default fully read result sets.
+     */
+    private void streamQuery(String sql, List<Object> args, RowCallbackHandler handler) {
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(Integer.MIN_VALUE);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> streaming.query(sql, handler, args.toArray()));
+    }
+
+    private static TimeSheetExportRow newExportRow(TimeSheetExportDay day) {
+        TimeSheetExportRow row = new TimeSheetExportRow();
+        row.setMasterId(day.getMasterId());
+        row.setMonth(day.getMonth());
+        row.setYear(day.getYear());
+        row.setEmployeeId(day.getEmployeeId());
+        row.setEmployeeName(day.getFirstName() + " " + day.getLastName());
+        row.setCompanyName(day.getCompanyName());
+        row.setProjectId(day.getProjectId());
+        row.setProjectName(day.getProjectName());
+        row.setStatus(day.getStatus());
+        return row;
+    }
+
+    private static void addExportDay(TimeSheetExportRow row, TimeSheetExportDay day) {
+        double regular = day.getRegularHours() != null ? day.getRegularHours() : 0;
+        double overtime = day.getOverTimeHours() != null ? day.getOverTimeHours() : 0;
+        row.setRegularTotal(row.getRegularTotal() + regular);
+        row.setOvertimeTotal(row.getOvertimeTotal() + overtime);
+        if (day.getDate() != null) {
+            int index = day.getDate().toLocalDate().getDayOfMonth() - 1;
+            Double previous = row.getDayHours()[index];
+            row.getDayHours()[index] = (previous != null ? previous : 0) + regular + overtime;
+        }
+        if (!Objects.equals(row.getStatus(), day.getStatus())) {
+            row.setStatus("MIXED");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    @Override
+    public TimeSheetStatusChangeResult changeStatus(TimeSheetTransition transition, TimeSheetStatusChangeRequest request,
+                                                   String changedBy) {
+        // 1️⃣ Resolve the masters in one query; the company filter keeps them within the caller's scope
+        List<Integer> masterIds;
+        if (request.getMasterIds() != null && !request.getMasterIds().isEmpty()) {
+            masterIds = timeSheetMasterRepo.findVisibleIds(request.getMasterIds());
+        } else if (request.getMonth() != null && request.getYear() != null
+                && (request.getCompanyId() != null || (request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty()))) {
+            boolean allEmployees = request.getEmployeeIds() == null || request.getEmployeeIds().isEmpty();
+            masterIds = timeSheetMasterRepo.findIdsForPeriod(request.getMonth(), request.getYear(), request.getCompanyId(),
+                    allEmployees, allEmployees ? List.of("") : request.getEmployeeIds());
+        } else {
+            throw new IllegalArgumentException("Provide masterIds, or month and year with a companyId or employeeIds");
+        }
+
+        String toStatus = transition.getTarget().name();
+        String guard = "(UPPER(STATUS) IN (" + String.join(", ", Collections.nCopies(transition.getSources().size(), "?")) + ")"
+                + (transition.includesMissingStatus() ? " OR STATUS IS NULL)" : ")");
+        Map<Integer, Integer> changedDays = new LinkedHashMap<>();
+        int[] daysUpdated = new int[1];
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int from = 0; from < masterIds.size(); from += BATCH_SIZE) {
+                List<Integer> chunk = masterIds.subList(from, Math.min(from + BATCH_SIZE, masterIds.size()));
+                String inList = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                List<Object> guardArgs = new ArrayList<>(chunk);
+                guardArgs.addAll(transition.getSources());
+
+                // 2️⃣ Per-master counts for the audit, then the same rows in a single UPDATE
+                jdbcTemplate.query("SELECT MASTER_ID, COUNT(*) FROM time_sheet WHERE MASTER_ID IN (" + inList + ") AND "
+                        + guard + " GROUP BY MASTER_ID", rs -> {
+                    changedDays.put(rs.getInt(1), rs.getInt(2));
+                }, guardArgs.toArray());
+
+                List<Object> updateArgs = new ArrayList<>();
+                updateArgs.add(toStatus);
+                updateArgs.addAll(guardArgs);
+                daysUpdated[0] += jdbcTemplate.update("UPDATE time_sheet SET STATUS = ? WHERE MASTER_ID IN (" + inList + ") AND "
+                        + guard, updateArgs.toArray());
+            }
+
+            // 3️⃣ One audit row per changed master, and fresh rollups for the same masters
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> audits = changedDays.entrySet().stream()
+                    .map(entry -> new Object[]{entry.getKey(), transition.name(), toStatus, entry.getValue(),
+                            changedBy, request.getComment(), Timestamp.valueOf(now)})
+                    .collect(Collectors.toList());
+            jdbcTemplate.batchUpdate("INSERT INTO timesheet_status_audit (MASTER_ID, ACTION, TO_STATUS, AFFECTED_DAYS, " +
+                    "CHANGED_BY, COMMENT, CHANGED_AT) VALUES (?, ?, ?, ?, ?, ?, ?)", audits);
+            timeSheetRollupService.refresh(changedDays.keySet());
+            publishStatusChanges(transition, toStatus, changedDays.keySet());
+        });
+
+        return new TimeSheetStatusChangeResult(transition.name(), toStatus, masterIds.size(), changedDays.size(),
+                daysUpdated[0], new ArrayList<>(changedDays.keySet()));
+    }
+
+    /**
+     * Tells each affected employee which of their timesheets changed. Looked up in BATCH_SIZE chunks and
+     * published after the surrounding transaction commits.
+     */
+    private void publishStatusChanges(TimeSheetTransition transition, String toStatus, Collection<Integer> masterIds) {
+        List<Integer> ids = new ArrayList<>(masterIds);
+        Map<String, List<Map<String, Object>>> changesByEmployee = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            jdbcTemplate.query("SELECT MASTER_ID, EMPLOYEE_ID, MONTH, YEAR FROM timesheet_master WHERE MASTER_ID IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", rs -> {
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("masterId", rs.getInt(1));
+                change.put("month", rs.getInt(3));
+                change.put("year", rs.getInt(4));
+                changesByEmployee.computeIfAbsent(rs.getString(2), k -> new ArrayList<>()).add(change);
+            }, chunk.toArray());
+        }
+        changesByEmployee.forEach((employeeId, changes) -> {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("action", transition.name());
+            event.put("toStatus", toStatus);
+            event.put("timesheets", changes);
+            notificationBroker.publishToUsers("timesheet.status", event, List.of(employeeId));
+        });
+    }
+
+    @Override
+    public List<TimeSheetStatusAudit> getStatusHistory(Integer masterId) {
+        return timeSheetStatusAuditRepo.findAllByMasterIdOrderByChangedAtDesc(masterId);
+    }
+
     @Override
     public List<String> getAllTimeSheetStatus() {
         List<String> statusList = new ArrayList<>();
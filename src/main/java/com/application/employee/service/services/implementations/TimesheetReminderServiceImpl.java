@@ -1,22 +1,20 @@
 package com.application.employee.service.services.implementations;
 
-import com.application.employee.service.config.SendGridEmail;
+import com.application.employee.service.dto.PendingTimesheetRow;
 import com.application.employee.service.dto.TimesheetReminderRequest;
 import com.application.employee.service.entities.Employee;
-import com.application.employee.service.entities.TimeSheet;
-import com.application.employee.service.entities.TimeSheetMaster;
+import com.application.employee.service.mail.MailMessage;
+import com.application.employee.service.mail.SuppressionList;
 import com.application.employee.service.repositories.EmployeeRespository;
 import com.application.employee.service.repositories.TimeSheetMasterRepo;
-import com.application.employee.service.repositories.TimeSheetRepo;
+import com.application.employee.service.services.MailOutboxService;
 import com.application.employee.service.services.TimesheetReminderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class TimesheetReminderServiceImpl implements TimesheetReminderService {
@@ -25,13 +23,13 @@ public class TimesheetReminderServiceImpl implements TimesheetReminderService {
     private TimeSheetMasterRepo timeSheetMasterRepo;
 
     @Autowired
-    private TimeSheetRepo timeSheetRepo;
+    private EmployeeRespository employeeRespository;
 
     @Autowired
-    private EmployeeRespository employeeRespository;
+    private MailOutboxService mailOutboxService;
 
     @Autowired
-    private SendGridEmail sendGridEmail;
+    private SuppressionList suppressionList;
 
     @Value("${spring.mail.from:support@zenopayhr.com}")
     private String defaultFromEmail;
@@ -48,24 +46,13 @@ public class TimesheetReminderServiceImpl implements TimesheetReminderService {
 
         if (employeeIds != null && !employeeIds.isEmpty()) {
             // Send to specific employees
-            employeesToNotify = employeeIds.stream()
-                    .map(id -> employeeRespository.findById(id).orElse(null))
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+            employeesToNotify = employeeRespository.findAllWithCompanyByIds(new LinkedHashSet<>(employeeIds));
         } else {
-            // Send to all employees with pending timesheets
+            // Send to all employees with pending timesheets, resolved in one query
             Integer month = request.getMonth() != null ? request.getMonth() : LocalDate.now().getMonthValue();
             Integer year = request.getYear() != null ? request.getYear() : LocalDate.now().getYear();
 
-            List<TimeSheetMaster> pendingMasters = timeSheetMasterRepo.findAllByMonthAndYear(month, year);
-            Set<String> employeeIdSet = pendingMasters.stream()
-                    .map(master -> master.getEmployee().getEmployeeID())
-                    .collect(Collectors.toSet());
-
-            employeesToNotify = employeeIdSet.stream()
-                    .map(id -> employeeRespository.findById(id).orElse(null))
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+            employeesToNotify = timeSheetMasterRepo.findEmployeesWithPendingTimesheets(month, year, request.getCompanyId());
         }
 
         // Prepare email content
@@ -77,50 +64,61 @@ public class TimesheetReminderServiceImpl implements TimesheetReminderService {
                 ? request.getMessage()
                 : "This is a reminder to submit your timesheet for the current period. Please log in to the system and submit your timesheet.";
 
-        // Send emails
+        // One batched message per sending address: each employee is a personalization with their own name,
+        // so a run to hundreds of employees becomes one or two provider requests instead of one per employee
+        String personalizedMessage = "Dear {{name}},\n\n"
+                + message + "\n\n"
+                + "Regards,\nHR Team";
+        Map<String, List<String>> recipientsByFrom = new LinkedHashMap<>();
+        Map<String, Map<String, String>> substitutions = new HashMap<>();
         for (Employee employee : employeesToNotify) {
-            try {
-                String employeeEmail = employee.getEmailID();
-                // Use company email for timesheet reminders (as per requirements)
-                String companyEmail = null;
-                if (employee.getCompany() != null && employee.getCompany().getEmail() != null) {
-                    companyEmail = employee.getCompany().getEmail();
-                }
-                
-                // Fallback to default email if company email is not available (should rarely happen)
-                if (companyEmail == null || companyEmail.trim().isEmpty()) {
-                    companyEmail = defaultFromEmail;
-                }
-
-                String personalizedMessage = "Dear " + employee.getFirstName() + " " + employee.getLastName() + ",\n\n"
-                        + message + "\n\n"
-                        + "Regards,\nHR Team";
-
-                sendGridEmail.sendEmails(
-                        companyEmail,
-                        List.of(employeeEmail),
-                        null,
-                        null,
-                        subject,
-                        personalizedMessage,
-                        List.of()
-                );
-
-                if (sendGridEmail.getLastStatusCode() == 202) {
-                    successList.add(employeeEmail);
-                } else {
-                    failureList.add(employeeEmail + " - " + sendGridEmail.getLastErrorMessage());
-                }
-            } catch (Exception e) {
-                failureList.add(employee.getEmailID() + " - " + e.getMessage());
+            String employeeEmail = SuppressionList.normalize(employee.getEmailID());
+            if (employeeEmail == null) {
+                failureList.add(employee.getFirstName() + " " + employee.getLastName() + " - No email address");
+                continue;
+            }
+            if (substitutions.containsKey(employeeEmail)) {
+                continue;
+            }
+            if (suppressionList.isSuppressed(employeeEmail)) {
+                failureList.add(employeeEmail + " - Suppressed (bounced or unsubscribed)");
+                continue;
+            }
+            // Use company email for timesheet reminders (as per requirements)
+            String companyEmail = null;
+            if (employee.getCompany() != null && employee.getCompany().getEmail() != null) {
+                companyEmail = employee.getCompany().getEmail();
             }
+
+            // Fallback to default email if company email is not available (should rarely happen)
+            if (companyEmail == null || companyEmail.trim().isEmpty()) {
+                companyEmail = defaultFromEmail;
+            }
+
+            recipientsByFrom.computeIfAbsent(companyEmail, k -> new ArrayList<>()).add(employeeEmail);
+            substitutions.put(employeeEmail, Map.of("name", employee.getFirstName() + " " + employee.getLastName()));
+            successList.add(employeeEmail);
+        }
+
+        if (!recipientsByFrom.isEmpty() && !request.isDryRun()) {
+            List<MailMessage> messages = new ArrayList<>();
+            recipientsByFrom.forEach((from, recipients) -> {
+                Map<String, Map<String, String>> recipientSubstitutions = new HashMap<>();
+                recipients.forEach(to -> recipientSubstitutions.put(to, substitutions.get(to)));
+                messages.add(new MailMessage(from, recipients, null, null, subject, personalizedMessage,
+                        null, recipientSubstitutions));
+            });
+            String jobId = mailOutboxService.enqueueAll(messages, "TIMESHEET_REMINDER", request.getIdempotencyKey());
+            result.put("jobId", jobId);
+            result.put("statusUrl", "/email/jobs/" + jobId);
         }
 
         result.put("successCount", successList.size());
         result.put("failureCount", failureList.size());
         result.put("successList", successList);
         result.put("failureList", failureList);
-        result.put("totalSent", successList.size());
+        result.put("totalSent", request.isDryRun() ? 0 : successList.size());
+        result.put("dryRun", request.isDryRun());
 
         return result;
     }
@@ -132,28 +130,19 @@ public class TimesheetReminderServiceImpl implements TimesheetReminderService {
         if (month == null) month = LocalDate.now().getMonthValue();
         if (year == null) year = LocalDate.now().getYear();
 
-        List<TimeSheetMaster> masters = timeSheetMasterRepo.findAllByMonthAndYear(month, year);
         List<Map<String, Object>> pendingList = new ArrayList<>();
 
-        for (TimeSheetMaster master : masters) {
-            List<TimeSheet> sheets = timeSheetRepo.getAllByTimeSheetMasterMasterId(master.getMasterId());
-            boolean hasPending = sheets.stream()
-                    .anyMatch(sheet -> sheet.getStatus() == null || 
-                            !sheet.getStatus().equalsIgnoreCase("SUBMITTED") &&
-                            !sheet.getStatus().equalsIgnoreCase("APPROVED"));
-
-            if (hasPending || sheets.isEmpty()) {
-                Map<String, Object> pendingInfo = new HashMap<>();
-                pendingInfo.put("employeeId", master.getEmployee().getEmployeeID());
-                pendingInfo.put("employeeName", master.getEmployee().getFirstName() + " " + master.getEmployee().getLastName());
-                pendingInfo.put("employeeEmail", master.getEmployee().getEmailID());
-                pendingInfo.put("projectId", master.getProjectHistory().getProjectId());
-                pendingInfo.put("projectName", master.getProjectHistory().getProjectAddress());
-                pendingInfo.put("month", master.getMonth());
-                pendingInfo.put("year", master.getYear());
-                pendingInfo.put("masterId", master.getMasterId());
-                pendingList.add(pendingInfo);
-            }
+        for (PendingTimesheetRow row : timeSheetMasterRepo.findPendingRows(month, year)) {
+            Map<String, Object> pendingInfo = new HashMap<>();
+            pendingInfo.put("employeeId", row.getEmployeeId());
+            pendingInfo.put("employeeName", row.getFirstName() + " " + row.getLastName());
+            pendingInfo.put("employeeEmail", row.getEmployeeEmail());
+            pendingInfo.put("projectId", row.getProjectId());
+            pendingInfo.put("projectName", row.getProjectName());
+            pendingInfo.put("month", row.getMonth());
+            pendingInfo.put("year", row.getYear());
+            pendingInfo.put("masterId", row.getMasterId());
+            pendingList.add(pendingInfo);
         }
 
         result.put("month", month);
@@ -1,5 +1,6 @@
 package com.application.employee.service.user;
 
+import com.application.employee.service.config.AuthenticationCacheInvalidator;
 import com.application.employee.service.entities.Employee;
 import jakarta.persistence.*;
 
@@ -15,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(AuthenticationCacheInvalidator.class)
 @Table(name = "user")
 public class User implements UserDetails {
 
@@ -34,6 +36,31 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     @Column(name = "ROLE")
     private Role role;
+    // Embedded in issued JWTs; bumping it revokes every token issued before the change.
+    @Column(name = "TOKEN_VERSION")
+    private Integer tokenVersion;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Role loadedRole;
+
+    public int currentTokenVersion() {
+        return tokenVersion == null ? 0 : tokenVersion;
+    }
+
+    @PostLoad
+    protected void onLoad() {
+        this.loadedRole = role;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        if (loadedRole != role) {
+            this.tokenVersion = currentTokenVersion() + 1;
+        }
+        onLoad();
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,68 @@
+package com.application.employee.service.auth;
+
+import com.application.employee.service.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    @Test
+    void accountBucketEmptiesAndReportsTheWait() {
+        LoginThrottle throttle = throttle(100, 100, 2, 1);
+
+        throttle.acquire("10.0.0.1", "asha@example.com");
+        throttle.acquire("10.0.0.2", "ASHA@example.com");
+
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.3", "Asha@Example.com"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessage("Too many login attempts for this account")
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isBetween(55L, 60L));
+        assertThat(throttle.getThrottledCount()).isEqualTo(1);
+        // Other accounts are unaffected
+        throttle.acquire("10.0.0.3", "ravi@example.com");
+    }
+
+    @Test
+    void bucketsRefillOverTime() throws InterruptedException {
+        // One token per millisecond
+        LoginThrottle throttle = throttle(2, 60_000, 100, 100);
+
+        throttle.acquire("10.0.0.1", null);
+        throttle.acquire("10.0.0.1", null);
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.1", null))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessage("Too many login attempts from this address")
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(1));
+
+        Thread.sleep(10);
+        throttle.acquire("10.0.0.1", null);
+        throttle.acquire("10.0.0.1", null);
+    }
+
+    @Test
+    void sweepDropsOnlyRefilledBuckets() throws InterruptedException {
+        LoginThrottle throttle = throttle(2, 60_000, 2, 1);
+
+        throttle.acquire("10.0.0.1", "asha@example.com");
+        assertThat(throttle.getTrackedKeys()).isEqualTo(2);
+
+        Thread.sleep(10);
+        throttle.sweep();
+
+        // The IP bucket refilled within milliseconds; the account bucket needs a minute
+        assertThat(throttle.getTrackedKeys()).isEqualTo(1);
+    }
+
+    private static LoginThrottle throttle(int ipCapacity, int ipRefillPerMinute,
+                                          int accountCapacity, int accountRefillPerMinute) {
+        LoginThrottle throttle = new LoginThrottle();
+        ReflectionTestUtils.setField(throttle, "ipCapacity", ipCapacity);
+        ReflectionTestUtils.setField(throttle, "ipRefillPerMinute", ipRefillPerMinute);
+        ReflectionTestUtils.setField(throttle, "accountCapacity", accountCapacity);
+        ReflectionTestUtils.setField(throttle, "accountRefillPerMinute", accountRefillPerMinute);
+        return throttle;
+    }
+}
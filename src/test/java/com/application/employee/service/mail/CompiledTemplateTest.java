@@ -0,0 +1,80 @@
+package com.application.employee.service.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledTemplateTest {
+
+    private static final Map<String, String> VALUES = new LinkedHashMap<>();
+
+    static {
+        VALUES.put("name", "Asha");
+        VALUES.put("user.email", "asha@example.com");
+        VALUES.put("temp_password", "s3cret");
+        VALUES.put("job-id", "J-42");
+        VALUES.put("empty", "");
+    }
+
+    @Test
+    void rendersLikeTheOldReplacePass() {
+        List<String> templates = List.of(
+                "",
+                "Plain text without variables",
+                "Hello {{name}}, your password is {temp_password}.",
+                "{name}{name}{{name}}",
+                "Mail {user.email} about {{job-id}}{empty}!",
+                "Unknown {{missing}} and {missing} stay as written",
+                "<style>p { color: red; } .a{margin:0}</style><p>{{name}}</p>",
+                "{{{name}}} and {{name} and {name}} and { name }",
+                "Trailing brace {",
+                "{{");
+
+        for (String template : templates) {
+            assertThat(CompiledTemplate.compile(template).render(VALUES))
+                    .as(template)
+                    .isEqualTo(replacePlaceholders(template, VALUES));
+        }
+    }
+
+    @Test
+    void rendersWithoutValues() {
+        assertThat(CompiledTemplate.compile("Hi {{name}}").render(null)).isEqualTo("Hi {{name}}");
+        assertThat(CompiledTemplate.compile(null).render(VALUES)).isEmpty();
+    }
+
+    @Test
+    void nullValueRendersAsEmpty() {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("name", null);
+
+        assertThat(CompiledTemplate.compile("Hi {{name}}!").render(values)).isEqualTo("Hi !");
+    }
+
+    @Test
+    void valuesAreNotReparsed() {
+        // The old pass would have expanded {name} inside an earlier value; one pass leaves it alone
+        Map<String, String> values = Map.of("greeting", "Hello {name}", "name", "Asha");
+
+        assertThat(CompiledTemplate.compile("{greeting}").render(values)).isEqualTo("Hello {name}");
+    }
+
+    @Test
+    void listsDistinctVariablesInOrder() {
+        assertThat(CompiledTemplate.compile("{{b}} {a} {b} {{ c }} {d.e}").getVariables())
+                .containsExactly("b", "a", "d.e");
+    }
+
+    /** The String.replace pass AuthenticationService used before templates were compiled. */
+    private static String replacePlaceholders(String text, Map<String, String> placeholders) {
+        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+            text = text.replace("{{" + entry.getKey() + "}}", entry.getValue());
+            text = text.replace("{" + entry.getKey() + "}", entry.getValue());
+        }
+        return text;
+    }
+}
@@ -0,0 +1,76 @@
+package com.application.employee.service.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SuppressionListTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SuppressionList suppressionList;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(7L);
+        when(row.getString(2)).thenReturn("bounced@example.com");
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(eq("SELECT ID, EMAIL FROM email_suppressions"), any(RowCallbackHandler.class));
+        suppressionList = new SuppressionList(jdbcTemplate, 300000);
+    }
+
+    @Test
+    void normalizeTrimsAndLowerCases() {
+        assertThat(SuppressionList.normalize("  Asha@Example.COM ")).isEqualTo("asha@example.com");
+        assertThat(SuppressionList.normalize(null)).isNull();
+        assertThat(SuppressionList.normalize("no-at-sign")).isNull();
+        assertThat(SuppressionList.normalize("@example.com")).isNull();
+        assertThat(SuppressionList.normalize("asha@")).isNull();
+        assertThat(SuppressionList.normalize("a@" + "x".repeat(254))).isNull();
+    }
+
+    @Test
+    void filterDropsSuppressedDuplicateAndInvalidAddresses() {
+        RecipientFilterResult result = suppressionList.filter(Arrays.asList(
+                "b@example.com", "A@example.com", " BOUNCED@example.com", "a@example.com", "not-an-address", null));
+
+        assertThat(result.deliverable()).containsExactly("b@example.com", "a@example.com");
+        assertThat(result.duplicates()).isEqualTo(1);
+        assertThat(result.suppressed()).isEqualTo(1);
+        assertThat(result.invalid()).isEqualTo(2);
+    }
+
+    @Test
+    void filterLoadsTheTableOnce() {
+        suppressionList.filter(List.of("a@example.com"));
+        suppressionList.filter(null);
+
+        verify(jdbcTemplate, times(1)).query(eq("SELECT ID, EMAIL FROM email_suppressions"), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void localChangesApplyImmediately() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+
+        assertThat(suppressionList.isSuppressed("new@example.com")).isFalse();
+        assertThat(suppressionList.suppress(" New@Example.com", null, null, "ADM1")).isTrue();
+        assertThat(suppressionList.isSuppressed("new@example.com")).isTrue();
+
+        assertThat(suppressionList.unsuppress("bounced@example.com")).isTrue();
+        assertThat(suppressionList.filter(List.of("bounced@example.com", "new@example.com")).deliverable())
+                .containsExactly("bounced@example.com");
+        assertThat(suppressionList.suppress("not-an-address", null, null, "ADM1")).isFalse();
+    }
+}
@@ -0,0 +1,117 @@
+package com.application.employee.service.repositories;
+
+import com.application.employee.service.entities.Companies;
+import com.application.employee.service.entities.Employee;
+import com.application.employee.service.entities.ProjectHistory;
+import com.application.employee.service.entities.TimeSheetMaster;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The company filter as CompanyScopeInterceptor enables it: entity queries for employees and
+ * employee-owned rows only return the scoped companies' data.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class CompanyFilterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EmployeeRespository employeeRespository;
+    @Autowired
+    private ProjectHistoryRepository projectHistoryRepository;
+    @Autowired
+    private TimeSheetMasterRepo timeSheetMasterRepo;
+
+    private Integer acmeId;
+    private Integer globexId;
+
+    @BeforeEach
+    void setUp() {
+        acmeId = company("Acme");
+        globexId = company("Globex");
+        employee("EMP1", acmeId);
+        employee("EMP2", acmeId);
+        employee("EMP3", globexId);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void unfilteredSessionSeesEveryCompany() {
+        assertThat(employeeRespository.findAll()).hasSize(3);
+        assertThat(timeSheetMasterRepo.findAll()).hasSize(3);
+    }
+
+    @Test
+    void filterScopesEmployeesAndTheirRows() {
+        enableCompanyFilter(List.of(acmeId));
+
+        assertThat(employeeRespository.findAll()).extracting(Employee::getEmployeeID).containsExactlyInAnyOrder("EMP1", "EMP2");
+        assertThat(projectHistoryRepository.findAll()).extracting(ProjectHistory::getProjectId)
+                .containsExactlyInAnyOrder("P-EMP1", "P-EMP2");
+        assertThat(timeSheetMasterRepo.findAll()).extracting(master -> master.getEmployee().getEmployeeID())
+                .containsExactlyInAnyOrder("EMP1", "EMP2");
+        assertThat(employeeRespository.findByCompanyCompanyId(globexId)).isEmpty();
+    }
+
+    @Test
+    void filterAcceptsSeveralCompanies() {
+        enableCompanyFilter(List.of(acmeId, globexId));
+
+        assertThat(employeeRespository.findAll()).hasSize(3);
+    }
+
+    @Test
+    void noCompanySeesNothing() {
+        // What the interceptor applies for a GROUP_ADMIN without company assignments
+        enableCompanyFilter(List.of(-1));
+
+        assertThat(employeeRespository.findAll()).isEmpty();
+        assertThat(timeSheetMasterRepo.findAll()).isEmpty();
+    }
+
+    private void enableCompanyFilter(List<Integer> companyIds) {
+        entityManager.getEntityManager().unwrap(Session.class)
+                .enableFilter(Employee.COMPANY_FILTER)
+                .setParameterList(Employee.COMPANY_FILTER_PARAM, companyIds);
+    }
+
+    private Integer company(String name) {
+        Companies company = new Companies();
+        company.setCompanyName(name);
+        return entityManager.persistAndGetId(company, Integer.class);
+    }
+
+    private void employee(String id, Integer companyId) {
+        Employee employee = new Employee();
+        employee.setEmployeeID(id);
+        employee.setFirstName(id);
+        employee.setCompany(entityManager.find(Companies.class, companyId));
+        entityManager.persist(employee);
+
+        ProjectHistory project = new ProjectHistory();
+        project.setProjectId("P-" + id);
+        project.setEmployee(employee);
+        entityManager.persist(project);
+
+        TimeSheetMaster master = new TimeSheetMaster();
+        master.setEmployee(employee);
+        master.setProjectHistory(project);
+        master.setMonth(10);
+        master.setYear(2026);
+        entityManager.persist(master);
+    }
+}
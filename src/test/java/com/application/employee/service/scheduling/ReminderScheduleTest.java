@@ -0,0 +1,96 @@
+package com.application.employee.service.scheduling;
+
+import com.application.employee.service.entities.ReminderPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReminderScheduleTest {
+
+    @Test
+    void nextSkipsToTheFollowingWeekday() {
+        ReminderPolicy policy = policy("0 0 9 * * MON-FRI", null);
+
+        // Friday after nine: the next run is Monday morning
+        assertThat(ReminderSchedule.next(policy, LocalDateTime.of(2026, 10, 16, 10, 0)))
+                .isEqualTo(LocalDateTime.of(2026, 10, 19, 9, 0));
+        // Strictly after: an occurrence exactly at the given time is not returned again
+        assertThat(ReminderSchedule.next(policy, LocalDateTime.of(2026, 10, 19, 9, 0)))
+                .isEqualTo(LocalDateTime.of(2026, 10, 20, 9, 0));
+    }
+
+    @Test
+    void nextNarrowsToTheLastBusinessDaysOfTheMonth() {
+        ReminderPolicy policy = policy("0 0 9 * * *", 2);
+
+        // October 2026 ends on a Saturday, so its last two business days are Thursday 29 and Friday 30
+        assertThat(ReminderSchedule.upcoming(policy, LocalDateTime.of(2026, 10, 1, 0, 0), 3)).containsExactly(
+                LocalDateTime.of(2026, 10, 29, 9, 0),
+                LocalDateTime.of(2026, 10, 30, 9, 0),
+                LocalDateTime.of(2026, 11, 27, 9, 0));
+    }
+
+    @Test
+    void nextEvaluatesTheCronInThePolicyZone() {
+        ReminderPolicy policy = policy("0 0 9 * * *", null);
+        policy.setZoneId("Asia/Kolkata");
+
+        LocalDateTime expected = ZonedDateTime.of(2026, 10, 20, 9, 0, 0, 0, ZoneId.of("Asia/Kolkata"))
+                .withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        LocalDateTime after = expected.minusHours(12);
+        assertThat(ReminderSchedule.next(policy, after)).isEqualTo(expected);
+    }
+
+    @Test
+    void nextReturnsNullWhenTheCronNeverFires() {
+        assertThat(ReminderSchedule.next(policy("0 0 9 30 2 *", null), LocalDateTime.of(2026, 1, 1, 0, 0))).isNull();
+    }
+
+    @Test
+    void matchesBusinessDaysCountsFromTheEndOfTheMonth() {
+        assertThat(ReminderSchedule.matchesBusinessDays(LocalDate.of(2026, 10, 3), null)).isTrue();
+        assertThat(ReminderSchedule.matchesBusinessDays(LocalDate.of(2026, 10, 30), 1)).isTrue();
+        assertThat(ReminderSchedule.matchesBusinessDays(LocalDate.of(2026, 10, 29), 1)).isFalse();
+        assertThat(ReminderSchedule.matchesBusinessDays(LocalDate.of(2026, 10, 29), 2)).isTrue();
+        // Weekends never match, even inside the window
+        assertThat(ReminderSchedule.matchesBusinessDays(LocalDate.of(2026, 10, 31), 3)).isFalse();
+        assertThat(ReminderSchedule.matchesBusinessDays(LocalDate.of(2026, 11, 30), 1)).isTrue();
+    }
+
+    @Test
+    void periodIsTheMonthOfTheRunOrTheOneBefore() {
+        ReminderPolicy policy = policy("0 0 9 * * *", null);
+        LocalDateTime occurrence = LocalDateTime.of(2026, 11, 2, 9, 0);
+
+        assertThat(ReminderSchedule.period(policy, occurrence)).isEqualTo(LocalDate.of(2026, 11, 1));
+        policy.setPeriod(ReminderPolicy.PREVIOUS_MONTH);
+        assertThat(ReminderSchedule.period(policy, occurrence)).isEqualTo(LocalDate.of(2026, 10, 1));
+    }
+
+    @Test
+    void validateRejectsBadSettings() {
+        assertThatThrownBy(() -> ReminderSchedule.validate(policy("0 9 * * MON-FRI", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReminderSchedule.validate(policy("0 0 9 * * *", 11)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        ReminderPolicy unknownZone = policy("0 0 9 * * *", null);
+        unknownZone.setZoneId("Mars/Olympus");
+        assertThatThrownBy(() -> ReminderSchedule.validate(unknownZone))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Mars/Olympus");
+    }
+
+    private static ReminderPolicy policy(String cron, Integer lastBusinessDays) {
+        ReminderPolicy policy = new ReminderPolicy();
+        policy.setCronExpression(cron);
+        policy.setLastBusinessDays(lastBusinessDays);
+        return policy;
+    }
+}
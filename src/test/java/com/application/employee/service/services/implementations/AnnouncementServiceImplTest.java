@@ -0,0 +1,41 @@
+package com.application.employee.service.services.implementations;
+
+import com.application.employee.service.entities.Announcement;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnnouncementServiceImplTest {
+
+    @Test
+    void cursorRoundTripsTheLastRowPosition() {
+        Announcement last = new Announcement();
+        last.setId(42L);
+        last.setCreatedAt(LocalDateTime.of(2026, 10, 19, 8, 30, 15, 123000000));
+
+        String cursor = AnnouncementServiceImpl.encodeCursor(last);
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(AnnouncementServiceImpl.decodeCursor(cursor)).containsExactly("2026-10-19T08:30:15.123", "42");
+    }
+
+    @Test
+    void decodeCursorRejectsTamperedValues() {
+        for (String cursor : new String[] {"not base64!", encode("2026-10-19T08:30"), encode("yesterday|42"),
+                encode("2026-10-19T08:30|forty-two"), encode("2026-10-19T08:30|42|7")}) {
+            assertThatThrownBy(() -> AnnouncementServiceImpl.decodeCursor(cursor))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid feed cursor");
+        }
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,21 @@
+package com.application.employee.service.services.implementations;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CampaignServiceImplTest {
+
+    @Test
+    void normalizeSplitsTrimsAndDeduplicates() {
+        assertThat(CampaignServiceImpl.normalize(" A@Example.com, b@example.com;c@example.com\n a@example.com\tD@example.com "))
+                .containsExactly("a@example.com", "b@example.com", "c@example.com", "d@example.com");
+    }
+
+    @Test
+    void normalizeDropsNonAddresses() {
+        assertThat(CampaignServiceImpl.normalize("a@example.com,,; not-an-address @example.com b@")).containsExactly("a@example.com");
+        assertThat(CampaignServiceImpl.normalize(null)).isEmpty();
+        assertThat(CampaignServiceImpl.normalize("   ")).isEmpty();
+    }
+}
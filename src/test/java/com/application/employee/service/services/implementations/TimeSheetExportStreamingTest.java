@@ -0,0 +1,111 @@
+package com.application.employee.service.services.implementations;
+
+import com.application.employee.service.dto.TimeSheetExportFilter;
+import com.application.employee.service.dto.TimeSheetExportRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+/**
+ * The export must reach MySQL as a streamed query: its own statement with a MIN_VALUE fetch size inside a
+ * read-only transaction. Neither H2 nor a test container is available to observe that, so the driver is mocked.
+ */
+class TimeSheetExportStreamingTest {
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+    private TimeSheetServiceImpl timeSheetService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        timeSheetService = new TimeSheetServiceImpl(null, null, null, null, null, null, null, null, null, null,
+                new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource), null);
+    }
+
+    @Test
+    void exportStreamsInAReadOnlyTransaction() throws Exception {
+        when(resultSet.next()).thenReturn(false);
+
+        timeSheetService.exportTimeSheets(filter(), null, row -> {
+        });
+
+        verify(connection).setReadOnly(true);
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+        verify(connection).commit();
+        verify(resultSet).close();
+    }
+
+    @Test
+    void exportPivotsEachMastersDaysIntoOneRow() throws Exception {
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getInt(1)).thenReturn(7, 7, 8);
+        when(resultSet.getInt(2)).thenReturn(10);
+        when(resultSet.getInt(3)).thenReturn(2026);
+        when(resultSet.getString(4)).thenReturn("EMP1", "EMP1", "EMP2");
+        when(resultSet.getString(5)).thenReturn("Asha", "Asha", "Ravi");
+        when(resultSet.getString(6)).thenReturn("Rao", "Rao", "Iyer");
+        when(resultSet.getDate(10)).thenReturn(Date.valueOf("2026-10-01"), Date.valueOf("2026-10-02"), Date.valueOf("2026-10-01"));
+        when(resultSet.getObject(11, Double.class)).thenReturn(8.0, 6.0, 4.0);
+        when(resultSet.getObject(12, Double.class)).thenReturn(null, 2.0, null);
+        when(resultSet.getString(13)).thenReturn("APPROVED", "SUBMITTED", "APPROVED");
+
+        List<TimeSheetExportRow> rows = new ArrayList<>();
+        timeSheetService.exportTimeSheets(filter(), List.of(1, 2), rows::add);
+
+        assertThat(rows).extracting(TimeSheetExportRow::getMasterId).containsExactly(7, 8);
+        TimeSheetExportRow first = rows.get(0);
+        assertThat(first.getEmployeeName()).isEqualTo("Asha Rao");
+        assertThat(first.getRegularTotal()).isEqualTo(14.0);
+        assertThat(first.getOvertimeTotal()).isEqualTo(2.0);
+        assertThat(first.getDayHours()[0]).isEqualTo(8.0);
+        assertThat(first.getDayHours()[1]).isEqualTo(8.0);
+        assertThat(first.getDayHours()[2]).isNull();
+        assertThat(first.getStatus()).isEqualTo("MIXED");
+        assertThat(rows.get(1).getStatus()).isEqualTo("APPROVED");
+
+        verify(connection).prepareStatement(contains("AND c.COMPANY_ID IN (?, ?)"));
+        verify(statement).setObject(1, 202610);
+        verify(statement).setObject(2, 202610);
+        verify(statement).setObject(3, 1);
+        verify(statement).setObject(4, 2);
+    }
+
+    @Test
+    void emptyCompanyScopeRunsNoQuery() throws Exception {
+        List<TimeSheetExportRow> rows = new ArrayList<>();
+        timeSheetService.exportTimeSheets(filter(), List.of(), rows::add);
+
+        assertThat(rows).isEmpty();
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    private static TimeSheetExportFilter filter() {
+        TimeSheetExportFilter filter = new TimeSheetExportFilter();
+        filter.setMonth(10);
+        filter.setYear(2026);
+        return filter;
+    }
+}
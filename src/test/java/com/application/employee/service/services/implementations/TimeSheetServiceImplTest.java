@@ -0,0 +1,171 @@
+package com.application.employee.service.services.implementations;
+
+import com.application.employee.service.dto.TimeSheetDTO;
+import com.application.employee.service.dto.TimeSheetUpsertResult;
+import com.application.employee.service.entities.Employee;
+import com.application.employee.service.entities.ProjectHistory;
+import com.application.employee.service.notification.NotificationBroker;
+import com.application.employee.service.services.EmployeeService;
+import com.application.employee.service.services.ProjectHistoryService;
+import com.application.employee.service.services.TimeSheetMasterService;
+import com.application.employee.service.services.TimeSheetRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the batch upsert against H2 in MySQL mode, so INSERT ... ON DUPLICATE KEY UPDATE and the
+ * unique (MASTER_ID, DATE) key behave as they do in production.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TimeSheetServiceImpl.class)
+class TimeSheetServiceImplTest {
+
+    @Autowired
+    private TimeSheetServiceImpl timeSheetService;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private EmployeeService employeeService;
+    @MockBean
+    private ProjectHistoryService projectHistoryService;
+    @MockBean
+    private TimeSheetMasterService timeSheetMasterService;
+    @MockBean
+    private TimeSheetRollupService timeSheetRollupService;
+    @MockBean
+    private NotificationBroker notificationBroker;
+
+    @BeforeEach
+    void setUp() {
+        for (String id : List.of("EMP1", "EMP2")) {
+            Employee employee = new Employee();
+            employee.setEmployeeID(id);
+            employee.setFirstName(id);
+            entityManager.persist(employee);
+            ProjectHistory project = new ProjectHistory();
+            project.setProjectId("P-" + id);
+            project.setEmployee(employee);
+            entityManager.persist(project);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void createsMasterAndDaysThenUpdatesInPlace() {
+        List<TimeSheetUpsertResult> created = timeSheetService.saveTimeSheets(List.of(
+                day("EMP1", "2026-10-01", 8.0, null), day("EMP1", "2026-10-02", 8.0, null)));
+
+        assertThat(created).extracting(TimeSheetUpsertResult::getOutcome).containsExactly("CREATED", "CREATED");
+        Integer masterId = created.get(0).getMasterId();
+        assertThat(masterId).isNotNull().isEqualTo(created.get(1).getMasterId());
+
+        List<TimeSheetUpsertResult> updated = timeSheetService.saveTimeSheets(List.of(
+                day("EMP1", "2026-10-01", 6.0, 2.0), day("EMP1", "2026-10-02", 8.0, null), day("EMP1", "2026-10-05", 8.0, null)));
+
+        assertThat(updated).extracting(TimeSheetUpsertResult::getOutcome).containsExactly("UPDATED", "UNCHANGED", "CREATED");
+        assertThat(updated).extracting(TimeSheetUpsertResult::getMasterId).containsOnly(masterId);
+        assertThat(hours(masterId)).containsExactly(
+                Map.entry(Date.valueOf("2026-10-01"), 6.0),
+                Map.entry(Date.valueOf("2026-10-02"), 8.0),
+                Map.entry(Date.valueOf("2026-10-05"), 8.0));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM timesheet_master", Integer.class)).isEqualTo(1);
+        verify(timeSheetRollupService, times(2)).refresh(Set.of(masterId));
+    }
+
+    @Test
+    void laterEntryForTheSameDayWins() {
+        List<TimeSheetUpsertResult> results = timeSheetService.saveTimeSheets(List.of(
+                day("EMP1", "2026-10-01", 8.0, null), day("EMP1", "2026-10-01", 4.0, null)));
+
+        assertThat(results).extracting(TimeSheetUpsertResult::getOutcome).containsExactly("SKIPPED", "CREATED");
+        assertThat(hours(results.get(1).getMasterId())).containsExactly(Map.entry(Date.valueOf("2026-10-01"), 4.0));
+    }
+
+    @Test
+    void clientSheetIdCannotOverwriteAnotherEmployeesDay() {
+        TimeSheetUpsertResult other = timeSheetService.saveTimeSheets(List.of(day("EMP2", "2026-10-01", 8.0, null))).get(0);
+        Integer otherSheetId = jdbcTemplate.queryForObject(
+                "SELECT SHEET_ID FROM time_sheet WHERE MASTER_ID = ?", Integer.class, other.getMasterId());
+
+        TimeSheetDTO hijack = day("EMP1", "2026-10-01", 1.0, null);
+        hijack.setSheetId(otherSheetId);
+        TimeSheetUpsertResult result = timeSheetService.saveTimeSheets(List.of(hijack)).get(0);
+
+        assertThat(result.getOutcome()).isEqualTo("CREATED");
+        assertThat(result.getMasterId()).isNotEqualTo(other.getMasterId());
+        assertThat(hours(other.getMasterId())).containsExactly(Map.entry(Date.valueOf("2026-10-01"), 8.0));
+        assertThat(hours(result.getMasterId())).containsExactly(Map.entry(Date.valueOf("2026-10-01"), 1.0));
+    }
+
+    @Test
+    void reportsInvalidAndUnknownRows() {
+        TimeSheetDTO noDate = day("EMP1", "2026-10-01", 8.0, null);
+        noDate.setDate(null);
+
+        List<TimeSheetUpsertResult> results = timeSheetService.saveTimeSheets(List.of(
+                noDate, day("NOBODY", "2026-10-01", 8.0, null)));
+
+        assertThat(results).extracting(TimeSheetUpsertResult::getOutcome).containsExactly("SKIPPED", "FAILED");
+        assertThat(results).extracting(TimeSheetUpsertResult::getMessage)
+                .containsExactly("Date is required", "Employee not found: NOBODY");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM time_sheet", Integer.class)).isZero();
+    }
+
+    @Test
+    void schemaAllowsOneRowPerMasterAndDay() {
+        Integer masterId = timeSheetService.saveTimeSheets(List.of(day("EMP1", "2026-10-01", 8.0, null))).get(0).getMasterId();
+
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO time_sheet (MASTER_ID, DATE, REGULAR_HOURS) VALUES (?, ?, ?)",
+                masterId, Date.valueOf("2026-10-01"), 4.0))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(timeSheetService.hasUniqueDayIndex()).isTrue();
+    }
+
+    private Map<Date, Double> hours(Integer masterId) {
+        Map<Date, Double> hours = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT DATE, REGULAR_HOURS FROM time_sheet WHERE MASTER_ID = ? ORDER BY DATE",
+                rs -> {
+            hours.put(rs.getDate(1), rs.getDouble(2));
+        }, masterId);
+        return hours;
+    }
+
+    private static TimeSheetDTO day(String employeeId, String date, Double regularHours, Double overTimeHours) {
+        TimeSheetDTO dto = new TimeSheetDTO();
+        dto.setEmployeeId(employeeId);
+        dto.setProjectId("P-" + employeeId);
+        dto.setDate(Date.valueOf(date));
+        dto.setMonth(Date.valueOf(date).toLocalDate().getMonthValue());
+        dto.setYear(Date.valueOf(date).toLocalDate().getYear());
+        dto.setRegularHours(regularHours);
+        dto.setOverTimeHours(overTimeHours);
+        dto.setStatus("DRAFT");
+        return dto;
+    }
+}